@@ -1,7 +1,6 @@
 package gameresults;
 
-import gameresult.OnePlayerGameResult;
-import gameresult.manager.json.JsonOnePlayerGameResultManager;
+import javafx.application.Platform;
 import javafx.beans.Observable;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.ReadOnlyStringWrapper;
@@ -9,75 +8,207 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 import org.tinylog.Logger;
 import puzzle.game.PuzzleController;
+import puzzle.game.SceneRegistry;
 import util.DurationUtil;
 
 import java.io.IOException;
-import java.nio.file.Path;
-import java.time.Duration;
-import java.time.format.DateTimeFormatter;
-import java.time.format.FormatStyle;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
 
 public class GameResultController {
     private static final int MAX_NUMBER_OF_ROWES = 10;
 
+    private static final int RECENT_MONTHS = 6;
+
+    @FXML
+    private TableView<LeaderboardRow> tableView;
+
+    @FXML
+    private TableColumn<LeaderboardRow, String> playerName;
+
+    @FXML
+    private TableColumn<LeaderboardRow, String> solved;
+
     @FXML
-    private TableView<OnePlayerGameResult> tableView;
+    private TableColumn<LeaderboardRow, Integer> stepCount;
 
     @FXML
-    private TableColumn<OnePlayerGameResult, String> playerName;
+    private TableColumn<LeaderboardRow, String> durationSec;
 
     @FXML
-    private TableColumn<OnePlayerGameResult, Integer> stepCount;
+    private TableColumn<LeaderboardRow, String> createdTime;
 
     @FXML
-    private TableColumn<OnePlayerGameResult, String> durationSec;
+    private CheckBox showAllGames;
 
     @FXML
-    private TableColumn<OnePlayerGameResult, String> createdTime;
+    private Label playerStatistics;
+
+    @FXML
+    private Button replayButton;
+
+    private ObservableList<LeaderboardRow> bestResults;
+
+    private PagedResultList allGames;
 
     @FXML
     private void initialize() throws IOException {
-        playerName.setCellValueFactory(new PropertyValueFactory<>("playerName"));
-        stepCount.setCellValueFactory(new PropertyValueFactory<>("numberOfMoves"));
-        durationSec.setCellValueFactory(
-                data -> {
-                    var duration = data.getValue().getDuration();
-                    return new ReadOnlyStringWrapper(DurationUtil.formatDuration(duration));
-                }
-        );
-        createdTime.setCellValueFactory(
-                data -> {
-                    var date = data.getValue().getCreated();
-                    var formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.LONG);
-                    return new ReadOnlyStringWrapper(formatter.format(date));
+        playerName.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().playerName()));
+        solved.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().solved() ? "yes" : "no"));
+        stepCount.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().numberOfMoves()));
+        durationSec.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().duration()));
+        createdTime.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().created()));
+        bestResults = FXCollections.observableArrayList();
+        tableView.setItems(bestResults);
+        refresh();
+        replayButton.disableProperty().bind(tableView.getSelectionModel().selectedItemProperty().isNull());
+        tableView.getSelectionModel().selectedItemProperty().addListener((observable, oldRow, row) -> {
+            if (row != null) {
+                showPlayerStatistics(row.playerName());
+            }
+        });
+    }
+
+    /**
+     * Reads the best results again and shows them, since the screen is loaded once and kept
+     * by the {@link SceneRegistry} while new games are played.
+     * The best results are read from the leaderboard index of the result store, so no result is read.
+     * @throws IOException if the best results cannot be read.
+     */
+    public void refresh() throws IOException {
+        if (showAllGames.isSelected()) {
+            showAllGames.setSelected(false);
+            closeAllGames();
+        }
+        bestResults.setAll(ResultStore.getDefault().getBestByNumberOfMoves(MAX_NUMBER_OF_ROWES)
+                .stream()
+                .map(LeaderboardRow::of)
+                .toList());
+        tableView.setItems(bestResults);
+        tableView.getSelectionModel().clearSelection();
+        playerStatistics.setText(null);
+    }
+
+    /**
+     * Shows the statistics of a player, which are read from the rollup of the result store in constant time.
+     * @param name the name of the player.
+     */
+    private void showPlayerStatistics(String name) {
+        var statistics = ResultStore.getDefault().getPlayerStatistics(name);
+        if (statistics.isEmpty()) {
+            playerStatistics.setText(String.format("%s has no games yet.", name));
+            return;
+        }
+        var player = statistics.get();
+        var text = new StringBuilder(String.format("%s: %d games, %d solved (%.0f%%)", name, player.getGamesPlayed(),
+                player.getGamesSolved(), player.getSolveRate() * 100));
+        player.getBestMoves().ifPresent(moves -> text.append(String.format(", best %d moves", moves)));
+        player.getMedianMoves().ifPresent(moves -> text.append(String.format(", median %d moves", moves)));
+        player.getDurationPercentile(50).ifPresent(duration ->
+                text.append(", median time ").append(DurationUtil.formatDuration(duration)));
+        player.getDurationPercentile(90).ifPresent(duration ->
+                text.append(", 90% within ").append(DurationUtil.formatDuration(duration)));
+        var months = player.getSolveRateByMonth();
+        if (!months.isEmpty()) {
+            text.append("\nSolve rate by month:");
+            months.entrySet().stream()
+                    .skip(Math.max(0, months.size() - RECENT_MONTHS))
+                    .forEach(month -> text.append(String.format(" %s %.0f%%", month.getKey(), month.getValue() * 100)));
+        }
+        playerStatistics.setText(text.toString());
+    }
+
+    /**
+     * Switches between the best results and every game played, the newest first.
+     * The list of every game is opened on a background thread, and its rows are read a page at a time as they are
+     * scrolled into view.
+     */
+    @FXML
+    private void handleShowAllGames() {
+        if (!showAllGames.isSelected()) {
+            tableView.setItems(bestResults);
+            closeAllGames();
+            return;
+        }
+        showAllGames.setDisable(true);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return PagedResultList.open(ResultStore.getDefault());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((games, e) -> Platform.runLater(() -> {
+            showAllGames.setDisable(false);
+            if (e != null) {
+                Logger.error("Failed to read the game results: {}", e.getMessage());
+                showAllGames.setSelected(false);
+            } else {
+                Logger.info("Showing {} games", games.size());
+                allGames = games;
+                tableView.setItems(allGames);
+            }
+        }));
+    }
+
+    /**
+     * Replays the selected game on the game screen. Its move log is read on a background thread.
+     * @param event the click on the replay button.
+     */
+    @FXML
+    private void handleReplay(ActionEvent event) {
+        var row = tableView.getSelectionModel().getSelectedItem();
+        if (row == null || row.createdAt() == null) {
+            return;
+        }
+        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return ResultStore.getDefault().getMoveLog(row.playerName(), row.createdAt());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((moves, e) -> Platform.runLater(() -> {
+            if (e != null) {
+                Logger.error("Failed to read the moves of the game: {}", e.getMessage());
+                playerStatistics.setText("The moves of this game cannot be read.");
+            } else if (moves.isEmpty()) {
+                playerStatistics.setText("The moves of this game were not recorded.");
+            } else {
+                try {
+                    PuzzleController controller = SceneRegistry.getController(SceneRegistry.Screen.GAME);
+                    if (!controller.replay(moves.get(), row.playerName())) {
+                        playerStatistics.setText("This game was played on another level.");
+                        return;
+                    }
+                    SceneRegistry.show(stage, SceneRegistry.Screen.GAME);
+                } catch (IOException ex) {
+                    Logger.error("Failed to switch to the game: {}", ex.getMessage());
                 }
-        );
-        ObservableList<OnePlayerGameResult> observableList = FXCollections.observableArrayList();
-        observableList.addAll(new JsonOnePlayerGameResultManager(Path.of("gameresult.json"))
-                .getBestByNumberOfMoves(MAX_NUMBER_OF_ROWES));
-        tableView.setItems(observableList);
+            }
+        }));
+    }
+
+    private void closeAllGames() {
+        if (allGames != null) {
+            allGames.close();
+            allGames = null;
+        }
     }
 
     @FXML
     private void backToLogin(ActionEvent event) throws IOException {
         Logger.info("Back to login screen button pressed.");
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/login.fxml"));
-        Parent root = loader.load();
+        closeAllGames();
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
-        stage.setResizable(false);
-        stage.setTitle("Login screen");
-        stage.show();
+        SceneRegistry.show(stage, SceneRegistry.Screen.LOGIN);
     }
 }
@@ -0,0 +1,133 @@
+package gameresults;
+
+import gameresult.OnePlayerGameResult;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best solved results of a {@link ResultStore}, ordered by the number of moves, then by the duration,
+ * the time they were created and the name of the player.
+ * The results are held in a heap bounded by the capacity with the worst result on top, so adding a result
+ * takes {@code O(log K)} time and reading the leaderboard takes {@code O(K log K)}, however many results are stored.
+ *
+ * <p>The index is saved next to the result log together with the size of the log it covers.
+ * If the saved size does not match the log when it is opened, the index is rebuilt from the log.
+ */
+class LeaderboardIndex {
+
+    /**
+     * The order of the leaderboard, the best result first.
+     * Results without a duration or a creation time, such as hand-edited rows of the log, come after those with one.
+     */
+    static final Comparator<OnePlayerGameResult> ORDER = Comparator
+            .comparingInt(OnePlayerGameResult::getNumberOfMoves)
+            .thenComparing(OnePlayerGameResult::getDuration, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(OnePlayerGameResult::getCreated, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(OnePlayerGameResult::getPlayerName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final int capacity;
+
+    private final PriorityQueue<OnePlayerGameResult> heap;
+
+    /**
+     * The contents of an index file.
+     */
+    private record Snapshot(int capacity, long logSize, List<OnePlayerGameResult> results) {
+    }
+
+    /**
+     * Creates an empty index.
+     * @param capacity the largest number of results kept.
+     */
+    LeaderboardIndex(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        heap = new PriorityQueue<>(capacity + 1, ORDER.reversed());
+    }
+
+    /**
+     * @return the largest number of results kept.
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds a result to the index if it is solved and better than the worst result kept.
+     * @param result the result.
+     * @return true if the index changed, false otherwise.
+     */
+    synchronized boolean offer(OnePlayerGameResult result) {
+        if (!result.isSolved()) {
+            return false;
+        }
+        if (heap.size() == capacity) {
+            if (ORDER.compare(result, heap.peek()) >= 0) {
+                return false;
+            }
+            heap.poll();
+        }
+        heap.add(result);
+        return true;
+    }
+
+    /**
+     * @return the results kept, the best one first.
+     */
+    synchronized List<OnePlayerGameResult> getTop() {
+        var top = new ArrayList<>(heap);
+        top.sort(ORDER);
+        return top;
+    }
+
+    /**
+     * Saves the index, replacing the file atomically so that a partial file is never read.
+     * @param path the file of the index.
+     * @param logSize the size of the result log the index covers.
+     * @throws IOException if the file cannot be written.
+     */
+    void save(Path path, long logSize) throws IOException {
+        var bytes = ResultStore.MAPPER.writeValueAsBytes(new Snapshot(capacity, logSize, getTop()));
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, bytes);
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a saved index if it has the given capacity and covers the result log of the given size.
+     * @param path the file of the index.
+     * @param capacity the capacity the index must have.
+     * @param logSize the current size of the result log.
+     * @return the index, or an empty optional if there is none or it is out of date.
+     */
+    static Optional<LeaderboardIndex> load(Path path, int capacity, long logSize) {
+        Snapshot snapshot;
+        try (var in = Files.newInputStream(path)) {
+            snapshot = ResultStore.MAPPER.readValue(in, Snapshot.class);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            Logger.warn("Ignoring leaderboard index {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+        if (snapshot.capacity() != capacity || snapshot.logSize() != logSize || snapshot.results() == null) {
+            Logger.info("Leaderboard index {} is out of date", path);
+            return Optional.empty();
+        }
+        var index = new LeaderboardIndex(capacity);
+        snapshot.results().forEach(index::offer);
+        return Optional.of(index);
+    }
+}
@@ -0,0 +1,51 @@
+package gameresults;
+
+import gameresult.OnePlayerGameResult;
+import util.DurationUtil;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+
+/**
+ * Reprezents a row of the leaderboard table, with the cells already formatted,
+ * so that scrolling the table formats nothing.
+ * @param playerName the name of the player.
+ * @param solved whether the puzzle was solved.
+ * @param numberOfMoves the number of moves made.
+ * @param duration the formatted duration of the game.
+ * @param created the formatted time the game ended.
+ * @param createdAt the time the game ended, which identifies the move log of the game with the name of the player.
+ */
+record LeaderboardRow(String playerName, boolean solved, int numberOfMoves, String duration, String created,
+                      ZonedDateTime createdAt) {
+
+    private static final DateTimeFormatter CREATED_FORMATTER = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.LONG);
+
+    /**
+     * Creates a row and formats its cells.
+     * @param playerName the name of the player.
+     * @param solved whether the puzzle was solved.
+     * @param numberOfMoves the number of moves made.
+     * @param duration the duration of the game.
+     * @param created the time the game ended.
+     * @return the row.
+     */
+    static LeaderboardRow of(String playerName, boolean solved, int numberOfMoves, Duration duration,
+                             ZonedDateTime created) {
+        return new LeaderboardRow(playerName, solved, numberOfMoves,
+                duration == null ? "" : DurationUtil.formatDuration(duration),
+                created == null ? "" : CREATED_FORMATTER.format(created), created);
+    }
+
+    /**
+     * Creates the row of a game result.
+     * @param result the game result.
+     * @return the row.
+     */
+    static LeaderboardRow of(OnePlayerGameResult result) {
+        return of(result.getPlayerName(), result.isSolved(), result.getNumberOfMoves(), result.getDuration(),
+                result.getCreated());
+    }
+}
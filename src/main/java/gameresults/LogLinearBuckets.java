@@ -0,0 +1,53 @@
+package gameresults;
+
+/**
+ * Counts non-negative values, such as durations, in log-linear buckets, 16 per power of two,
+ * so the middle of the bucket of a value is off by at most 1/32, about 3%, of the value.
+ * The values below {@value #LINEAR_BUCKETS} have a bucket each, and every {@code long} value has a bucket
+ * below {@value #BUCKETS}, so a histogram is an array of counts which never has to grow beyond that.
+ */
+public final class LogLinearBuckets {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of values which have a bucket of their own.
+     */
+    public static final int LINEAR_BUCKETS = 2 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets of the non-negative {@code long} values.
+     */
+    public static final int BUCKETS = LINEAR_BUCKETS + ((Long.SIZE - 2 - SUB_BUCKET_BITS) << SUB_BUCKET_BITS);
+
+    private LogLinearBuckets() {
+    }
+
+    /**
+     * Computes the bucket of a value.
+     * @param value the value, not negative.
+     * @return the index of the bucket, below {@value #BUCKETS}.
+     */
+    public static int bucket(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        var exponent = 63 - Long.numberOfLeadingZeros(value);
+        var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+        return LINEAR_BUCKETS + ((exponent - SUB_BUCKET_BITS - 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * @param bucket the index of a bucket.
+     * @return the middle of the values of the bucket.
+     */
+    public static long bucketMiddle(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        var exponent = ((bucket - LINEAR_BUCKETS) >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS + 1;
+        var subBucket = (bucket - LINEAR_BUCKETS) & ((1 << SUB_BUCKET_BITS) - 1);
+        var width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + subBucket * width + width / 2;
+    }
+}
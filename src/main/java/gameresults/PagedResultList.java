@@ -0,0 +1,253 @@
+package gameresults;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import javafx.collections.ObservableListBase;
+import org.tinylog.Logger;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A read-only list of the rows of every result in a {@link ResultStore}, the newest one first,
+ * which reads the results a page at a time as they are displayed.
+ *
+ * <p>Opening the list scans the segments of the store once for line breaks and remembers where every page starts
+ * and ends, which takes 24 bytes per page. A page is parsed with the {@link ResultParser} and formatted into rows
+ * when one of its rows is first requested, and the most recently used pages are kept,
+ * so memory stays bounded however long the history is.
+ * The segments are kept open until the list is closed, so they can still be read after a compaction removed them.
+ * Results appended after the list was opened are not part of it.
+ */
+class PagedResultList extends ObservableListBase<LeaderboardRow> implements AutoCloseable {
+
+    /**
+     * The number of results on a page.
+     */
+    static final int PAGE_SIZE = 256;
+
+    /**
+     * The largest number of pages kept in memory.
+     */
+    static final int MAX_CACHED_PAGES = 16;
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The row shown for a record which cannot be read.
+     */
+    private static final LeaderboardRow INVALID_ROW = new LeaderboardRow("?", false, 0, "", "", null);
+
+    private final FileChannel[] segments;
+
+    /**
+     * The index of the first line of every page, counted from the oldest result.
+     */
+    private final int[] pageFirstLines;
+
+    /**
+     * The index of the segment of every page.
+     */
+    private final int[] pageSegments;
+
+    /**
+     * The offset of the first line of every page in its segment.
+     */
+    private final long[] pageStarts;
+
+    /**
+     * The offset of the end of the last line of every page in its segment.
+     */
+    private final long[] pageEnds;
+
+    private final int size;
+
+    private final Map<Integer, LeaderboardRow[]> pages = new LinkedHashMap<>(MAX_CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, LeaderboardRow[]> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    private PagedResultList(FileChannel[] segments, Pages pages) {
+        this.segments = segments;
+        pageFirstLines = Arrays.copyOf(pages.firstLines, pages.count);
+        pageSegments = Arrays.copyOf(pages.segments, pages.count);
+        pageStarts = Arrays.copyOf(pages.starts, pages.count);
+        pageEnds = Arrays.copyOf(pages.ends, pages.count);
+        size = pages.lines;
+    }
+
+    /**
+     * Collects the pages of the segments while they are scanned.
+     * Pages never span two segments, the last page of a segment may be shorter than {@link #PAGE_SIZE}.
+     */
+    private static class Pages {
+
+        int count;
+
+        int lines;
+
+        int[] firstLines = new int[16];
+
+        int[] segments = new int[16];
+
+        long[] starts = new long[16];
+
+        long[] ends = new long[16];
+
+        void add(int segment, long start) {
+            if (count == firstLines.length) {
+                firstLines = Arrays.copyOf(firstLines, count * 2);
+                segments = Arrays.copyOf(segments, count * 2);
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            firstLines[count] = lines;
+            segments[count] = segment;
+            starts[count] = start;
+            count++;
+        }
+    }
+
+    /**
+     * Opens a list over the complete lines of the segments of a store.
+     * @param store the result store.
+     * @return the list.
+     * @throws IOException if a segment cannot be read.
+     */
+    static PagedResultList open(ResultStore store) throws IOException {
+        return store.readSegments(paths -> {
+            var channels = new FileChannel[paths.size()];
+            try {
+                var pages = new Pages();
+                var buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+                var bytes = buffer.array();
+                for (var segment = 0; segment < paths.size(); segment++) {
+                    var channel = FileChannel.open(paths.get(segment), StandardOpenOption.READ);
+                    channels[segment] = channel;
+                    var linesOnPage = 0;
+                    long lineStart = 0;
+                    long position = 0;
+                    while (channel.read(buffer.clear(), position) > 0) {
+                        for (var i = 0; i < buffer.position(); i++) {
+                            if (bytes[i] == '\n') {
+                                if (linesOnPage == 0) {
+                                    pages.add(segment, lineStart);
+                                }
+                                pages.lines++;
+                                lineStart = position + i + 1;
+                                pages.ends[pages.count - 1] = lineStart;
+                                linesOnPage = (linesOnPage + 1) % PAGE_SIZE;
+                            }
+                        }
+                        position += buffer.position();
+                    }
+                }
+                return new PagedResultList(channels, pages);
+            } catch (IOException | RuntimeException e) {
+                closeAll(channels);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Closes the segments.
+     */
+    @Override
+    public void close() {
+        closeAll(segments);
+    }
+
+    private static void closeAll(FileChannel[] channels) {
+        for (var channel : channels) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    Logger.warn("Failed to close a result segment: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a row, reading its page from the log if it is not in memory.
+     * @param index the index of the row, 0 being the newest result.
+     * @return the row.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws UncheckedIOException if the page cannot be read.
+     */
+    @Override
+    public LeaderboardRow get(int index) {
+        var line = size - 1 - Objects.checkIndex(index, size);
+        var page = Arrays.binarySearch(pageFirstLines, line);
+        if (page < 0) {
+            page = -page - 2;
+        }
+        var rows = pages.get(page);
+        if (rows == null) {
+            try {
+                rows = readPage(page);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pages.put(page, rows);
+        }
+        return rows[line - pageFirstLines[page]];
+    }
+
+    /**
+     * @return the number of pages in memory.
+     */
+    int cachedPageCount() {
+        return pages.size();
+    }
+
+    private LeaderboardRow[] readPage(int page) throws IOException {
+        var start = pageStarts[page];
+        var buffer = ByteBuffer.allocate((int) (pageEnds[page] - start));
+        var channel = segments[pageSegments[page]];
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("A result segment was truncated");
+            }
+        }
+        var next = page + 1 < pageFirstLines.length ? pageFirstLines[page + 1] : size;
+        var rows = new LeaderboardRow[next - pageFirstLines[page]];
+        var bytes = buffer.array();
+        var lineStart = 0;
+        for (var i = 0; i < rows.length; i++) {
+            var lineEnd = lineStart;
+            while (bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            try (var parser = ResultStore.MAPPER.getFactory().createParser(bytes, lineStart, lineEnd - lineStart)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Not a game result");
+                }
+                rows[i] = LeaderboardRow.of(ResultParser.read(parser));
+            } catch (JsonProcessingException e) {
+                Logger.warn("Showing an invalid game result as empty: {}", e.getMessage());
+                rows[i] = INVALID_ROW;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,280 @@
+package gameresults;
+
+import gameresult.OnePlayerGameResult;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Reprezents the aggregated statistics of the games of a player.
+ * The statistics are kept in histograms, so adding a game takes constant time, two statistics can be merged,
+ * and the size does not depend on the number of games.
+ *
+ * <p>The number of moves of the solved games is counted exactly up to {@value #MAX_MOVES}.
+ * The durations are counted in milliseconds in {@link LogLinearBuckets}.
+ */
+public class PlayerStatistics {
+
+    /**
+     * The largest number of moves counted, games with more moves are counted as if they had this many.
+     */
+    static final int MAX_MOVES = (1 << 16) - 1;
+
+    private final String playerName;
+
+    private long gamesPlayed;
+
+    private long gamesSolved;
+
+    /**
+     * The number of solved games by the number of moves.
+     */
+    private long[] moveCounts = new long[0];
+
+    /**
+     * The number of games by the bucket of their duration.
+     */
+    private long[] durationCounts = new long[0];
+
+    /**
+     * The number of games played and solved by the month they ended.
+     */
+    private final TreeMap<YearMonth, long[]> months = new TreeMap<>();
+
+    /**
+     * Creates the statistics of a player with no games.
+     * @param playerName the name of the player.
+     */
+    PlayerStatistics(String playerName) {
+        this.playerName = playerName;
+    }
+
+    /**
+     * @return the name of the player.
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * @return the number of games played.
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * @return the number of games solved.
+     */
+    public long getGamesSolved() {
+        return gamesSolved;
+    }
+
+    /**
+     * @return the ratio of the solved games to the games played, or 0 if no game was played.
+     */
+    public double getSolveRate() {
+        return gamesPlayed == 0 ? 0 : (double) gamesSolved / gamesPlayed;
+    }
+
+    /**
+     * @return the fewest moves of a solved game, or an empty optional if no game was solved.
+     */
+    public OptionalInt getBestMoves() {
+        for (var moves = 0; moves < moveCounts.length; moves++) {
+            if (moveCounts[moves] > 0) {
+                return OptionalInt.of(moves);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * @return the median of the moves of the solved games, the lower one of the two middle values
+     * for an even number of games, or an empty optional if no game was solved.
+     */
+    public OptionalInt getMedianMoves() {
+        if (gamesSolved == 0) {
+            return OptionalInt.empty();
+        }
+        var rank = (gamesSolved + 1) / 2;
+        long count = 0;
+        for (var moves = 0; moves < moveCounts.length; moves++) {
+            count += moveCounts[moves];
+            if (count >= rank) {
+                return OptionalInt.of(moves);
+            }
+        }
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns a percentile of the durations of the games played.
+     * @param percentile the percentile, between 0 and 100.
+     * @return the least duration which at least the given percent of the games did not exceed, approximated by the
+     * middle of its bucket, or an empty optional if no game was played.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public Optional<Duration> getDurationPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile: " + percentile);
+        }
+        var played = Arrays.stream(durationCounts).sum();
+        if (played == 0) {
+            return Optional.empty();
+        }
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100 * played));
+        long count = 0;
+        for (var bucket = 0; bucket < durationCounts.length; bucket++) {
+            count += durationCounts[bucket];
+            if (count >= rank) {
+                return Optional.of(Duration.ofMillis(LogLinearBuckets.bucketMiddle(bucket)));
+            }
+        }
+        throw new AssertionError();
+    }
+
+    /**
+     * @return the solve rate of the games by the month they ended, the earliest month first.
+     */
+    public SortedMap<YearMonth, Double> getSolveRateByMonth() {
+        var rates = new TreeMap<YearMonth, Double>();
+        months.forEach((month, counts) -> rates.put(month, (double) counts[1] / counts[0]));
+        return Collections.unmodifiableSortedMap(rates);
+    }
+
+    /**
+     * Adds a game to the statistics.
+     * @param result the result of the game.
+     */
+    void add(OnePlayerGameResult result) {
+        gamesPlayed++;
+        var solved = result.isSolved();
+        if (solved) {
+            gamesSolved++;
+            var moves = Math.clamp(result.getNumberOfMoves(), 0, MAX_MOVES);
+            moveCounts = grow(moveCounts, moves);
+            moveCounts[moves]++;
+        }
+        if (result.getDuration() != null) {
+            var bucket = LogLinearBuckets.bucket(Math.max(0, result.getDuration().toMillis()));
+            durationCounts = grow(durationCounts, bucket);
+            durationCounts[bucket]++;
+        }
+        if (result.getCreated() != null) {
+            var counts = months.computeIfAbsent(YearMonth.from(result.getCreated()), month -> new long[2]);
+            counts[0]++;
+            counts[1] += solved ? 1 : 0;
+        }
+    }
+
+    /**
+     * Adds the games of other statistics of the same player.
+     * @param other the other statistics.
+     */
+    void merge(PlayerStatistics other) {
+        gamesPlayed += other.gamesPlayed;
+        gamesSolved += other.gamesSolved;
+        moveCounts = mergeCounts(moveCounts, other.moveCounts);
+        durationCounts = mergeCounts(durationCounts, other.durationCounts);
+        other.months.forEach((month, counts) -> {
+            var sum = months.computeIfAbsent(month, m -> new long[2]);
+            sum[0] += counts[0];
+            sum[1] += counts[1];
+        });
+    }
+
+    /**
+     * @return a copy of the statistics, which does not change when these statistics change.
+     */
+    PlayerStatistics copy() {
+        var copy = new PlayerStatistics(playerName);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Writes the statistics in a binary form.
+     * @param out the output to write to.
+     * @throws IOException if the statistics cannot be written.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(playerName);
+        out.writeLong(gamesPlayed);
+        out.writeLong(gamesSolved);
+        writeCounts(out, moveCounts);
+        writeCounts(out, durationCounts);
+        out.writeInt(months.size());
+        for (Map.Entry<YearMonth, long[]> entry : months.entrySet()) {
+            out.writeInt(entry.getKey().getYear());
+            out.writeByte(entry.getKey().getMonthValue());
+            out.writeLong(entry.getValue()[0]);
+            out.writeLong(entry.getValue()[1]);
+        }
+    }
+
+    /**
+     * Reads statistics written by {@link #writeTo(DataOutput)}.
+     * @param in the input to read from.
+     * @return the statistics.
+     * @throws IOException if the statistics cannot be read.
+     */
+    static PlayerStatistics readFrom(DataInput in) throws IOException {
+        var statistics = new PlayerStatistics(in.readUTF());
+        statistics.gamesPlayed = in.readLong();
+        statistics.gamesSolved = in.readLong();
+        statistics.moveCounts = readCounts(in);
+        statistics.durationCounts = readCounts(in);
+        var monthCount = in.readInt();
+        for (var i = 0; i < monthCount; i++) {
+            var month = YearMonth.of(in.readInt(), in.readByte());
+            statistics.months.put(month, new long[] {in.readLong(), in.readLong()});
+        }
+        return statistics;
+    }
+
+    private static void writeCounts(DataOutput out, long[] counts) throws IOException {
+        var length = counts.length;
+        while (length > 0 && counts[length - 1] == 0) {
+            length--;
+        }
+        out.writeInt(length);
+        for (var i = 0; i < length; i++) {
+            out.writeLong(counts[i]);
+        }
+    }
+
+    private static long[] readCounts(DataInput in) throws IOException {
+        var length = in.readInt();
+        if (length < 0 || length > Integer.MAX_VALUE / Long.BYTES) {
+            throw new IOException("Invalid histogram length: " + length);
+        }
+        var counts = new long[length];
+        for (var i = 0; i < length; i++) {
+            counts[i] = in.readLong();
+        }
+        return counts;
+    }
+
+    private static long[] grow(long[] counts, int index) {
+        return index < counts.length ? counts : Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+    }
+
+    private static long[] mergeCounts(long[] counts, long[] other) {
+        var merged = other.length > counts.length ? Arrays.copyOf(counts, other.length) : counts;
+        for (var i = 0; i < other.length; i++) {
+            merged[i] += other[i];
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,160 @@
+package gameresults;
+
+import gameresult.OnePlayerGameResult;
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the {@link PlayerStatistics} of every player of a {@link ResultStore}.
+ * The rollup is updated as results are written and saved next to the segments together with the size of the
+ * segments it covers, so the statistics of a player are looked up without reading any result.
+ * If the saved size does not match the segments when they are opened, the rollup is built again by
+ * {@link #aggregate(ResultStore)}, which reads the segments in parallel, each in a single sequential pass.
+ *
+ * <p>The rollup takes memory in proportion to the number of players, not to the number of games.
+ */
+class PlayerStatisticsRollup {
+
+    private static final int MAGIC = 0x505A4C52;
+
+    private static final int VERSION = 1;
+
+    private final Map<String, PlayerStatistics> players = new HashMap<>();
+
+    /**
+     * Adds a game to the statistics of its player.
+     * @param result the result of the game.
+     */
+    synchronized void add(OnePlayerGameResult result) {
+        players.computeIfAbsent(String.valueOf(result.getPlayerName()), PlayerStatistics::new).add(result);
+    }
+
+    /**
+     * Returns the statistics of a player in constant time.
+     * @param playerName the name of the player.
+     * @return a copy of the statistics of the player, or an empty optional if the player has not played.
+     */
+    synchronized Optional<PlayerStatistics> get(String playerName) {
+        return Optional.ofNullable(players.get(playerName)).map(PlayerStatistics::copy);
+    }
+
+    /**
+     * @return the number of players.
+     */
+    synchronized int size() {
+        return players.size();
+    }
+
+    /**
+     * Adds the statistics of another rollup.
+     * @param other the other rollup, it is not changed.
+     * @return this rollup.
+     */
+    synchronized PlayerStatisticsRollup merge(PlayerStatisticsRollup other) {
+        synchronized (other) {
+            other.players.forEach((name, statistics) ->
+                    players.computeIfAbsent(name, PlayerStatistics::new).merge(statistics));
+        }
+        return this;
+    }
+
+    /**
+     * Builds the rollup of every result of a store. The segments are aggregated in parallel,
+     * and the rollups of the segments are merged into each other, so no rollup is shared between threads.
+     * @param store the result store.
+     * @return the rollup.
+     * @throws IOException if a segment cannot be read.
+     */
+    static PlayerStatisticsRollup aggregate(ResultStore store) throws IOException {
+        return store.readSegments(paths -> {
+            var active = paths.getLast();
+            try {
+                return paths.parallelStream()
+                        .map(path -> aggregate(path, path.equals(active)))
+                        .reduce(PlayerStatisticsRollup::merge)
+                        .orElseGet(PlayerStatisticsRollup::new);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private static PlayerStatisticsRollup aggregate(Path segment, boolean active) {
+        var rollup = new PlayerStatisticsRollup();
+        try {
+            ResultParser.forEach(segment, active, rollup::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rollup;
+    }
+
+    /**
+     * Saves the rollup, replacing the file atomically so that a partial file is never read.
+     * @param path the file of the rollup.
+     * @param logSize the total size of the segments the rollup covers.
+     * @throws IOException if the file cannot be written.
+     */
+    void save(Path path, long logSize) throws IOException {
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(logSize);
+            List<PlayerStatistics> statistics;
+            synchronized (this) {
+                statistics = players.values().stream().map(PlayerStatistics::copy).toList();
+            }
+            out.writeInt(statistics.size());
+            for (var player : statistics) {
+                player.writeTo(out);
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a saved rollup if it covers the segments of the given size.
+     * @param path the file of the rollup.
+     * @param logSize the current total size of the segments.
+     * @return the rollup, or an empty optional if there is none or it is out of date.
+     */
+    static Optional<PlayerStatisticsRollup> load(Path path, long logSize) {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                Logger.warn("Ignoring player statistics {}: not a rollup file", path);
+                return Optional.empty();
+            }
+            if (in.readLong() != logSize) {
+                Logger.info("Player statistics {} are out of date", path);
+                return Optional.empty();
+            }
+            var rollup = new PlayerStatisticsRollup();
+            var count = in.readInt();
+            for (var i = 0; i < count; i++) {
+                var statistics = PlayerStatistics.readFrom(in);
+                rollup.players.put(statistics.getPlayerName(), statistics);
+            }
+            return Optional.of(rollup);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            Logger.warn("Ignoring player statistics {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
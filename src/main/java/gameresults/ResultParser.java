@@ -0,0 +1,129 @@
+package gameresults;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import gameresult.OnePlayerGameResult;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * Reads the game results of the segments of a {@link ResultStore} with the Jackson streaming parser,
+ * without the reflection of data binding.
+ */
+final class ResultParser {
+
+    private ResultParser() {
+    }
+
+    /**
+     * Calls an action with every result of a segment, skipping the records which cannot be read.
+     * @param segment the file of the segment.
+     * @param active whether the segment is the active one, whose last line may still be being written.
+     * @param action the action called with the results, in the order they were appended.
+     * @throws IOException if the segment cannot be read.
+     */
+    static void forEach(Path segment, boolean active, Consumer<OnePlayerGameResult> action) throws IOException {
+        try (var reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            for (var line = reader.readLine(); line != null; ) {
+                var next = reader.readLine();
+                if (!line.isBlank()) {
+                    try {
+                        action.accept(parse(line));
+                    } catch (JsonProcessingException e) {
+                        if (!active || next != null) {
+                            Logger.warn("Skipping an invalid game result in {}", segment);
+                        }
+                    }
+                }
+                line = next;
+            }
+        }
+    }
+
+    /**
+     * Parses a line of a segment.
+     * @param line the line.
+     * @return the game result.
+     * @throws JsonProcessingException if the line is not a valid game result.
+     */
+    static OnePlayerGameResult parse(String line) throws JsonProcessingException {
+        try (var parser = ResultStore.MAPPER.getFactory().createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Not a game result");
+            }
+            var result = read(parser);
+            if (parser.nextToken() != null) {
+                throw new JsonParseException(parser, "Unexpected content after the game result");
+            }
+            return result;
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Reads the fields of a game result object, skipping unknown fields.
+     * @param parser the parser, positioned on the start of the object.
+     * @return the game result.
+     * @throws IOException if the object cannot be parsed.
+     */
+    static OnePlayerGameResult read(JsonParser parser) throws IOException {
+        var builder = OnePlayerGameResult.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            try {
+                switch (field) {
+                    case "playerName" -> builder.playerName(parser.getText());
+                    case "solved" -> builder.solved(parser.getBooleanValue());
+                    case "numberOfMoves" -> builder.numberOfMoves(parser.getIntValue());
+                    case "duration" -> builder.duration(token == JsonToken.VALUE_STRING
+                            ? Duration.parse(parser.getText())
+                            : seconds(parser.getDecimalValue(), Duration::ofSeconds));
+                    case "created" -> builder.created(token == JsonToken.VALUE_STRING
+                            ? ZonedDateTime.parse(parser.getText(), DateTimeFormatter.ISO_ZONED_DATE_TIME)
+                            : seconds(parser.getDecimalValue(), Instant::ofEpochSecond).atZone(ZoneOffset.UTC));
+                    default -> parser.skipChildren();
+                }
+            } catch (DateTimeException | ArithmeticException e) {
+                throw new JsonParseException(parser, "Invalid " + field, e);
+            }
+        }
+        if (parser.currentToken() != JsonToken.END_OBJECT) {
+            throw new JsonParseException(parser, "Not a game result");
+        }
+        return builder.build();
+    }
+
+    /**
+     * A factory of a time value from seconds and nanoseconds.
+     * @param <T> the type of the time value.
+     */
+    private interface SecondsFactory<T> {
+        T of(long seconds, long nanos);
+    }
+
+    private static <T> T seconds(BigDecimal value, SecondsFactory<T> factory) {
+        var seconds = value.longValue();
+        return factory.of(seconds, value.subtract(BigDecimal.valueOf(seconds)).movePointRight(9).longValue());
+    }
+}
@@ -0,0 +1,870 @@
+package gameresults;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import gameresult.OnePlayerGameResult;
+import gameresult.manager.json.JsonOnePlayerGameResultManager;
+import org.tinylog.Logger;
+import puzzle.model.MoveLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * An append-only store of game results, one JSON object per line, kept in a directory of segment files.
+ * Results are appended by a single background writer thread, so adding a result never blocks the caller
+ * and costs the same however many results are stored. The writer takes every result that is waiting
+ * and writes them with a single write call, a group commit, followed by a sync according to the {@link SyncPolicy}.
+ *
+ * <p>Results are appended to the last, active segment. When it grows past the segment size, the writer seals it
+ * and starts a new one. A compactor thread merges runs of small sealed segments into one, dropping the records
+ * which cannot be read. The merged segment is written to a temporary file and renamed to its final name
+ * atomically, so a crash leaves either the old segments or the merged one, which covers them.
+ *
+ * <p>When the store is opened, it recovers from a crash: it deletes temporary files and the segments covered by
+ * a merged one, and cuts off an incomplete last line of the active segment.
+ *
+ * <p>The best {@value #LEADERBOARD_SIZE} solved results are kept in a {@link LeaderboardIndex}, which is updated
+ * as results are written and saved next to the segments, so the leaderboard is read without reading the segments.
+ * If the saved index does not cover the segments, it is rebuilt in a single sequential scan.
+ * The statistics of every player are kept the same way in a {@link PlayerStatisticsRollup}, which is saved
+ * at most every {@code ROLLUP_SAVE_INTERVAL} and when the store is closed.
+ *
+ * <p>The moves of a game can be appended with its result. They are kept in a {@link MoveLog} file of their own
+ * in the {@code moves} directory, which is not touched by compaction.
+ */
+public class ResultStore implements AutoCloseable {
+
+    /**
+     * Tells when the written results are forced to the storage device.
+     */
+    public enum SyncPolicy {
+        /**
+         * Never forces the file, the operating system writes it back when it sees fit.
+         */
+        NEVER,
+        /**
+         * Forces the file after every group commit, so a completed append survives a power failure.
+         */
+        EVERY_COMMIT,
+        /**
+         * Forces the file at most once per sync interval, bounding the results lost in a power failure.
+         */
+        PERIODIC
+    }
+
+    /**
+     * The directory of the store of the game.
+     */
+    public static final Path DEFAULT_PATH = Path.of("gameresults");
+
+    /**
+     * The JSON file the results were stored in before, imported into a new store.
+     */
+    public static final Path LEGACY_PATH = Path.of("gameresult.json");
+
+    /**
+     * The number of the best results kept in the leaderboard index.
+     */
+    public static final int LEADERBOARD_SIZE = 10;
+
+    /**
+     * The size in bytes past which the active segment is sealed and a new one is started.
+     */
+    public static final long SEGMENT_SIZE = 4 << 20;
+
+    /**
+     * The time between two compactions.
+     */
+    public static final Duration COMPACTION_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * The least number of sealed segments merged by a compaction.
+     */
+    static final int MIN_SEGMENTS_TO_MERGE = 4;
+
+    /**
+     * The largest size of a merged segment, in segment sizes.
+     */
+    static final int MAX_MERGED_SEGMENTS = 16;
+
+    /**
+     * The least time between two saves of the player statistics while results are written.
+     */
+    static final Duration ROLLUP_SAVE_INTERVAL = Duration.ofSeconds(30);
+
+    private static final String INDEX_FILE = "leaderboard.top";
+
+    private static final String ROLLUP_FILE = "players.rollup";
+
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    /**
+     * The directory of the move logs, inside the directory of the store.
+     */
+    private static final String MOVES_DIRECTORY = "moves";
+
+    private static final String MOVE_LOG_EXTENSION = ".moves";
+
+    /**
+     * The largest number of results written in a single group commit.
+     */
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID)
+            .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static ResultStore defaultStore;
+
+    private final Path directory;
+
+    private final SyncPolicy syncPolicy;
+
+    private final long syncIntervalNanos;
+
+    private final long segmentSize;
+
+    /**
+     * Guards the list of segments: held for reading while segments are read,
+     * and for writing while segments are added or replaced.
+     */
+    private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+
+    /**
+     * The segments in order, the last one being the active segment.
+     */
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * The total size of the sealed segments.
+     */
+    private long sealedSize;
+
+    /**
+     * The active segment, only written by the writer thread once the store is open.
+     */
+    private FileChannel channel;
+
+    private final Path indexPath;
+
+    private final LeaderboardIndex index;
+
+    private final Path rollupPath;
+
+    private final PlayerStatisticsRollup rollup;
+
+    /**
+     * The time the player statistics were last saved, only used by the writer thread.
+     */
+    private long lastRollupSave = System.nanoTime();
+
+    private final BlockingQueue<Append> queue = new LinkedBlockingQueue<>();
+
+    private final Thread writer;
+
+    private final ScheduledExecutorService compactor;
+
+    private final boolean autoCompact;
+
+    private long lastSync = System.nanoTime();
+
+    private volatile boolean closed;
+
+    /**
+     * A result waiting to be written with the log of its moves, if any,
+     * or the marker which stops the writer if the result is null.
+     */
+    private record Append(OnePlayerGameResult result, MoveLog moves, CompletableFuture<Void> written) {
+    }
+
+    /**
+     * Reads the segments of the store while they cannot be removed.
+     * @param <T> the type of the result of reading.
+     */
+    interface SegmentReader<T> {
+        T read(List<Path> segments) throws IOException;
+    }
+
+    /**
+     * Opens a store which forces the file after every group commit.
+     * @param directory the directory of the store, it is created if it does not exist.
+     * @throws IOException if the store cannot be opened.
+     */
+    public ResultStore(Path directory) throws IOException {
+        this(directory, SyncPolicy.EVERY_COMMIT, Duration.ZERO);
+    }
+
+    /**
+     * Opens a store.
+     * @param directory the directory of the store, it is created if it does not exist.
+     * @param syncPolicy tells when the written results are forced to the storage device.
+     * @param syncInterval the least time between two syncs with {@link SyncPolicy#PERIODIC}.
+     * @throws IOException if the store cannot be opened or its leaderboard index cannot be rebuilt.
+     */
+    public ResultStore(Path directory, SyncPolicy syncPolicy, Duration syncInterval) throws IOException {
+        this(directory, syncPolicy, syncInterval, SEGMENT_SIZE, COMPACTION_INTERVAL);
+    }
+
+    /**
+     * Opens a store with the given segment size and compaction interval.
+     * @param directory the directory of the store, it is created if it does not exist.
+     * @param syncPolicy tells when the written results are forced to the storage device.
+     * @param syncInterval the least time between two syncs with {@link SyncPolicy#PERIODIC}.
+     * @param segmentSize the size in bytes past which the active segment is sealed.
+     * @param compactionInterval the time between two compactions, or zero to compact only when asked to.
+     * @throws IOException if the store cannot be opened or its leaderboard index cannot be rebuilt.
+     */
+    ResultStore(Path directory, SyncPolicy syncPolicy, Duration syncInterval, long segmentSize,
+                Duration compactionInterval) throws IOException {
+        this.directory = directory;
+        this.syncPolicy = syncPolicy;
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.segmentSize = segmentSize;
+        recover();
+        indexPath = directory.resolve(INDEX_FILE);
+        var size = sealedSize + channel.size();
+        var saved = LeaderboardIndex.load(indexPath, LEADERBOARD_SIZE, size);
+        index = saved.isPresent() ? saved.get() : rebuildIndex(size);
+        rollupPath = directory.resolve(ROLLUP_FILE);
+        var savedRollup = PlayerStatisticsRollup.load(rollupPath, size);
+        rollup = savedRollup.isPresent() ? savedRollup.get() : rebuildRollup(size);
+        writer = Thread.ofPlatform().name("result-store-writer").daemon().start(this::write);
+        compactor = Executors.newSingleThreadScheduledExecutor(
+                runnable -> Thread.ofPlatform().name("result-store-compactor").daemon().unstarted(runnable));
+        autoCompact = !compactionInterval.isZero();
+        if (autoCompact) {
+            var interval = compactionInterval.toMillis();
+            compactor.scheduleWithFixedDelay(this::compactQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the store of the game, opening it on the first call.
+     * If the store does not exist yet, the results of the legacy JSON file are imported into it.
+     * @return the store of the game.
+     * @throws UncheckedIOException if the store cannot be opened.
+     */
+    public static synchronized ResultStore getDefault() {
+        if (defaultStore == null) {
+            try {
+                var isNew = !Files.exists(DEFAULT_PATH);
+                defaultStore = new ResultStore(DEFAULT_PATH);
+                if (isNew && Files.exists(LEGACY_PATH)) {
+                    var legacy = new JsonOnePlayerGameResultManager(LEGACY_PATH).getAll();
+                    CompletableFuture.allOf(legacy.stream().map(defaultStore::append).toArray(CompletableFuture[]::new)).join();
+                    Logger.info("Imported {} game results from {}", legacy.size(), LEGACY_PATH);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return defaultStore;
+    }
+
+    /**
+     * Closes the store of the game if it was opened, waiting for the pending results to be written.
+     */
+    public static synchronized void closeDefault() {
+        if (defaultStore != null) {
+            defaultStore.close();
+            defaultStore = null;
+        }
+    }
+
+    /**
+     * @return the directory of the store.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Appends a result to the store without waiting for it to be written.
+     * @param result the result to append.
+     * @return a future which completes when the result is written and, depending on the sync policy, forced
+     * to the storage device, or completes exceptionally if it cannot be written.
+     * @throws IllegalStateException if the store is closed.
+     */
+    public CompletableFuture<Void> append(OnePlayerGameResult result) {
+        return append(result, null);
+    }
+
+    /**
+     * Appends a result to the store together with the log of the moves of the game, without waiting for them
+     * to be written. The move log is saved in a file of its own, named after the player and the time the game ended,
+     * before the result is written. Failing to save it is only logged, since the result does not depend on it.
+     * @param result the result to append.
+     * @param moves the log of the moves of the game, or null if there is none.
+     * @return a future which completes when the result is written and, depending on the sync policy, forced
+     * to the storage device, or completes exceptionally if it cannot be written.
+     * @throws IllegalStateException if the store is closed.
+     */
+    public synchronized CompletableFuture<Void> append(OnePlayerGameResult result, MoveLog moves) {
+        if (closed) {
+            throw new IllegalStateException("The result store is closed");
+        }
+        var written = new CompletableFuture<Void>();
+        queue.add(new Append(result, moves, written));
+        return written;
+    }
+
+    /**
+     * Reads the move log of a game.
+     * @param playerName the name of the player.
+     * @param created the time the game ended, as in its result.
+     * @return the move log, or an empty optional if the moves of the game were not recorded.
+     * @throws IOException if the move log cannot be read or it is not valid.
+     */
+    public Optional<MoveLog> getMoveLog(String playerName, ZonedDateTime created) throws IOException {
+        try (var in = new BufferedInputStream(Files.newInputStream(moveLogPath(playerName, created)))) {
+            return Optional.of(MoveLog.readFrom(in));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param playerName the name of the player.
+     * @param created the time the game ended.
+     * @return the file of the move log of the game.
+     */
+    private Path moveLogPath(String playerName, ZonedDateTime created) {
+        return directory.resolve(MOVES_DIRECTORY).resolve(String.format("%d-%09d-%08x%s", created.toEpochSecond(),
+                created.getNano(), Objects.hashCode(playerName), MOVE_LOG_EXTENSION));
+    }
+
+    /**
+     * Saves a move log, replacing the file atomically so that a partial log is never read.
+     * @param result the result of the game.
+     * @param moves the move log of the game.
+     */
+    private void saveMoveLog(OnePlayerGameResult result, MoveLog moves) {
+        var path = moveLogPath(result.getPlayerName(), result.getCreated());
+        var temporary = path.resolveSibling(path.getFileName() + TEMPORARY_EXTENSION);
+        try {
+            Files.createDirectories(path.getParent());
+            try (var out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                moves.writeTo(out);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Logger.warn("Failed to save the moves of the game of {}: {}", result.getPlayerName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reads every result of the store, in the order they were appended.
+     * Only results whose append has completed are guaranteed to be read. A last line which is still being
+     * written is skipped, and so are the records which cannot be read.
+     * @return the results of the store.
+     * @throws IOException if a segment cannot be read.
+     */
+    public List<OnePlayerGameResult> getAll() throws IOException {
+        List<OnePlayerGameResult> results = new ArrayList<>();
+        scan(results::add);
+        return results;
+    }
+
+    /**
+     * Returns the solved results with the fewest moves, the shorter and then the earlier one first on a tie.
+     * Up to {@value #LEADERBOARD_SIZE} results are read from the leaderboard index, more from the segments.
+     * @param limit the largest number of results returned.
+     * @return the best results.
+     * @throws IOException if a segment cannot be read.
+     */
+    public List<OnePlayerGameResult> getBestByNumberOfMoves(int limit) throws IOException {
+        if (limit <= index.getCapacity()) {
+            var top = index.getTop();
+            return top.subList(0, Math.min(limit, top.size()));
+        }
+        return getAll().stream()
+                .filter(OnePlayerGameResult::isSolved)
+                .sorted(LeaderboardIndex.ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Returns the statistics of a player from the rollup, without reading any result.
+     * @param playerName the name of the player.
+     * @return the statistics of the player, which do not change as results are appended,
+     * or an empty optional if the player has not played.
+     */
+    public Optional<PlayerStatistics> getPlayerStatistics(String playerName) {
+        return rollup.get(playerName);
+    }
+
+    /**
+     * Reads the segments of the store, the active segment last. The segments are not removed while they are read.
+     * @param reader reads the segments.
+     * @param <T> the type of the result of reading.
+     * @return the result of reading.
+     * @throws IOException if the reader fails.
+     */
+    <T> T readSegments(SegmentReader<T> reader) throws IOException {
+        segmentsLock.readLock().lock();
+        try {
+            return reader.read(segments.stream().map(Segment::path).toList());
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the pending results, stops the writer and the compactor and closes the active segment.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(new Append(null, null, null));
+        }
+        try {
+            writer.join();
+            compactor.shutdown();
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.force(false);
+            saveIndex();
+            saveRollup();
+            channel.close();
+        } catch (IOException e) {
+            Logger.error("Failed to close the result store: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Calls an action with every result of the store, reading the segments sequentially.
+     * @param action the action called with the results, in the order they were appended.
+     * @throws IOException if a segment cannot be read.
+     */
+    private void scan(Consumer<OnePlayerGameResult> action) throws IOException {
+        readSegments(paths -> {
+            for (var i = 0; i < paths.size(); i++) {
+                ResultParser.forEach(paths.get(i), i == paths.size() - 1, action);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The loop of the writer thread: waits for a result, then commits it together with every other waiting result.
+     */
+    private void write() {
+        List<Append> batch = new ArrayList<>();
+        var bytes = new ByteArrayOutputStream();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            var stop = false;
+            bytes.reset();
+            List<CompletableFuture<Void>> written = new ArrayList<>(batch.size());
+            List<OnePlayerGameResult> results = new ArrayList<>(batch.size());
+            for (var append : batch) {
+                if (append.result() == null) {
+                    stop = true;
+                    continue;
+                }
+                if (append.moves() != null && append.result().getCreated() != null) {
+                    saveMoveLog(append.result(), append.moves());
+                }
+                try {
+                    bytes.write(MAPPER.writeValueAsBytes(append.result()));
+                    bytes.write('\n');
+                    written.add(append.written());
+                    results.add(append.result());
+                } catch (IOException e) {
+                    append.written().completeExceptionally(e);
+                }
+            }
+            batch.clear();
+            try {
+                commit(bytes.toByteArray());
+                var changed = false;
+                for (var result : results) {
+                    changed |= index.offer(result);
+                    rollup.add(result);
+                }
+                written.forEach(future -> future.complete(null));
+                if (changed) {
+                    saveIndex();
+                }
+                if (!results.isEmpty() && System.nanoTime() - lastRollupSave >= ROLLUP_SAVE_INTERVAL.toNanos()) {
+                    saveRollup();
+                }
+                if (channel.position() >= segmentSize) {
+                    rotate();
+                }
+            } catch (IOException e) {
+                Logger.error("Failed to write game results: {}", e.getMessage());
+                written.forEach(future -> future.completeExceptionally(e));
+            }
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of lines and forces them according to the sync policy.
+     * @param lines the lines to write.
+     * @throws IOException if the lines cannot be written.
+     */
+    private void commit(byte[] lines) throws IOException {
+        if (lines.length == 0) {
+            return;
+        }
+        var now = System.nanoTime();
+        var force = syncPolicy == SyncPolicy.EVERY_COMMIT
+                || (syncPolicy == SyncPolicy.PERIODIC && now - lastSync >= syncIntervalNanos);
+        append(channel, lines, force);
+        if (force) {
+            lastSync = now;
+        }
+    }
+
+    /**
+     * Appends lines at the position of a channel, all or nothing. If writing or forcing them fails, the channel
+     * is truncated back to where it was, so the next lines do not start after a partial line and get lost with it.
+     * @param channel the channel of the active segment.
+     * @param lines the lines to write.
+     * @param force whether the lines are forced to the storage device.
+     * @throws IOException if the lines cannot be written.
+     */
+    static void append(FileChannel channel, byte[] lines, boolean force) throws IOException {
+        var position = channel.position();
+        try {
+            var buffer = ByteBuffer.wrap(lines);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (force) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            try {
+                channel.truncate(position);
+                channel.position(position);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Seals the active segment and starts a new one, then lets the compactor merge the sealed segments.
+     * @throws IOException if the new segment cannot be created.
+     */
+    private void rotate() throws IOException {
+        channel.force(false);
+        segmentsLock.writeLock().lock();
+        try {
+            var number = segments.getLast().last() + 1;
+            var next = Segment.of(directory, number, number);
+            var nextChannel = FileChannel.open(next.path(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            sealedSize += channel.size();
+            channel.close();
+            channel = nextChannel;
+            segments.add(next);
+            Logger.debug("Started result segment {}", next.path());
+        } finally {
+            segmentsLock.writeLock().unlock();
+        }
+        if (autoCompact) {
+            try {
+                compactor.execute(this::compactQuietly);
+            } catch (RejectedExecutionException e) {
+                Logger.debug("The result store is closing, the sealed segments are compacted when it is opened again");
+            }
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException e) {
+            Logger.error("Failed to compact the game results: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Merges the first run of at least {@value #MIN_SEGMENTS_TO_MERGE} consecutive sealed segments
+     * whose total size is at most {@value #MAX_MERGED_SEGMENTS} segment sizes, dropping the invalid records.
+     * Sealed segments are never written, so they are merged without holding the lock,
+     * which is only taken to swap the merged segment in. Dropping records changes the size of the segments, so the
+     * saved leaderboard index and player statistics no longer match them until the writer saves them again.
+     * @return true if segments were merged, false if there was no run to merge.
+     * @throws IOException if the segments cannot be merged.
+     */
+    boolean compact() throws IOException {
+        List<Segment> sealed;
+        segmentsLock.readLock().lock();
+        try {
+            sealed = List.copyOf(segments.subList(0, segments.size() - 1));
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+        var run = findRun(sealed);
+        if (run.isEmpty()) {
+            return false;
+        }
+        var merged = Segment.of(directory, run.getFirst().first(), run.getLast().last());
+        var temporary = merged.path().resolveSibling(merged.path().getFileName() + TEMPORARY_EXTENSION);
+        long inputSize = 0;
+        var dropped = 0;
+        try (var out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            var stream = new BufferedOutputStream(Channels.newOutputStream(out), 1 << 16);
+            for (var segment : run) {
+                inputSize += Files.size(segment.path());
+                try (var reader = Files.newBufferedReader(segment.path(), StandardCharsets.UTF_8)) {
+                    for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                        try {
+                            ResultParser.parse(line);
+                        } catch (JsonProcessingException e) {
+                            dropped++;
+                            continue;
+                        }
+                        stream.write(line.getBytes(StandardCharsets.UTF_8));
+                        stream.write('\n');
+                    }
+                }
+            }
+            stream.flush();
+            out.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        segmentsLock.writeLock().lock();
+        try {
+            Files.move(temporary, merged.path(), StandardCopyOption.ATOMIC_MOVE);
+            for (var segment : run) {
+                Files.delete(segment.path());
+            }
+            var at = segments.indexOf(run.getFirst());
+            segments.subList(at, at + run.size()).clear();
+            segments.add(at, merged);
+            sealedSize += Files.size(merged.path()) - inputSize;
+        } finally {
+            segmentsLock.writeLock().unlock();
+        }
+        Logger.info("Merged {} result segments into {}, dropped {} invalid records", run.size(), merged.path(), dropped);
+        return true;
+    }
+
+    /**
+     * Finds the first run of at least {@value #MIN_SEGMENTS_TO_MERGE} consecutive segments
+     * whose total size is at most {@value #MAX_MERGED_SEGMENTS} segment sizes.
+     * @param sealed the sealed segments in order.
+     * @return the segments to merge, or an empty list if there are none.
+     * @throws IOException if the size of a segment cannot be read.
+     */
+    private List<Segment> findRun(List<Segment> sealed) throws IOException {
+        var maxSize = segmentSize * MAX_MERGED_SEGMENTS;
+        List<Segment> run = new ArrayList<>();
+        List<Long> sizes = new ArrayList<>();
+        long runSize = 0;
+        for (var segment : sealed) {
+            var size = Files.size(segment.path());
+            if (runSize + size > maxSize && run.size() >= MIN_SEGMENTS_TO_MERGE) {
+                return run;
+            }
+            while (!run.isEmpty() && runSize + size > maxSize) {
+                run.removeFirst();
+                runSize -= sizes.removeFirst();
+            }
+            if (size <= maxSize) {
+                run.add(segment);
+                sizes.add(size);
+                runSize += size;
+            }
+        }
+        return run.size() >= MIN_SEGMENTS_TO_MERGE ? run : List.of();
+    }
+
+    /**
+     * Saves the leaderboard index. A failure is only logged, since the index can be rebuilt from the segments.
+     */
+    private void saveIndex() {
+        segmentsLock.readLock().lock();
+        try {
+            index.save(indexPath, sealedSize + channel.size());
+        } catch (IOException e) {
+            Logger.warn("Failed to save the leaderboard index: {}", e.getMessage());
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saves the player statistics. A failure is only logged, since they can be rebuilt from the segments.
+     */
+    private void saveRollup() {
+        segmentsLock.readLock().lock();
+        try {
+            rollup.save(rollupPath, sealedSize + channel.size());
+            lastRollupSave = System.nanoTime();
+        } catch (IOException e) {
+            Logger.warn("Failed to save the player statistics: {}", e.getMessage());
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the player statistics from every result of the store, reading the segments in parallel, and saves them.
+     * @param size the total size of the segments.
+     * @return the rollup.
+     * @throws IOException if a segment cannot be read or the rollup cannot be saved.
+     */
+    private PlayerStatisticsRollup rebuildRollup(long size) throws IOException {
+        var rebuilt = PlayerStatisticsRollup.aggregate(this);
+        rebuilt.save(rollupPath, size);
+        Logger.info("Rebuilt the statistics of {} players of {}", rebuilt.size(), directory);
+        return rebuilt;
+    }
+
+    /**
+     * Builds the leaderboard index from every result of the store in a single sequential scan, and saves it.
+     * @param size the total size of the segments.
+     * @return the index.
+     * @throws IOException if a segment cannot be read or the index cannot be saved.
+     */
+    private LeaderboardIndex rebuildIndex(long size) throws IOException {
+        var rebuilt = new LeaderboardIndex(LEADERBOARD_SIZE);
+        scan(rebuilt::offer);
+        rebuilt.save(indexPath, size);
+        Logger.info("Rebuilt the leaderboard index of {}", directory);
+        return rebuilt;
+    }
+
+    /**
+     * Finds the segments of the store and repairs what a crash may have left behind: deletes temporary files
+     * and the segments covered by a merged segment, and cuts off an incomplete last line of the active segment.
+     * @throws IOException if the segments cannot be listed or repaired.
+     */
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Segment> found = new ArrayList<>();
+        try (var files = Files.newDirectoryStream(directory)) {
+            for (var file : files) {
+                if (file.getFileName().toString().endsWith(TEMPORARY_EXTENSION)) {
+                    Logger.warn("Deleting unfinished file {}", file);
+                    Files.delete(file);
+                } else {
+                    Segment.parse(file).ifPresent(found::add);
+                }
+            }
+        }
+        if (Files.isDirectory(directory.resolve(MOVES_DIRECTORY))) {
+            try (var files = Files.newDirectoryStream(directory.resolve(MOVES_DIRECTORY), "*" + TEMPORARY_EXTENSION)) {
+                for (var file : files) {
+                    Logger.warn("Deleting unfinished file {}", file);
+                    Files.delete(file);
+                }
+            }
+        }
+        found.sort(Comparator.comparingLong(Segment::first).thenComparing(Segment::last, Comparator.reverseOrder()));
+        for (var segment : found) {
+            if (!segments.isEmpty() && segments.getLast().covers(segment)) {
+                Logger.warn("Deleting result segment {}, it was merged into {}", segment.path(), segments.getLast().path());
+                Files.delete(segment.path());
+            } else {
+                segments.add(segment);
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.of(directory, 1, 1));
+        }
+        for (var segment : segments.subList(0, segments.size() - 1)) {
+            sealedSize += Files.size(segment.path());
+        }
+        var active = segments.getLast();
+        channel = FileChannel.open(active.path(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        truncateIncompleteLine(active.path());
+        channel.position(channel.size());
+    }
+
+    /**
+     * Cuts off the last line of the active segment if it is incomplete, which happens if a write was interrupted.
+     * @param path the file of the active segment.
+     * @throws IOException if the file cannot be read or truncated.
+     */
+    private void truncateIncompleteLine(Path path) throws IOException {
+        var size = channel.size();
+        var buffer = ByteBuffer.allocate(4096);
+        var end = size;
+        while (end > 0) {
+            var start = Math.max(0, end - buffer.capacity());
+            buffer.clear().limit((int) (end - start));
+            while (buffer.hasRemaining()) {
+                channel.read(buffer, start + buffer.position());
+            }
+            for (var i = (int) (end - start) - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    var length = start + i + 1;
+                    if (length < size) {
+                        Logger.warn("Cutting off an incomplete game result at the end of {}", path);
+                        channel.truncate(length);
+                    }
+                    return;
+                }
+            }
+            end = start;
+        }
+        if (size > 0) {
+            Logger.warn("Cutting off an incomplete game result at the end of {}", path);
+            channel.truncate(0);
+        }
+    }
+}
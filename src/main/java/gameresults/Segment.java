@@ -0,0 +1,52 @@
+package gameresults;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Reprezents a segment file of a {@link ResultStore}.
+ * Every segment is numbered when it is created, and a segment made by merging segments is named after the range of
+ * the numbers it covers, so {@code results-0000000001-0000000004.jsonl} holds the results of the first four segments.
+ * @param first the number of the first segment covered.
+ * @param last the number of the last segment covered.
+ * @param path the file of the segment.
+ */
+record Segment(long first, long last, Path path) {
+
+    private static final Pattern NAME = Pattern.compile("results-(\\d{10})-(\\d{10})\\.jsonl");
+
+    /**
+     * Creates a new segment in a directory.
+     * @param directory the directory of the store.
+     * @param first the number of the first segment covered.
+     * @param last the number of the last segment covered.
+     * @return the segment.
+     */
+    static Segment of(Path directory, long first, long last) {
+        return new Segment(first, last, directory.resolve(String.format("results-%010d-%010d.jsonl", first, last)));
+    }
+
+    /**
+     * Recognizes a segment file by its name.
+     * @param path the file.
+     * @return the segment, or an empty optional if the file is not a segment.
+     */
+    static Optional<Segment> parse(Path path) {
+        var matcher = NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        var first = Long.parseLong(matcher.group(1));
+        var last = Long.parseLong(matcher.group(2));
+        return first <= last ? Optional.of(new Segment(first, last, path)) : Optional.empty();
+    }
+
+    /**
+     * @param other another segment.
+     * @return true if this segment covers every number of the other segment, false otherwise.
+     */
+    boolean covers(Segment other) {
+        return first <= other.first && other.last <= last;
+    }
+}
@@ -1,15 +1,14 @@
 package login;
 
+import gameresults.GameResultController;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import org.tinylog.Logger;
 import puzzle.game.PuzzleController;
+import puzzle.game.SceneRegistry;
 import puzzle.model.PuzzleModel;
 
 import java.io.IOException;
@@ -32,22 +31,18 @@ public class LoginController {
     }
 
     /**
-     * Handles the switch to the game scene.
+     * Handles the switch to the game scene, which starts a new game with the preloaded game controller.
      * @param event the action event.
      * @throws IOException if loading the game scene fails.
      */
     @FXML
     private void switchScene(ActionEvent event) throws IOException{
         Logger.info("Play button clicked and player name added: {}", nameField.getText());
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/game.fxml"));
-        Parent root = loader.load();
-        PuzzleController controller = loader.getController();
+        PuzzleController controller = SceneRegistry.getController(SceneRegistry.Screen.GAME);
         controller.setName(nameField.getText());
+        controller.reset();
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
-        stage.setResizable(false);
-        stage.setTitle("Puzzle game");
-        stage.show();
+        SceneRegistry.show(stage, SceneRegistry.Screen.GAME);
     }
 
     /**
@@ -58,12 +53,9 @@ public class LoginController {
     @FXML
     private void switchToGameResults(ActionEvent event) throws IOException{
         Logger.info("Game results button clicked");
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/gameresult.fxml"));
-        Parent root = loader.load();
+        GameResultController controller = SceneRegistry.getController(SceneRegistry.Screen.GAME_RESULTS);
+        controller.refresh();
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
-        stage.setResizable(false);
-        stage.setTitle("Game results");
-        stage.show();
+        SceneRegistry.show(stage, SceneRegistry.Screen.GAME_RESULTS);
     }
 }
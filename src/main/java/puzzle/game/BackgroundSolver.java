@@ -0,0 +1,79 @@
+package puzzle.game;
+
+import org.tinylog.Logger;
+import puzzle.model.Board;
+import puzzle.solver.PackedBreadthFirstSearch;
+import puzzle.solver.Solution;
+import puzzle.solver.SolutionCache;
+import puzzle.solver.Solver;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Solves the level on a virtual thread while the user interface starts up.
+ * The solution is delivered through a {@link CompletableFuture}, which completes once the level is solved
+ * and its distance table is computed, so the game screen can give hints without searching on the JavaFX thread.
+ */
+final class BackgroundSolver {
+
+    /**
+     * The directory of the solution cache, see {@link SolutionCache}.
+     */
+    static final Path CACHE_DIRECTORY = Path.of("solution-cache");
+
+    private static CompletableFuture<Optional<Solution>> solution;
+
+    private static Thread thread;
+
+    private BackgroundSolver() {
+    }
+
+    /**
+     * Starts solving a level in the background.
+     * @param board the board of the level.
+     * @param cache the cache the solution is looked up in and stored to.
+     * @param solver the solver used if the solution is not cached.
+     * @return the future solution, empty if the finish cannot be reached.
+     */
+    static synchronized CompletableFuture<Optional<Solution>> start(Board board, SolutionCache cache, Solver solver) {
+        var future = new CompletableFuture<Optional<Solution>>();
+        solution = future;
+        thread = Thread.ofVirtual().name("background-solver").start(() -> {
+            try {
+                var startTime = System.nanoTime();
+                var result = cache.solve(board, solver);
+                board.getDistanceTable();
+                Logger.info("Solved the level in the background in {} ms", (System.nanoTime() - startTime) / 1_000_000);
+                future.complete(result);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns the future solution of the selected level, starting the search if it has not been started yet.
+     * @return the future solution, empty if the finish cannot be reached.
+     */
+    static synchronized CompletableFuture<Optional<Solution>> solution() {
+        if (solution == null) {
+            start(Levels.current(), new SolutionCache(CACHE_DIRECTORY), new PackedBreadthFirstSearch());
+        }
+        return solution;
+    }
+
+    /**
+     * Cancels the search if it is still running, for example because the application exits first.
+     * The future is completed with a {@link java.util.concurrent.CancellationException}
+     * and the thread of the search is interrupted.
+     */
+    static synchronized void cancel() {
+        if (solution != null && solution.cancel(true)) {
+            Logger.info("Cancelled the background solver");
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package puzzle.game;
+
+import javafx.scene.Node;
+import puzzle.model.Position;
+import puzzle.model.PuzzleModel;
+
+import java.util.function.Consumer;
+
+/**
+ * Draws the board of a {@link PuzzleModel} and reports the clicked squares.
+ * The view follows the model by itself, the controller only tells it which square to highlight as a hint.
+ */
+interface BoardView {
+
+    /**
+     * The name of the system property which selects the renderer, {@code canvas} or {@code nodes}.
+     * The board is drawn on a {@link CanvasBoardView} unless {@code nodes} is given.
+     */
+    String RENDERER_PROPERTY = "puzzle.renderer";
+
+    /**
+     * Creates the view selected by the {@code puzzle.renderer} system property.
+     * @param model the model whose board is drawn.
+     * @param size the width and height of the view in pixels.
+     * @param onClick called with the position of a square when it is clicked.
+     * @return the view.
+     */
+    static BoardView create(PuzzleModel model, double size, Consumer<Position> onClick) {
+        return "nodes".equals(System.getProperty(RENDERER_PROPERTY))
+                ? new SceneGraphBoardView(model, size, onClick)
+                : new CanvasBoardView(model, size, onClick);
+    }
+
+    /**
+     * @return the node which the board is drawn on.
+     */
+    Node getNode();
+
+    /**
+     * Highlights a square as a hint, removing the highlight of the previous one.
+     * @param position the position of the square, or null to remove the highlight.
+     */
+    void setHint(Position position);
+}
@@ -0,0 +1,227 @@
+package puzzle.game;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import puzzle.model.Position;
+import puzzle.model.PuzzleModel;
+
+import java.util.function.Consumer;
+
+/**
+ * Draws the board on a single {@link Canvas} of a fixed size, so the number of nodes does not depend on the size
+ * of the board. Only the cells shown by the {@link Viewport} are drawn, and their squares are read straight
+ * from the model, so neither the time of a frame nor the memory of the view depends on the size of the board.
+ *
+ * <p>The view listens to the position of the piece and repaints just the cells the piece left and entered,
+ * and the cells of the old and the new hint. Dragging the board pans the view, scrolling zooms it around the mouse,
+ * and the view follows the piece when it gets close to the sides. These change every shown cell, so the view is
+ * painted again at most once per frame, however many events arrive.
+ * Clicks are mapped to squares by the arithmetic of the viewport.
+ */
+final class CanvasBoardView implements BoardView {
+
+    private static final Color GRID_COLOR = Color.DARKGRAY;
+
+    private static final Color HINT_COLOR = Color.LIGHTGREEN;
+
+    /**
+     * The grid lines are only drawn if a square is at least this many pixels.
+     */
+    private static final double MIN_GRID_SQUARE_SIZE = 8;
+
+    /**
+     * The number of whole cells kept between the piece and the sides of the view.
+     */
+    private static final int FOLLOW_MARGIN = 2;
+
+    /**
+     * The factor the size of the squares is multiplied by for each pixel scrolled.
+     */
+    private static final double ZOOM_PER_PIXEL = 1.005;
+
+    private final PuzzleModel model;
+
+    private final Canvas canvas;
+
+    private final Viewport viewport;
+
+    private Position hint;
+
+    private double dragX;
+
+    private double dragY;
+
+    /**
+     * Paints the whole view on the next frame, and stops until the view changes again.
+     */
+    private final AnimationTimer repaint = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop();
+            paintAll();
+        }
+    };
+
+    /**
+     * Creates the view around the piece and paints it.
+     * @param model the model whose board is drawn.
+     * @param size the width and height of the view in pixels.
+     * @param onClick called with the position of a square when it is clicked.
+     */
+    CanvasBoardView(PuzzleModel model, double size, Consumer<Position> onClick) {
+        this.model = model;
+        viewport = new Viewport(model.getState().getBoard().getRows(), model.getState().getBoard().getCols(),
+                size, size);
+        canvas = new Canvas(size, size);
+        viewport.follow(model.pieceProperty().get(), FOLLOW_MARGIN);
+        paintAll();
+        model.pieceProperty().addListener((observable, oldPosition, newPosition) -> {
+            paint(oldPosition);
+            paint(newPosition);
+            if (viewport.follow(newPosition, FOLLOW_MARGIN)) {
+                repaint.start();
+            }
+        });
+        canvas.setOnMousePressed(event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        canvas.setOnMouseDragged(event -> {
+            if (viewport.pan(event.getX() - dragX, event.getY() - dragY)) {
+                repaint.start();
+            }
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        canvas.setOnScroll(event -> {
+            if (viewport.zoom(Math.pow(ZOOM_PER_PIXEL, event.getDeltaY()), event.getX(), event.getY())) {
+                repaint.start();
+            }
+        });
+        canvas.setOnMouseClicked(event -> {
+            if (event.isStillSincePress()) {
+                var position = viewport.cellAt(event.getX(), event.getY());
+                if (position != null) {
+                    onClick.accept(position);
+                }
+            }
+        });
+    }
+
+    @Override
+    public Node getNode() {
+        return canvas;
+    }
+
+    @Override
+    public void setHint(Position position) {
+        var previous = hint;
+        hint = position;
+        if (previous != null) {
+            paint(previous);
+        }
+        if (position != null) {
+            paint(position);
+            if (viewport.follow(position, 0)) {
+                repaint.start();
+            }
+        }
+    }
+
+    /**
+     * Paints every shown cell and the grid lines between them.
+     */
+    private void paintAll() {
+        var g = canvas.getGraphicsContext2D();
+        g.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        var firstRow = viewport.firstRow();
+        var lastRow = viewport.lastRow();
+        var firstCol = viewport.firstCol();
+        var lastCol = viewport.lastCol();
+        for (var row = firstRow; row <= lastRow; row++) {
+            for (var col = firstCol; col <= lastCol; col++) {
+                paintSquare(g, row, col);
+            }
+        }
+        if (viewport.getSquareSize() >= MIN_GRID_SQUARE_SIZE) {
+            g.setStroke(GRID_COLOR);
+            g.setLineWidth(1);
+            var top = viewport.y(firstRow);
+            var bottom = viewport.y(lastRow + 1);
+            var left = viewport.x(firstCol);
+            var right = viewport.x(lastCol + 1);
+            for (var row = firstRow; row <= lastRow + 1; row++) {
+                g.strokeLine(left, viewport.y(row), right, viewport.y(row));
+            }
+            for (var col = firstCol; col <= lastCol + 1; col++) {
+                g.strokeLine(viewport.x(col), top, viewport.x(col), bottom);
+            }
+        }
+    }
+
+    /**
+     * Paints a single cell again, if it is shown.
+     * @param position the position of the cell.
+     */
+    private void paint(Position position) {
+        var row = position.row();
+        var col = position.col();
+        if (!viewport.isVisible(row, col)) {
+            return;
+        }
+        var g = canvas.getGraphicsContext2D();
+        var size = viewport.getSquareSize();
+        g.clearRect(viewport.x(col), viewport.y(row), size, size);
+        paintSquare(g, row, col);
+        if (size >= MIN_GRID_SQUARE_SIZE) {
+            g.setStroke(GRID_COLOR);
+            g.setLineWidth(1);
+            g.strokeRect(viewport.x(col), viewport.y(row), size, size);
+        }
+    }
+
+    /**
+     * Paints the hint and the square of a cell on a cleared background.
+     * @param g the graphics context of the canvas.
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     */
+    private void paintSquare(GraphicsContext g, int row, int col) {
+        var x = viewport.x(col);
+        var y = viewport.y(row);
+        var size = viewport.getSquareSize();
+        if (hint != null && hint.row() == row && hint.col() == col) {
+            g.setFill(HINT_COLOR);
+            g.fillRect(x, y, size, size);
+        }
+        switch (model.getSquare(row, col)) {
+            case NONE -> {
+            }
+            case COIN -> fillCircle(g, x, y, 0.16, Color.ORANGE);
+            case WALL -> {
+                g.setFill(Color.BLACK);
+                g.fillRect(x, y, size, size);
+            }
+            case FINISH -> fillCircle(g, x, y, 0.32, Color.BLUE);
+            case PIECE -> fillCircle(g, x, y, 0.32, Color.GRAY);
+        }
+    }
+
+    /**
+     * Fills a circle in the middle of a cell.
+     * @param g the graphics context of the canvas.
+     * @param x the left side of the cell.
+     * @param y the top of the cell.
+     * @param radius the radius of the circle relative to the size of a square.
+     * @param color the color of the circle.
+     */
+    private void fillCircle(GraphicsContext g, double x, double y, double radius, Color color) {
+        var size = viewport.getSquareSize();
+        var r = size * radius;
+        g.setFill(color);
+        g.fillOval(x + size / 2 - r, y + size / 2 - r, 2 * r, 2 * r);
+    }
+}
@@ -0,0 +1,150 @@
+package puzzle.game;
+
+import gameresult.OnePlayerGameResult;
+import puzzle.model.Direction;
+import puzzle.model.MoveLog;
+import puzzle.model.Position;
+import puzzle.model.PuzzleModel;
+import puzzle.solver.SolutionCache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Records the game played on a model in a {@link MoveLog}.
+ * The moves of the player are made through the recorder, which logs every move before it is made on the model,
+ * since the model tells its listeners that the game is over while the winning move is being made.
+ * When the game is over, {@link #finish(String)} creates its result and finishes its log, which then
+ * includes every move.
+ */
+final class GameRecorder {
+
+    /**
+     * Reprezents a finished game.
+     * @param result the result of the game.
+     * @param moves the log of the moves of the game.
+     */
+    record Game(OnePlayerGameResult result, MoveLog moves) {
+    }
+
+    private final PuzzleModel model;
+
+    private final String levelKey;
+
+    private MoveLog moveLog;
+
+    private LocalDateTime startTime = LocalDateTime.now();
+
+    /**
+     * Creates a recorder which does not record until it is started.
+     * @param model the model the game is played on.
+     */
+    GameRecorder(PuzzleModel model) {
+        this.model = model;
+        levelKey = SolutionCache.key(model.getState().getBoard());
+    }
+
+    /**
+     * @return the key of the level, which every move log is recorded with.
+     */
+    String getLevelKey() {
+        return levelKey;
+    }
+
+    /**
+     * Starts recording a new game, once the model has been reset.
+     */
+    void start() {
+        moveLog = new MoveLog(levelKey, Instant.now());
+        startTime = LocalDateTime.now();
+    }
+
+    /**
+     * Stops recording without finishing the game, so that the moves made on the model,
+     * such as the moves of a replayed game, are not logged.
+     */
+    void stop() {
+        moveLog = null;
+    }
+
+    /**
+     * Logs a move, then makes it.
+     * @param position the position the piece moves to, which must be a legal move.
+     */
+    void move(Position position) {
+        log(position);
+        model.makeMove(position);
+    }
+
+    /**
+     * Takes back the last move on the model and in the log.
+     * @return true if a move was taken back, false if there is no move to undo.
+     */
+    boolean undo() {
+        if (!model.undo()) {
+            return false;
+        }
+        if (moveLog != null) {
+            moveLog.removeLast();
+        }
+        return true;
+    }
+
+    /**
+     * Logs the last move taken back, then makes it again.
+     * @return true if a move was made, false if there is no move to redo.
+     */
+    boolean redo() {
+        var position = model.getRedoMove();
+        if (position.isEmpty()) {
+            return false;
+        }
+        log(position.get());
+        model.redo();
+        return true;
+    }
+
+    private void log(Position position) {
+        if (moveLog != null) {
+            moveLog.add(Direction.of(model.pieceProperty().get(), position));
+        }
+    }
+
+    /**
+     * Finishes the recorded game, which is over, and stops recording.
+     * @param playerName the name of the player.
+     * @return the result and the move log of the game, or an empty optional if no game is recorded.
+     */
+    Optional<Game> finish(String playerName) {
+        if (moveLog == null) {
+            return Optional.empty();
+        }
+        moveLog.finish(Instant.now());
+        var game = new Game(createGameResult(playerName), moveLog);
+        moveLog = null;
+        return Optional.of(game);
+    }
+
+    /**
+     * Creates a game result object that contains the details of the player's performance.
+     * This method gathers the player's name, whether the puzzle of solved, the number of moves,
+     * the duration of the game and the time when the object is created.
+     * The model updates the number of moves before it tells that the game is over, so it already counts
+     * the winning move.
+     * @param playerName the name of the player.
+     * @return a {@link OnePlayerGameResult} object containing the game result details.
+     */
+    private OnePlayerGameResult createGameResult(String playerName) {
+        return OnePlayerGameResult.builder()
+                .playerName(playerName)
+                .solved(true)
+                .numberOfMoves(model.numberOfMovesProperty().get())
+                .duration(Duration.ofSeconds(ChronoUnit.SECONDS.between(startTime, LocalDateTime.now())))
+                .created(ZonedDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package puzzle.game;
+
+import puzzle.model.Board;
+import puzzle.model.BinaryLevelFormat;
+import puzzle.model.LevelFormat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Selects the level which is played.
+ * A level file in the format of {@link LevelFormat} or {@link BinaryLevelFormat} can be given with the
+ * {@code puzzle.level} system property, otherwise the original board is played.
+ */
+final class Levels {
+
+    /**
+     * The name of the system property which holds the path of the level file.
+     */
+    static final String LEVEL_PROPERTY = "puzzle.level";
+
+    private static Board current;
+
+    private Levels() {
+    }
+
+    /**
+     * Returns the board of the selected level, reading the level file on the first call.
+     * @return the board of the selected level.
+     * @throws UncheckedIOException if the level file cannot be read.
+     */
+    static synchronized Board current() {
+        if (current == null) {
+            var path = System.getProperty(LEVEL_PROPERTY);
+            try {
+                current = path == null ? Board.DEFAULT : Board.load(Path.of(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return current;
+    }
+}
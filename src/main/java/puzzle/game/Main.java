@@ -1,14 +1,15 @@
 package puzzle.game;
 
 import javafx.application.Application;
-import puzzle.model.Position;
-import puzzle.model.PuzzleModel;
-import puzzle.solver.BreadthFirstSearch;
+import puzzle.solver.PackedBreadthFirstSearch;
+import puzzle.solver.SolutionCache;
 
 public class Main{
     public static void main(String[] args){
-        BreadthFirstSearch<Position> bfs = new BreadthFirstSearch<>();
-        bfs.solveAndPrintSolution(new PuzzleModel());
+        BackgroundSolver.start(Levels.current(), new SolutionCache(BackgroundSolver.CACHE_DIRECTORY),
+                        new PackedBreadthFirstSearch())
+                .thenAccept(solution -> solution.ifPresentOrElse(System.out::print,
+                        () -> System.out.println("No solution found")));
         Application.launch(PuzzleApplication.class, args);
     }
 }
@@ -1,22 +1,38 @@
 package puzzle.game;
 
+import gameresults.ResultStore;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
 import javafx.stage.Stage;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
+import org.tinylog.Logger;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 
 public class PuzzleApplication extends Application {
 
     @Override
     public void start(Stage stage) throws IOException {
-        Parent root = FXMLLoader.load(getClass().getResource("/login.fxml"));
-        stage.setTitle("Login");
-        Scene scene = new Scene(root);
-        stage.setScene(scene);
-        stage.setResizable(false);
-        stage.show();
+        SceneRegistry.preload();
+        SceneRegistry.show(stage, SceneRegistry.Screen.LOGIN);
+        logStartupTime();
+    }
+
+    /**
+     * Cancels the background solver if the application exits before it finishes,
+     * and waits for the pending game results to be written.
+     */
+    @Override
+    public void stop() {
+        BackgroundSolver.cancel();
+        ResultStore.closeDefault();
+    }
+
+    /**
+     * Logs the time from the start of the process until the first window is shown.
+     */
+    private static void logStartupTime() {
+        ProcessHandle.current().info().startInstant().ifPresent(processStart ->
+                Logger.info("Startup took {} ms", Duration.between(processStart, Instant.now()).toMillis()));
     }
 }
@@ -1,53 +1,41 @@
 package puzzle.game;
 
-import gameresult.OnePlayerGameResult;
-import gameresult.manager.GameResultManager;
-import gameresult.manager.OnePlayerGameResultManager;
-import gameresult.manager.json.JsonOnePlayerGameResultManager;
+import gameresults.GameResultController;
+import gameresults.ResultStore;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
-import javafx.beans.binding.ObjectBinding;
 import javafx.beans.property.*;
 import javafx.beans.value.ObservableValue;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.GridPane;
-import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.paint.Paint;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Rectangle;
+import javafx.scene.layout.Pane;
 import javafx.scene.shape.TriangleMesh;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import login.LoginController;
 import lombok.SneakyThrows;
+import puzzle.model.MoveLog;
 import puzzle.model.Position;
 import puzzle.model.PuzzleModel;
-import puzzle.model.Square;
+import puzzle.model.PuzzleState;
 import puzzle.util.TwoPhaseMoveSelector;
 
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.sql.SQLData;
-import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Stack;
 
 
 import static puzzle.util.TwoPhaseMoveSelector.Phase.READY_TO_MOVE;
@@ -61,8 +49,18 @@ import util.javafx.ImageStorage;
  */
 public class PuzzleController {
 
+    /**
+     * The width and height of the game board in pixels.
+     */
+    private static final double BOARD_PIXELS = 500;
+
+    /**
+     * The time between two moves when a game is replayed.
+     */
+    private static final Duration REPLAY_STEP = Duration.millis(300);
+
     @FXML
-    private GridPane board;
+    private Pane board;
 
     @FXML
     private TextField movesNumberField;
@@ -70,6 +68,29 @@ public class PuzzleController {
     @FXML
     private Text text;
 
+    @FXML
+    private Button hintButton;
+
+    @FXML
+    private Text deadEndText;
+
+    @FXML
+    private Button undoButton;
+
+    @FXML
+    private Button redoButton;
+
+    @FXML
+    private Button fastForwardButton;
+
+    @FXML
+    private Button backToResultsButton;
+
+    /**
+     * The view which draws the game board, see {@link BoardView#RENDERER_PROPERTY}.
+     */
+    private BoardView boardView;
+
     private final StringProperty name = new SimpleStringProperty();
 
     /**
@@ -88,73 +109,211 @@ public class PuzzleController {
         this.name.set(name);
     }
 
-    private PuzzleModel model = new PuzzleModel();
+    private PuzzleModel model = new PuzzleModel(new PuzzleState(Levels.current()));
 
     private final IntegerProperty numberOfMoves = new SimpleIntegerProperty(0);
 
-    private final LocalDateTime startTime = LocalDateTime.now();
+    /**
+     * Stores whether the background solver has finished, so that hints can be given without searching.
+     */
+    private final BooleanProperty solverReady = new SimpleBooleanProperty();
+
+    /**
+     * Records the moves of the game being played.
+     */
+    private final GameRecorder recorder = new GameRecorder(model);
+
+    /**
+     * The moves of the game being replayed, or null if a game is being played.
+     */
+    private MoveLog replayed;
+
+    /**
+     * Makes the next move of the replayed game, until every move is made.
+     */
+    private Timeline replayTimeline;
+
+    private final BooleanProperty replayMode = new SimpleBooleanProperty();
 
     /**
      * Initializes the controller and the game board.
      */
     @FXML
     private void initialize() throws IOException {
-        for(var i = 0; i < board.getRowCount(); i++){
-            for(var j = 0; j < board.getColumnCount(); j++){
-                var square = createSquare(i, j);
-                board.add(square, j, i);
-            }
-        }
+        boardView = BoardView.create(model, BOARD_PIXELS, this::handleClick);
+        board.getChildren().setAll(boardView.getNode());
         //selector.phasesProperty().addListener(this::showSelectionPhaseChange);
         model.gameOverProperty().addListener(this::handleGameOver);
         movesNumberField.textProperty().bind(model.numberOfMovesProperty().asString());
         text.textProperty().bind(Bindings.concat(name));
+        deadEndText.visibleProperty().bind(model.deadEndProperty());
+        BackgroundSolver.solution().whenComplete((solution, e) -> Platform.runLater(() -> {
+            model.updateDeadEnd();
+            solverReady.set(e == null);
+        }));
+        hintButton.disableProperty().bind(solverReady.not().or(model.deadEndProperty()).or(model.gameOverProperty())
+                .or(replayMode));
+        undoButton.visibleProperty().bind(replayMode.not());
+        undoButton.disableProperty().bind(model.canUndoProperty().not().or(model.gameOverProperty()));
+        redoButton.visibleProperty().bind(replayMode.not());
+        redoButton.disableProperty().bind(model.canRedoProperty().not().or(model.gameOverProperty()));
+        fastForwardButton.visibleProperty().bind(replayMode);
+        fastForwardButton.disableProperty().bind(model.gameOverProperty());
+        backToResultsButton.visibleProperty().bind(replayMode);
+        model.numberOfMovesProperty().addListener((observable, oldValue, newValue) -> clearHint());
+        model.deadEndProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue) {
+                Logger.info("The finish cannot be reached anymore");
+            }
+        });
     }
 
     /**
-     * Binds the {@code numberOfMoves} to the {@code movesNumberField}.
+     * Starts a new game on the same board, reusing the squares and the bindings of the previous game.
+     * The controller is loaded in advance by the {@link SceneRegistry}, so it is also reset before the first game
+     * to start the clock when the game is shown.
      */
-    private void bindNumberOfMoves(){
-        movesNumberField.textProperty().bind(numberOfMoves.asString());
+    public void reset(){
+        stopReplay();
+        clearHint();
+        model.reset();
+        recorder.start();
+        Logger.info("New game started");
+    }
+
+    /**
+     * Replays a recorded game, making a move every {@code REPLAY_STEP}. The board can not be clicked
+     * while a game is replayed, and the end of the replay is not saved as a result.
+     * @param log the moves of the game.
+     * @param playerName the name of the player who played the game.
+     * @return false if the game was played on another level and cannot be replayed, true otherwise.
+     */
+    public boolean replay(MoveLog log, String playerName){
+        if (!log.getLevelKey().equals(recorder.getLevelKey())) {
+            Logger.warn("The game of {} was played on another level", playerName);
+            return false;
+        }
+        reset();
+        recorder.stop();
+        setName(playerName);
+        replayed = log;
+        replayMode.set(true);
+        replayTimeline = new Timeline(new KeyFrame(REPLAY_STEP, event -> {
+            var next = model.numberOfMovesProperty().get();
+            replayMoves(next, next + 1);
+        }));
+        replayTimeline.setCycleCount(log.size());
+        replayTimeline.play();
+        Logger.info("Replaying the game of {} in {} moves", playerName, log.size());
+        return true;
     }
 
     /**
-     * Creates a square on the game board.
-     * @param i the row index.
-     * @param j the column index.
-     * @return the created StackPane representing a square.
+     * Makes every move of the replayed game which is not made yet at once,
+     * so the board is only drawn again once.
      */
-    private StackPane createSquare(int i, int j){
-        var square = new StackPane();
-        square.getStyleClass().add("square");
-        var circle = new Circle(20);
-        var coins = new Circle(10);
-        var wall = new Rectangle(63, 63);
-
-        circle.fillProperty().bind(createSquareBinding(model.squareProperty(i, j)));
-        coins.fillProperty().bind(createSquareBindingCoin(model.squareProperty(i, j)));
-        wall.fillProperty().bind(createSquareBindingWall(model.squareProperty(i, j)));
-
-        square.getChildren().add(circle);
-        square.getChildren().add(coins);
-        square.getChildren().add(wall);
-        square.setOnMouseClicked(this::handleMouseClick);
-        return square;
+    @FXML
+    private void handleFastForward(){
+        replayTimeline.stop();
+        replayMoves(model.numberOfMovesProperty().get(), replayed.size());
+    }
+
+    /**
+     * Makes moves of the replayed game, and stops the replay if a move is not legal.
+     * @param from the index of the first move made.
+     * @param to the index after the last move made.
+     */
+    private void replayMoves(int from, int to){
+        try {
+            model.replay(replayed, from, to);
+        } catch (IllegalStateException e) {
+            Logger.error("Failed to replay the game: {}", e.getMessage());
+            replayTimeline.stop();
+        }
     }
 
     /**
-     * Handles the mouse click on the game board.
-     * @param event the {@code MouseEvent}.
+     * Stops replaying, if a game is being replayed.
+     */
+    private void stopReplay(){
+        if (replayTimeline != null) {
+            replayTimeline.stop();
+            replayTimeline = null;
+        }
+        replayed = null;
+        replayMode.set(false);
+    }
+
+    /**
+     * Ends the replay and goes back to the game results.
+     * @throws IOException if the {@code gameresult.fxml} cannot be loaded.
      */
     @FXML
-    private void handleMouseClick(MouseEvent event){
-        var square = (StackPane) event.getSource();
-        var row = GridPane.getRowIndex(square);
-        var col = GridPane.getColumnIndex(square);
+    private void handleBackToResults() throws IOException{
+        stopReplay();
+        switchToGameResult();
+    }
+
+    /**
+     * Highlights the square the piece should move to next.
+     * The hint is looked up in the distance table of the board, so no search is made on the JavaFX thread.
+     */
+    @FXML
+    private void handleHint(){
+        clearHint();
+        model.getHint().ifPresent(position -> {
+            Logger.info("Hint: move to ({},{})", position.row(), position.col());
+            boardView.setHint(position);
+        });
+    }
+
+    /**
+     * Takes back the last move, and removes it from the move log, so the saved game is the one on the board.
+     */
+    @FXML
+    private void handleUndo(){
+        if (recorder.undo()) {
+            Logger.info("Undid a move");
+        }
+    }
+
+    /**
+     * Makes the last move taken back again.
+     */
+    @FXML
+    private void handleRedo(){
+        if (recorder.redo()) {
+            Logger.info("Redid a move");
+        }
+    }
+
+    /**
+     * Removes the highlight of the hint, if any.
+     */
+    private void clearHint(){
+        boardView.setHint(null);
+    }
+
+    /**
+     * Binds the {@code numberOfMoves} to the {@code movesNumberField}.
+     */
+    private void bindNumberOfMoves(){
+        movesNumberField.textProperty().bind(numberOfMoves.asString());
+    }
+
+    /**
+     * Handles the click on a square of the game board.
+     * @param position the position of the clicked square.
+     */
+    private void handleClick(Position position){
+        var row = position.row();
+        var col = position.col();
         Logger.info("Click on square ({},{})", row, col);
-        Position position = new Position(row, col);
+        if(replayed != null){
+            return;
+        }
         if(model.isLegalMove(position)){
-            model.makeMove(position);
+            recorder.move(position);
             Logger.info("Made move to ({},{})", row, col);
         }
         else{
@@ -170,22 +329,23 @@ public class PuzzleController {
      */
     @FXML
     private void handleGameOver(ObservableValue observableValue, boolean oldVal, boolean newVal){
-        if(newVal) {
+        if(newVal && replayed != null) {
+            Logger.info("The replayed game has ended");
+        }
+        else if(newVal) {
             Logger.info("The piece is on the finish square!");
             Logger.info("Puzzle solved in {} seconds!", ChronoUnit.SECONDS.between(model.startTime, LocalDateTime.now()));
-            try {
-                Path path = Path.of("gameresult.json");
-                if (!Files.exists(path)){
-                    Files.createFile(path);
-                    Files.writeString(path, "[]");
-
-                }
-                GameResultManager manager = new JsonOnePlayerGameResultManager(Path.of("gameresult.json"));
-                manager.add(createGameResult());
-                Logger.info("Added game result to JSON file.");
-            } catch (IOException e) {
-                Logger.error("Failed to save game result: {}", e.getMessage());
-            }
+            BackgroundSolver.solution().thenAccept(solution -> solution.ifPresent(s ->
+                    Logger.info("Puzzle solved in {} moves, the shortest solution has {} moves",
+                            model.numberOfMovesProperty().get(), s.length())));
+            recorder.finish(getName()).ifPresent(game ->
+                    ResultStore.getDefault().append(game.result(), game.moves()).whenComplete((written, e) -> {
+                        if (e == null) {
+                            Logger.info("Added game result to the result store.");
+                        } else {
+                            Logger.error("Failed to save game result: {}", e.getMessage());
+                        }
+                    }));
             Platform.runLater(this::showGameOverAlertAndExit);
         }
     }
@@ -197,28 +357,10 @@ public class PuzzleController {
     @FXML
     private void switchToGameResult() throws IOException{
         Logger.info("Switching to game result scene.");
-        Parent root = FXMLLoader.load(getClass().getResource("/gameresult.fxml"));
+        GameResultController controller = SceneRegistry.getController(SceneRegistry.Screen.GAME_RESULTS);
+        controller.refresh();
         Stage stage = (Stage) board.getScene().getWindow();
-        stage.setTitle("Game Results");
-        stage.setScene(new Scene(root));
-        stage.setResizable(false);
-        stage.show();
-    }
-
-    /**
-     * Creates a game result object that contains the details of the player's performance.
-     * This method gathers the player's name, whether the puzzle of solved, the number of moves,
-     * the duration of the game and the time when the object is created.
-     * @return a {@link OnePlayerGameResult} object containing the game result details.
-     */
-    private OnePlayerGameResult createGameResult(){
-        return OnePlayerGameResult.builder()
-                .playerName(getName())
-                .solved(true)
-                .numberOfMoves((Integer) model.numberOfMovesProperty().get() + 1)
-                .duration(Duration.ofSeconds(ChronoUnit.SECONDS.between(startTime, LocalDateTime.now())))
-                .created(ZonedDateTime.now())
-                .build();
+        SceneRegistry.show(stage, SceneRegistry.Screen.GAME_RESULTS);
     }
 
     /**
@@ -248,75 +390,4 @@ public class PuzzleController {
             }
         });
     }
-
-    /**
-     * Creates a binding for the square's color property.
-     * @param squareProperty the square property.
-     * @return the object binding for the square's color.
-     */
-    private ObjectBinding<Paint> createSquareBinding(ReadOnlyObjectProperty<Square> squareProperty){
-        return new ObjectBinding<Paint>() {
-            {
-                super.bind(squareProperty);
-            }
-            @Override
-            protected Paint computeValue() {
-                return switch (squareProperty.get()){
-                    case NONE -> Color.TRANSPARENT;
-                    case COIN -> Color.TRANSPARENT;
-                    case WALL -> Color.TRANSPARENT;
-                    case FINISH -> Color.BLUE;
-                    case PIECE -> Color.GRAY;
-                };
-            }
-        };
-    }
-
-    /**
-     * Creates a binding for the square's color property.
-     * @param squareProperty the square property.
-     * @return the object binding for the coin's color.
-     */
-    private ObjectBinding<Paint> createSquareBindingCoin(ReadOnlyObjectProperty<Square> squareProperty) {
-        return new ObjectBinding<Paint>() {
-            {
-                super.bind(squareProperty);
-            }
-
-            @Override
-            protected Paint computeValue() {
-                return switch (squareProperty.get()) {
-                    case NONE -> Color.TRANSPARENT;
-                    case COIN -> Color.ORANGE;
-                    case WALL -> Color.TRANSPARENT;
-                    case FINISH -> Color.TRANSPARENT;
-                    case PIECE -> Color.TRANSPARENT;
-                };
-            }
-        };
-    }
-
-    /**
-     * Creates a binding for the square's color property.
-     * @param squareProperty the square property.
-     * @return the object binding for the wall's color.
-     */
-    private ObjectBinding<Paint> createSquareBindingWall(ReadOnlyObjectProperty<Square> squareProperty) {
-        return new ObjectBinding<Paint>() {
-            {
-                super.bind(squareProperty);
-            }
-
-            @Override
-            protected Paint computeValue() {
-                return switch (squareProperty.get()) {
-                    case NONE -> Color.TRANSPARENT;
-                    case COIN -> Color.TRANSPARENT;
-                    case WALL -> Color.BLACK;
-                    case FINISH -> Color.TRANSPARENT;
-                    case PIECE -> Color.TRANSPARENT;
-                };
-            }
-        };
-    }
 }
@@ -0,0 +1,187 @@
+package puzzle.game;
+
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.scene.Node;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.RowConstraints;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import puzzle.model.Position;
+import puzzle.model.PuzzleModel;
+import puzzle.model.Square;
+
+import java.util.function.Consumer;
+
+/**
+ * Draws the board with a {@link StackPane} of shapes for every square in a {@link GridPane},
+ * whose colors are bound to the square properties of the model.
+ * It takes a few nodes and bindings per square and always shows the whole board, so it is only suited
+ * to small boards, see {@link CanvasBoardView}.
+ */
+final class SceneGraphBoardView implements BoardView {
+
+    private final PuzzleModel model;
+
+    private final GridPane board = new GridPane();
+
+    /**
+     * The width and height of a square in pixels.
+     */
+    private final double squareSize;
+
+    /**
+     * The squares of the game board, indexed by row and column.
+     */
+    private final StackPane[][] squares;
+
+    /**
+     * The square which is highlighted as a hint, or null if there is none.
+     */
+    private StackPane hintSquare;
+
+    /**
+     * Creates the squares of the board.
+     * @param model the model whose board is drawn.
+     * @param size the width and height of the view in pixels, which the whole board is fitted in.
+     * @param onClick called with the position of a square when it is clicked.
+     */
+    SceneGraphBoardView(PuzzleModel model, double size, Consumer<Position> onClick) {
+        this.model = model;
+        var rows = model.getState().getBoard().getRows();
+        var cols = model.getState().getBoard().getCols();
+        squareSize = size / Math.max(rows, cols);
+        board.setGridLinesVisible(true);
+        for (var i = 0; i < rows; i++) {
+            board.getRowConstraints().add(new RowConstraints(squareSize));
+        }
+        for (var j = 0; j < cols; j++) {
+            board.getColumnConstraints().add(new ColumnConstraints(squareSize));
+        }
+        squares = new StackPane[rows][cols];
+        for(var i = 0; i < rows; i++){
+            for(var j = 0; j < cols; j++){
+                var square = createSquare(i, j);
+                var position = new Position(i, j);
+                square.setOnMouseClicked(event -> onClick.accept(position));
+                squares[i][j] = square;
+                board.add(square, j, i);
+            }
+        }
+    }
+
+    @Override
+    public Node getNode() {
+        return board;
+    }
+
+    @Override
+    public void setHint(Position position) {
+        if (hintSquare != null) {
+            hintSquare.setStyle(null);
+            hintSquare = null;
+        }
+        if (position != null) {
+            hintSquare = squares[position.row()][position.col()];
+            hintSquare.setStyle("-fx-background-color: lightgreen;");
+        }
+    }
+
+    /**
+     * Creates a square on the game board.
+     * @param i the row index.
+     * @param j the column index.
+     * @return the created StackPane representing a square.
+     */
+    private StackPane createSquare(int i, int j){
+        var square = new StackPane();
+        square.getStyleClass().add("square");
+        var circle = new Circle(squareSize * 0.32);
+        var coins = new Circle(squareSize * 0.16);
+        var wall = new Rectangle(squareSize, squareSize);
+
+        circle.fillProperty().bind(createSquareBinding(model.squareProperty(i, j)));
+        coins.fillProperty().bind(createSquareBindingCoin(model.squareProperty(i, j)));
+        wall.fillProperty().bind(createSquareBindingWall(model.squareProperty(i, j)));
+
+        square.getChildren().add(circle);
+        square.getChildren().add(coins);
+        square.getChildren().add(wall);
+        return square;
+    }
+
+    /**
+     * Creates a binding for the square's color property.
+     * @param squareProperty the square property.
+     * @return the object binding for the square's color.
+     */
+    private ObjectBinding<Paint> createSquareBinding(ReadOnlyObjectProperty<Square> squareProperty){
+        return new ObjectBinding<Paint>() {
+            {
+                super.bind(squareProperty);
+            }
+            @Override
+            protected Paint computeValue() {
+                return switch (squareProperty.get()){
+                    case NONE -> Color.TRANSPARENT;
+                    case COIN -> Color.TRANSPARENT;
+                    case WALL -> Color.TRANSPARENT;
+                    case FINISH -> Color.BLUE;
+                    case PIECE -> Color.GRAY;
+                };
+            }
+        };
+    }
+
+    /**
+     * Creates a binding for the square's color property.
+     * @param squareProperty the square property.
+     * @return the object binding for the coin's color.
+     */
+    private ObjectBinding<Paint> createSquareBindingCoin(ReadOnlyObjectProperty<Square> squareProperty) {
+        return new ObjectBinding<Paint>() {
+            {
+                super.bind(squareProperty);
+            }
+
+            @Override
+            protected Paint computeValue() {
+                return switch (squareProperty.get()) {
+                    case NONE -> Color.TRANSPARENT;
+                    case COIN -> Color.ORANGE;
+                    case WALL -> Color.TRANSPARENT;
+                    case FINISH -> Color.TRANSPARENT;
+                    case PIECE -> Color.TRANSPARENT;
+                };
+            }
+        };
+    }
+
+    /**
+     * Creates a binding for the square's color property.
+     * @param squareProperty the square property.
+     * @return the object binding for the wall's color.
+     */
+    private ObjectBinding<Paint> createSquareBindingWall(ReadOnlyObjectProperty<Square> squareProperty) {
+        return new ObjectBinding<Paint>() {
+            {
+                super.bind(squareProperty);
+            }
+
+            @Override
+            protected Paint computeValue() {
+                return switch (squareProperty.get()) {
+                    case NONE -> Color.TRANSPARENT;
+                    case COIN -> Color.TRANSPARENT;
+                    case WALL -> Color.BLACK;
+                    case FINISH -> Color.TRANSPARENT;
+                    case PIECE -> Color.TRANSPARENT;
+                };
+            }
+        };
+    }
+}
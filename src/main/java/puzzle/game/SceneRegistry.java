@@ -0,0 +1,152 @@
+package puzzle.game;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Keeps a single scene and controller for every screen of the application, so that switching screens
+ * only replaces the scene of the stage instead of parsing the FXML file and building the nodes again.
+ *
+ * <p>The FXML files are parsed on virtual threads by {@link #preload()} while the first window is shown.
+ * Nodes which are not part of a showing window may be built on any thread, but a {@link Scene} is only created
+ * on the JavaFX thread, as soon as its nodes are loaded, and its CSS and layout are applied there at once,
+ * so the first switch to a screen takes no longer than the later ones.
+ *
+ * <p>The controllers are kept with their scenes. A controller which holds the state of a game has to be reset
+ * by the caller before its screen is shown again.
+ */
+public final class SceneRegistry {
+
+    /**
+     * The screens of the application.
+     */
+    public enum Screen {
+        LOGIN("/login.fxml", "Login"),
+        GAME("/game.fxml", "Puzzle game"),
+        GAME_RESULTS("/gameresult.fxml", "Game results");
+
+        private final String resource;
+
+        private final String title;
+
+        Screen(String resource, String title) {
+            this.resource = resource;
+            this.title = title;
+        }
+    }
+
+    /**
+     * The nodes and the controller of a screen, and its scene once it is created on the JavaFX thread.
+     */
+    private static final class LoadedScreen {
+
+        private final Parent root;
+
+        private final Object controller;
+
+        private Scene scene;
+
+        private LoadedScreen(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        private Scene scene() {
+            if (scene == null) {
+                scene = new Scene(root);
+                root.applyCss();
+                root.layout();
+            }
+            return scene;
+        }
+    }
+
+    private static final Map<Screen, CompletableFuture<LoadedScreen>> screens = new EnumMap<>(Screen.class);
+
+    private SceneRegistry() {
+    }
+
+    /**
+     * Starts loading every screen which has not been loaded yet, each on its own virtual thread.
+     */
+    public static void preload() {
+        for (var screen : Screen.values()) {
+            load(screen);
+        }
+    }
+
+    private static synchronized CompletableFuture<LoadedScreen> load(Screen screen) {
+        return screens.computeIfAbsent(screen, s -> {
+            var future = new CompletableFuture<LoadedScreen>();
+            Thread.ofVirtual().name("scene-loader").start(() -> {
+                try {
+                    var startTime = System.nanoTime();
+                    var loader = new FXMLLoader(SceneRegistry.class.getResource(s.resource));
+                    Parent root = loader.load();
+                    var loaded = new LoadedScreen(root, loader.getController());
+                    Logger.debug("Loaded {} in {} ms", s.resource, (System.nanoTime() - startTime) / 1_000_000);
+                    future.complete(loaded);
+                    Platform.runLater(loaded::scene);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        });
+    }
+
+    /**
+     * Waits until a screen is loaded, which only blocks if it is shown before {@link #preload()} finished with it.
+     * @param screen the screen.
+     * @return the loaded screen.
+     * @throws IOException if the FXML file of the screen cannot be loaded.
+     */
+    private static LoadedScreen get(Screen screen) throws IOException {
+        try {
+            return load(screen).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the controller of a screen, loading the screen if it is not loaded yet.
+     * @param screen the screen.
+     * @param <T> the type of the controller.
+     * @return the controller created by the FXML loader.
+     * @throws IOException if the FXML file of the screen cannot be loaded.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getController(Screen screen) throws IOException {
+        return (T) get(screen).controller;
+    }
+
+    /**
+     * Shows a screen on a stage. It must be called on the JavaFX thread.
+     * @param stage the stage.
+     * @param screen the screen to show.
+     * @throws IOException if the FXML file of the screen cannot be loaded.
+     */
+    public static void show(Stage stage, Screen screen) throws IOException {
+        var scene = get(screen).scene();
+        if (stage.getScene() != scene) {
+            stage.setScene(scene);
+        }
+        stage.setTitle(screen.title);
+        stage.setResizable(false);
+        stage.show();
+    }
+}
@@ -0,0 +1,217 @@
+package puzzle.game;
+
+import puzzle.model.Position;
+
+/**
+ * Reprezents the part of the board which is shown: the size of a square in pixels and the column and row
+ * at the top left corner of the view, both of which may be fractional.
+ * Only the cells between {@link #firstRow()}, {@link #lastRow()}, {@link #firstCol()} and {@link #lastCol()}
+ * are drawn, and since a square is never smaller than {@value #MIN_SQUARE_SIZE} pixels, their number is bounded
+ * by the size of the view, whatever the size of the board.
+ *
+ * <p>The view can not be moved past the sides of the board. If the board is smaller than the view,
+ * it is kept in the middle of it.
+ */
+final class Viewport {
+
+    /**
+     * The smallest size of a square in pixels, unless the whole board fits with larger squares.
+     */
+    static final double MIN_SQUARE_SIZE = 4;
+
+    /**
+     * The size of a square when the view is created, unless the whole board fits with larger squares.
+     */
+    static final double DEFAULT_SQUARE_SIZE = 24;
+
+    /**
+     * The largest size of a square in pixels, unless the whole board fits with larger squares.
+     */
+    static final double MAX_SQUARE_SIZE = 96;
+
+    private final int rows;
+
+    private final int cols;
+
+    private final double width;
+
+    private final double height;
+
+    private final double minSquareSize;
+
+    private final double maxSquareSize;
+
+    private double squareSize;
+
+    private double left;
+
+    private double top;
+
+    /**
+     * Creates a view of the top left corner of a board, or of the whole board if it fits.
+     * @param rows the number of rows of the board.
+     * @param cols the number of columns of the board.
+     * @param width the width of the view in pixels.
+     * @param height the height of the view in pixels.
+     */
+    Viewport(int rows, int cols, double width, double height) {
+        this.rows = rows;
+        this.cols = cols;
+        this.width = width;
+        this.height = height;
+        var fit = Math.min(width / cols, height / rows);
+        minSquareSize = Math.max(fit, MIN_SQUARE_SIZE);
+        maxSquareSize = Math.max(fit, MAX_SQUARE_SIZE);
+        squareSize = Math.clamp(DEFAULT_SQUARE_SIZE, minSquareSize, maxSquareSize);
+        moveTo(0, 0);
+    }
+
+    /**
+     * @return the width and height of a square in pixels.
+     */
+    double getSquareSize() {
+        return squareSize;
+    }
+
+    /**
+     * @return the column at the left side of the view.
+     */
+    double getLeft() {
+        return left;
+    }
+
+    /**
+     * @return the row at the top of the view.
+     */
+    double getTop() {
+        return top;
+    }
+
+    /**
+     * @return the first row which is at least partly shown.
+     */
+    int firstRow() {
+        return Math.max(0, (int) Math.floor(top));
+    }
+
+    /**
+     * @return the last row which is at least partly shown.
+     */
+    int lastRow() {
+        return Math.min(rows, (int) Math.ceil(top + height / squareSize)) - 1;
+    }
+
+    /**
+     * @return the first column which is at least partly shown.
+     */
+    int firstCol() {
+        return Math.max(0, (int) Math.floor(left));
+    }
+
+    /**
+     * @return the last column which is at least partly shown.
+     */
+    int lastCol() {
+        return Math.min(cols, (int) Math.ceil(left + width / squareSize)) - 1;
+    }
+
+    /**
+     * @param row a row of the board.
+     * @param col a column of the board.
+     * @return true if the cell is at least partly shown, false otherwise.
+     */
+    boolean isVisible(int row, int col) {
+        return row >= firstRow() && row <= lastRow() && col >= firstCol() && col <= lastCol();
+    }
+
+    /**
+     * @param col a column of the board.
+     * @return the horizontal position of the left side of the column in the view.
+     */
+    double x(int col) {
+        return (col - left) * squareSize;
+    }
+
+    /**
+     * @param row a row of the board.
+     * @return the vertical position of the top of the row in the view.
+     */
+    double y(int row) {
+        return (row - top) * squareSize;
+    }
+
+    /**
+     * Finds the cell at a point of the view.
+     * @param x the horizontal position in the view.
+     * @param y the vertical position in the view.
+     * @return the position of the cell, or null if the point is outside the board.
+     */
+    Position cellAt(double x, double y) {
+        var row = (int) Math.floor(top + y / squareSize);
+        var col = (int) Math.floor(left + x / squareSize);
+        return row >= 0 && row < rows && col >= 0 && col < cols ? new Position(row, col) : null;
+    }
+
+    /**
+     * Moves the view by a distance in pixels.
+     * @param dx the horizontal distance the board is dragged by.
+     * @param dy the vertical distance the board is dragged by.
+     * @return true if the view has changed, false otherwise.
+     */
+    boolean pan(double dx, double dy) {
+        return moveTo(left - dx / squareSize, top - dy / squareSize);
+    }
+
+    /**
+     * Changes the size of the squares, keeping the point of the board under a point of the view in place.
+     * @param factor the factor the size of the squares is multiplied by.
+     * @param x the horizontal position of the fixed point in the view.
+     * @param y the vertical position of the fixed point in the view.
+     * @return true if the view has changed, false otherwise.
+     */
+    boolean zoom(double factor, double x, double y) {
+        var newSize = Math.clamp(squareSize * factor, minSquareSize, maxSquareSize);
+        if (newSize == squareSize) {
+            return false;
+        }
+        var col = left + x / squareSize;
+        var row = top + y / squareSize;
+        squareSize = newSize;
+        moveTo(col - x / squareSize, row - y / squareSize);
+        return true;
+    }
+
+    /**
+     * Moves the view so that a cell is in the middle of it, if the cell is not shown
+     * with at least a number of whole cells between it and the sides of the view.
+     * @param position the position of the cell.
+     * @param margin the number of cells kept between the cell and the sides of the view.
+     * @return true if the view has changed, false otherwise.
+     */
+    boolean follow(Position position, int margin) {
+        var viewCols = width / squareSize;
+        var viewRows = height / squareSize;
+        var colMargin = Math.min(margin, (int) (viewCols - 1) / 2);
+        var rowMargin = Math.min(margin, (int) (viewRows - 1) / 2);
+        if (position.col() - colMargin >= left && position.col() + 1 + colMargin <= left + viewCols
+                && position.row() - rowMargin >= top && position.row() + 1 + rowMargin <= top + viewRows) {
+            return false;
+        }
+        return moveTo(position.col() + 0.5 - viewCols / 2, position.row() + 0.5 - viewRows / 2);
+    }
+
+    private boolean moveTo(double newLeft, double newTop) {
+        newLeft = clamp(newLeft, cols, width / squareSize);
+        newTop = clamp(newTop, rows, height / squareSize);
+        if (newLeft == left && newTop == top) {
+            return false;
+        }
+        left = newLeft;
+        top = newTop;
+        return true;
+    }
+
+    private static double clamp(double start, int cells, double viewCells) {
+        return viewCells >= cells ? (cells - viewCells) / 2 : Math.clamp(start, 0, cells - viewCells);
+    }
+}
@@ -0,0 +1,22 @@
+package puzzle.model;
+
+/**
+ * A board whose squares are stored in a byte array on the heap, one ordinal number per cell.
+ */
+final class ArrayBoard extends Board {
+
+    /**
+     * The ordinal numbers of the squares, stored row by row.
+     */
+    private final byte[] squares;
+
+    ArrayBoard(int rows, int cols, byte[] squares, Position start, Position finish) {
+        super(rows, cols, start, finish);
+        this.squares = squares;
+    }
+
+    @Override
+    public Square getSquare(int cell) {
+        return SQUARES[squares[cell]];
+    }
+}
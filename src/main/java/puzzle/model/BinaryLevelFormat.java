@@ -0,0 +1,146 @@
+package puzzle.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes boards in a compact binary level format, which is mapped into memory instead of being read.
+ * The file starts with a header of eight big-endian {@code int}s: the magic number {@code PZLB}, the version,
+ * the number of rows and columns, the row and column of the start and the row and column of the finish.
+ * It is followed by the ordinal numbers of the squares row by row, 3 bits per cell, starting with the lowest bits
+ * of each byte, and a single padding byte.
+ *
+ * <p>Mapping a board only checks the header, so it takes the same time whatever the size of the board,
+ * and the squares stay outside the Java heap. A cell is checked when it is decoded, see {@link MappedBoard},
+ * so every kind of invalid file is reported with an {@link IllegalArgumentException}.
+ * The number of cells is limited by {@link Board#MAX_CELLS}, so a file takes up at most about 400 MB.
+ */
+public final class BinaryLevelFormat {
+
+    /**
+     * The first four bytes of every binary level file.
+     */
+    public static final int MAGIC = 0x505A4C42;
+
+    private static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 8 * Integer.BYTES;
+
+    static final int BITS_PER_CELL = 3;
+
+    private BinaryLevelFormat() {
+    }
+
+    /**
+     * @param cells the number of cells of the board.
+     * @return the number of bytes the squares of the board take up, including the padding byte.
+     */
+    static long bodySize(long cells) {
+        return (cells * BITS_PER_CELL + 7) / 8 + 1;
+    }
+
+    /**
+     * Checks if a file starts with the magic number of the binary level format.
+     * @param path the path of the file.
+     * @return true if the file is a binary level file, false otherwise.
+     * @throws IOException if the file cannot be read.
+     */
+    public static boolean isBinaryLevel(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            var magic = in.readNBytes(Integer.BYTES);
+            return magic.length == Integer.BYTES && ByteBuffer.wrap(magic).getInt() == MAGIC;
+        }
+    }
+
+    /**
+     * Maps a binary level file into memory.
+     * The mapping stays valid after the file is closed, until the board is garbage collected.
+     * @param path the path of the level file.
+     * @return a read-only board over the mapped file.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the header of the file, or the square of the start or the finish,
+     * is not valid.
+     */
+    public static Board map(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IllegalArgumentException("Not a binary level file: " + path);
+            }
+            var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a binary level file: " + path);
+            }
+            var version = header.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary level version: " + version);
+            }
+            var rows = header.getInt();
+            var cols = header.getInt();
+            var start = new Position(header.getInt(), header.getInt());
+            var finish = new Position(header.getInt(), header.getInt());
+            if (rows <= 0 || cols <= 0 || (long) rows * cols > Board.MAX_CELLS) {
+                throw new IllegalArgumentException(String.format("Invalid board size: %d x %d", rows, cols));
+            }
+            var bodySize = bodySize((long) rows * cols);
+            if (channel.size() != HEADER_SIZE + bodySize) {
+                throw new IllegalArgumentException(String.format("Expected %d bytes, the file has %d",
+                        HEADER_SIZE + bodySize, channel.size()));
+            }
+            if (start.row() < 0 || start.row() >= rows || start.col() < 0 || start.col() >= cols
+                    || finish.row() < 0 || finish.row() >= rows || finish.col() < 0 || finish.col() >= cols) {
+                throw new IllegalArgumentException("Invalid start or finish position: " + start + ", " + finish);
+            }
+            var board = new MappedBoard(rows, cols, channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, bodySize),
+                    start, finish, path);
+            if (board.getSquare(start) == Square.WALL) {
+                throw new IllegalArgumentException("Invalid start position: " + start);
+            }
+            if (board.getSquare(finish) != Square.FINISH) {
+                throw new IllegalArgumentException("Invalid finish position: " + finish);
+            }
+            return board;
+        }
+    }
+
+    /**
+     * Writes a board to a binary level file, streaming the squares so that no copy of the board is made.
+     * @param board the board to write.
+     * @param path the path of the level file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Board board, Path path) throws IOException {
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(board.getRows());
+            out.writeInt(board.getCols());
+            out.writeInt(board.getStart().row());
+            out.writeInt(board.getStart().col());
+            out.writeInt(board.getFinish().row());
+            out.writeInt(board.getFinish().col());
+            var cells = board.getRows() * board.getCols();
+            var bits = 0;
+            var bitCount = 0;
+            for (var cell = 0; cell < cells; cell++) {
+                bits |= board.getSquare(cell).ordinal() << bitCount;
+                bitCount += BITS_PER_CELL;
+                if (bitCount >= 8) {
+                    out.write(bits);
+                    bits >>>= 8;
+                    bitCount -= 8;
+                }
+            }
+            if (bitCount > 0) {
+                out.write(bits);
+            }
+            out.write(0);
+        }
+    }
+}
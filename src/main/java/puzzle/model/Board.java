@@ -0,0 +1,233 @@
+package puzzle.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reprezents the immutable layout of the board without the piece.
+ * A board is shared by every state that is played on it.
+ * The squares are either stored in a byte array on the heap, see {@link #of(int, int, Square[], Position)},
+ * or read from a memory-mapped level file, see {@link BinaryLevelFormat#map(Path)}.
+ */
+public abstract class Board {
+
+    /**
+     * The square types, indexed by their ordinal numbers.
+     */
+    static final Square[] SQUARES = Square.values();
+
+    /**
+     * The maximal number of cells of a board, so that every state can be packed into an {@code int}
+     * and the tables indexed by the states, which have two entries per cell, fit into a Java array.
+     */
+    public static final int MAX_CELLS = (1 << 30) - 8;
+
+    /**
+     * The board of the original puzzle, read from the {@code /levels/default.txt} resource.
+     */
+    public static final Board DEFAULT = LevelFormat.readResource("/levels/default.txt");
+
+    /**
+     * The number of rows of the board.
+     */
+    private final int rows;
+
+    /**
+     * The number of columns of the board.
+     */
+    private final int cols;
+
+    /**
+     * The position where the piece starts.
+     */
+    private final Position start;
+
+    /**
+     * The position of the finish.
+     */
+    private final Position finish;
+
+    /**
+     * The move graph of the board, compiled when it is first needed.
+     */
+    private volatile TransitionTable transitionTable;
+
+    /**
+     * The distances of the states to the finish, computed when they are first needed.
+     */
+    private volatile DistanceTable distanceTable;
+
+    Board(int rows, int cols, Position start, Position finish) {
+        this.rows = rows;
+        this.cols = cols;
+        this.start = start;
+        this.finish = finish;
+    }
+
+    /**
+     * Creates a board from its squares.
+     * @param rows the number of rows of the board.
+     * @param cols the number of columns of the board.
+     * @param squares the squares of the board, stored row by row.
+     * @param start the position where the piece starts.
+     * @return the board.
+     * @throws IllegalArgumentException if the board is not valid, see {@link #of(int, int, byte[], Position)}.
+     */
+    public static Board of(int rows, int cols, Square[] squares, Position start) {
+        var ordinals = new byte[squares.length];
+        for (var i = 0; i < squares.length; i++) {
+            ordinals[i] = (byte) squares[i].ordinal();
+        }
+        return of(rows, cols, ordinals, start);
+    }
+
+    /**
+     * Creates a board from the ordinal numbers of its squares, in time linear in the number of cells.
+     * The array is not copied, so it must not be modified afterwards.
+     * @param rows the number of rows of the board.
+     * @param cols the number of columns of the board.
+     * @param squares the ordinal numbers of the squares of the board, stored row by row.
+     * @param start the position where the piece starts.
+     * @return the board.
+     * @throws IllegalArgumentException if the size of the board is not valid, the board contains a piece
+     * or not exactly one finish, or the start position is not on the board or is a wall.
+     */
+    static Board of(int rows, int cols, byte[] squares, Position start) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException(String.format("Invalid board size: %d x %d", rows, cols));
+        }
+        if (squares.length != rows * cols) {
+            throw new IllegalArgumentException(String.format("Expected %d squares, got %d", rows * cols, squares.length));
+        }
+        var finish = -1;
+        for (var i = 0; i < squares.length; i++) {
+            if (squares[i] < 0 || squares[i] >= SQUARES.length || squares[i] == Square.PIECE.ordinal()) {
+                throw new IllegalArgumentException("Invalid square at cell " + i + ": " + squares[i]);
+            }
+            if (squares[i] == Square.FINISH.ordinal()) {
+                if (finish >= 0) {
+                    throw new IllegalArgumentException("The board has more than one finish");
+                }
+                finish = i;
+            }
+        }
+        if (finish < 0) {
+            throw new IllegalArgumentException("The board has no finish");
+        }
+        if (start.row() < 0 || start.row() >= rows || start.col() < 0 || start.col() >= cols
+                || squares[start.row() * cols + start.col()] == Square.WALL.ordinal()) {
+            throw new IllegalArgumentException("Invalid start position: " + start);
+        }
+        return new ArrayBoard(rows, cols, squares, start, new Position(finish / cols, finish % cols));
+    }
+
+    /**
+     * Reads a board from a level file, which is either mapped into memory if it is in the binary level format,
+     * see {@link BinaryLevelFormat}, or read in the text level format, see {@link LevelFormat}.
+     * @param path the path of the level file.
+     * @return the board.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a valid level.
+     */
+    public static Board load(Path path) throws IOException {
+        return BinaryLevelFormat.isBinaryLevel(path) ? BinaryLevelFormat.map(path) : LevelFormat.read(path);
+    }
+
+    /**
+     * @return the number of rows of the board.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the number of columns of the board.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return the position where the piece starts.
+     */
+    public Position getStart() {
+        return start;
+    }
+
+    /**
+     * @return the position of the finish.
+     */
+    public Position getFinish() {
+        return finish;
+    }
+
+    /**
+     * Returns the move graph of the board, compiling it on the first call.
+     * @return the move graph of the board.
+     */
+    public TransitionTable getTransitionTable() {
+        var table = transitionTable;
+        if (table == null) {
+            table = TransitionTable.compile(this);
+            transitionTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the distances of the states to the finish, computing them on the first call.
+     * @return the distances of the states to the finish.
+     */
+    public DistanceTable getDistanceTable() {
+        var table = distanceTable;
+        if (table == null) {
+            table = DistanceTable.compute(this);
+            distanceTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the distances of the states to the finish if they have already been computed, without computing them.
+     * @return the distances of the states to the finish, or null if {@link #getDistanceTable()} has not returned yet.
+     */
+    DistanceTable getComputedDistanceTable() {
+        return distanceTable;
+    }
+
+    /**
+     * Returns the square type of the specified cell in the original layout.
+     * @param row the row of the board.
+     * @param col the col of the board.
+     * @return the Square type of the cell, never {@code Square.PIECE}.
+     */
+    public Square getSquare(int row, int col) {
+        return getSquare(row * cols + col);
+    }
+
+    /**
+     * Returns the square type of the specified cell in the original layout.
+     * @param cell the index of the cell, that is {@code row * getCols() + col}.
+     * @return the Square type of the cell, never {@code Square.PIECE}.
+     */
+    public abstract Square getSquare(int cell);
+
+    /**
+     * Returns the square type of the specified position in the original layout.
+     * @param position the selected position.
+     * @return the Square type of the position, never {@code Square.PIECE}.
+     */
+    public Square getSquare(Position position) {
+        return getSquare(position.row(), position.col());
+    }
+
+    /**
+     * Checks if the selected cell is on the board.
+     * @param row the row of the cell.
+     * @param col the col of the cell.
+     * @return true if the selected cell is on the board, false otherwise.
+     */
+    public boolean isOnBoard(int row, int col) {
+        return 0 <= row && row < rows && 0 <= col && col < cols;
+    }
+}
@@ -0,0 +1,42 @@
+package puzzle.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates random boards, for example to measure the solvers on boards larger than the original one.
+ * The piece starts in the top left corner and the finish is in the bottom right corner.
+ * A generated board is not guaranteed to be solvable.
+ */
+public final class BoardGenerator {
+
+    private BoardGenerator() {
+    }
+
+    /**
+     * Generates a random board.
+     * @param rows the number of rows of the board.
+     * @param cols the number of columns of the board.
+     * @param wallDensity the probability of a square being a wall.
+     * @param coinDensity the probability of a square being a coin.
+     * @param seed the seed of the random number generator, the same seed generates the same board.
+     * @return the generated board.
+     */
+    public static Board generate(int rows, int cols, double wallDensity, double coinDensity, long seed) {
+        if ((long) rows * cols > Board.MAX_CELLS) {
+            throw new IllegalArgumentException(String.format("Invalid board size: %d x %d", rows, cols));
+        }
+        var random = new SplittableRandom(seed);
+        var squares = new byte[rows * cols];
+        for (var i = 0; i < squares.length; i++) {
+            var value = random.nextDouble();
+            if (value < wallDensity) {
+                squares[i] = (byte) Square.WALL.ordinal();
+            } else if (value < wallDensity + coinDensity) {
+                squares[i] = (byte) Square.COIN.ordinal();
+            }
+        }
+        squares[0] = (byte) Square.NONE.ordinal();
+        squares[squares.length - 1] = (byte) Square.FINISH.ordinal();
+        return Board.of(rows, cols, squares, new Position(0, 0));
+    }
+}
@@ -0,0 +1,62 @@
+package puzzle.model;
+
+/**
+ * Reprezents the 4 directions the piece can move in.
+ */
+public enum Direction {
+    UP(-1, 0),
+    RIGHT(0, 1),
+    DOWN(1, 0),
+    LEFT(0, -1);
+
+    private final int rowChange;
+
+    private final int colChange;
+
+    Direction(int rowChange, int colChange) {
+        this.rowChange = rowChange;
+        this.colChange = colChange;
+    }
+
+    /**
+     * @return the change of the row when moving one square in this direction.
+     */
+    public int getRowChange() {
+        return rowChange;
+    }
+
+    /**
+     * @return the change of the col when moving one square in this direction.
+     */
+    public int getColChange() {
+        return colChange;
+    }
+
+    /**
+     * Returns the direction of a move.
+     * @param rowChange the change of the row.
+     * @param colChange the change of the col.
+     * @return the direction of the move.
+     * @throws IllegalArgumentException if the move is not horizontal or vertical.
+     */
+    public static Direction of(int rowChange, int colChange) {
+        if (rowChange != 0 && colChange == 0) {
+            return rowChange < 0 ? UP : DOWN;
+        }
+        if (rowChange == 0 && colChange != 0) {
+            return colChange < 0 ? LEFT : RIGHT;
+        }
+        throw new IllegalArgumentException(String.format("Not a horizontal or vertical move: (%d, %d)", rowChange, colChange));
+    }
+
+    /**
+     * Returns the direction of the move between two positions.
+     * @param from the position the move starts from.
+     * @param to the position the move ends at.
+     * @return the direction of the move.
+     * @throws IllegalArgumentException if the move is not horizontal or vertical.
+     */
+    public static Direction of(Position from, Position to) {
+        return of(to.row() - from.row(), to.col() - from.col());
+    }
+}
@@ -0,0 +1,102 @@
+package puzzle.model;
+
+import java.util.Arrays;
+
+/**
+ * The number of moves from every state of a board to the finish, computed with a single breadth-first search
+ * backwards from the finish, see {@link TransitionTable#predecessor(int, int)}.
+ * The states are packed as in {@link PackedState}. Once the table is computed, the best next move
+ * and whether the finish can still be reached are looked up in constant time.
+ */
+public final class DistanceTable {
+
+    /**
+     * The distance of the states from which the finish cannot be reached.
+     */
+    public static final int UNREACHABLE = -1;
+
+    private final TransitionTable table;
+
+    private final int[] distances;
+
+    private DistanceTable(TransitionTable table, int[] distances) {
+        this.table = table;
+        this.distances = distances;
+    }
+
+    /**
+     * Computes the distances of every state of a board, in time linear in the number of states.
+     * The search does not step back through the finish, because the game is over once the piece reaches it.
+     * @param board the board to compute the distances for.
+     * @return the distances of the states of the board.
+     */
+    public static DistanceTable compute(Board board) {
+        var table = board.getTransitionTable();
+        var distances = new int[table.getStateCount()];
+        Arrays.fill(distances, UNREACHABLE);
+        var queue = new int[table.getStateCount()];
+        var head = 0;
+        var tail = 0;
+        var finishCell = board.getFinish().row() * board.getCols() + board.getFinish().col();
+        for (var stepBit = 0; stepBit <= 1; stepBit++) {
+            var goal = finishCell << 1 | stepBit;
+            distances[goal] = 0;
+            queue[tail++] = goal;
+        }
+        while (head < tail) {
+            var state = queue[head++];
+            for (var direction = 0; direction < PackedState.MAX_LEGAL_MOVES; direction++) {
+                var previous = table.predecessor(state, direction);
+                if (previous < 0 || distances[previous] != UNREACHABLE || PackedState.cell(previous) == finishCell) {
+                    continue;
+                }
+                distances[previous] = distances[state] + 1;
+                queue[tail++] = previous;
+            }
+        }
+        return new DistanceTable(table, distances);
+    }
+
+    /**
+     * @return the board the distances were computed for.
+     */
+    public Board getBoard() {
+        return table.getBoard();
+    }
+
+    /**
+     * @param state the packed state.
+     * @return the number of moves of a shortest solution from the state, or {@link #UNREACHABLE}.
+     */
+    public int getDistance(int state) {
+        return distances[state];
+    }
+
+    /**
+     * @param state the packed state.
+     * @return true if the finish cannot be reached from the state, false otherwise.
+     */
+    public boolean isDeadEnd(int state) {
+        return distances[state] == UNREACHABLE;
+    }
+
+    /**
+     * Returns the state after the first move of a shortest solution.
+     * Of several such moves the first one in the order of the {@link Direction}s is chosen.
+     * @param state the packed state.
+     * @return the packed state after the best move, or -1 if the state is solved or a dead end.
+     */
+    public int nextState(int state) {
+        var distance = distances[state];
+        if (distance <= 0) {
+            return -1;
+        }
+        for (var mask = table.getMoveMask(state); mask != 0; mask &= mask - 1) {
+            var next = table.successor(state, Integer.numberOfTrailingZeros(mask));
+            if (distances[next] == distance - 1) {
+                return next;
+            }
+        }
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,174 @@
+package puzzle.model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads and writes boards in a plain text level format.
+ * The first line holds the number of rows and columns separated by whitespace, followed by one line per row
+ * with one character per cell:
+ * <pre>
+ * 3 4
+ * S.o.
+ * .#..
+ * o..F
+ * </pre>
+ * where {@code .} is an empty square, {@code #} a wall, {@code o} a coin, {@code S} the empty square the piece
+ * starts on and {@code F} the finish. Reading is linear in the number of cells and builds no object per cell.
+ */
+public final class LevelFormat {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private LevelFormat() {
+    }
+
+    /**
+     * Reads a board from a level file.
+     * @param path the path of the level file.
+     * @return the board.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a valid level.
+     */
+    public static Board read(Path path) throws IOException {
+        try (var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Reads a board from a level on the classpath.
+     * @param name the name of the resource, for example {@code /levels/default.txt}.
+     * @return the board.
+     * @throws UncheckedIOException if the resource cannot be found or read.
+     * @throws IllegalArgumentException if the resource is not a valid level.
+     */
+    public static Board readResource(String name) {
+        try (InputStream in = LevelFormat.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new UncheckedIOException(new IOException("Level not found: " + name));
+            }
+            return read(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a board in the level format.
+     * @param in the reader to read from, it is not closed.
+     * @return the board.
+     * @throws IOException if the level cannot be read.
+     * @throws IllegalArgumentException if the level is not valid.
+     */
+    public static Board read(Reader in) throws IOException {
+        var reader = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in, BUFFER_SIZE);
+        var header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("Empty level");
+        }
+        var size = header.trim().split("\\s+");
+        if (size.length != 2) {
+            throw new IllegalArgumentException("Invalid level header: " + header);
+        }
+        int rows;
+        int cols;
+        try {
+            rows = Integer.parseInt(size[0]);
+            cols = Integer.parseInt(size[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid level header: " + header, e);
+        }
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Board.MAX_CELLS) {
+            throw new IllegalArgumentException(String.format("Invalid board size: %d x %d", rows, cols));
+        }
+        var squares = new byte[rows * cols];
+        Position start = null;
+        for (var row = 0; row < rows; row++) {
+            var line = reader.readLine();
+            if (line == null || line.length() != cols) {
+                throw new IllegalArgumentException(String.format("Expected %d squares in row %d", cols, row));
+            }
+            for (var col = 0; col < cols; col++) {
+                var c = line.charAt(col);
+                if (c == 'S') {
+                    if (start != null) {
+                        throw new IllegalArgumentException("The level has more than one start");
+                    }
+                    start = new Position(row, col);
+                }
+                squares[row * cols + col] = (byte) square(c, row, col).ordinal();
+            }
+        }
+        if (start == null) {
+            throw new IllegalArgumentException("The level has no start");
+        }
+        return Board.of(rows, cols, squares, start);
+    }
+
+    private static Square square(char c, int row, int col) {
+        return switch (c) {
+            case '.', 'S' -> Square.NONE;
+            case '#' -> Square.WALL;
+            case 'o' -> Square.COIN;
+            case 'F' -> Square.FINISH;
+            default -> throw new IllegalArgumentException(
+                    String.format("Invalid square '%c' at %s", c, new Position(row, col)));
+        };
+    }
+
+    /**
+     * Writes a board to a level file.
+     * @param board the board to write.
+     * @param path the path of the level file.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the piece does not start on an empty square.
+     */
+    public static void write(Board board, Path path) throws IOException {
+        try (var writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            write(board, writer);
+        }
+    }
+
+    /**
+     * Writes a board in the level format.
+     * @param board the board to write.
+     * @param out the writer to write to, it is flushed but not closed.
+     * @throws IOException if the level cannot be written.
+     * @throws IllegalArgumentException if the piece does not start on an empty square, which the format cannot express.
+     */
+    public static void write(Board board, Writer out) throws IOException {
+        if (board.getSquare(board.getStart()) != Square.NONE) {
+            throw new IllegalArgumentException("The piece does not start on an empty square: " + board.getStart());
+        }
+        var writer = out instanceof BufferedWriter buffered ? buffered : new BufferedWriter(out, BUFFER_SIZE);
+        writer.write(board.getRows() + " " + board.getCols());
+        writer.write('\n');
+        var line = new char[board.getCols()];
+        for (var row = 0; row < board.getRows(); row++) {
+            for (var col = 0; col < board.getCols(); col++) {
+                line[col] = switch (board.getSquare(row, col)) {
+                    case NONE, PIECE -> '.';
+                    case WALL -> '#';
+                    case COIN -> 'o';
+                    case FINISH -> 'F';
+                };
+            }
+            if (row == board.getStart().row()) {
+                line[board.getStart().col()] = 'S';
+            }
+            writer.write(line);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+}
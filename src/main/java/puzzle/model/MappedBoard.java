@@ -0,0 +1,56 @@
+package puzzle.model;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A read-only board over the squares of a memory-mapped binary level file, see {@link BinaryLevelFormat}.
+ * The squares are decoded from the mapped buffer on every access, so the board takes no heap space per cell.
+ * Since the file is not read when it is mapped, every cell is checked as it is decoded, like
+ * {@link Board#of(int, int, byte[], Position)} checks the squares when a board is created.
+ */
+final class MappedBoard extends Board {
+
+    /**
+     * The squares of the board, 3 bits per cell, followed by a padding byte.
+     */
+    private final ByteBuffer squares;
+
+    /**
+     * The index of the cell of the finish, the only cell which may be decoded as a finish.
+     */
+    private final int finishCell;
+
+    /**
+     * The path of the level file, for the error messages.
+     */
+    private final Path path;
+
+    MappedBoard(int rows, int cols, ByteBuffer squares, Position start, Position finish, Path path) {
+        super(rows, cols, start, finish);
+        this.squares = squares;
+        this.finishCell = finish.row() * cols + finish.col();
+        this.path = path;
+    }
+
+    /**
+     * Decodes the square of a cell. Only absolute reads are made, so the board can be used by several threads.
+     * @param cell the index of the cell, that is {@code row * getCols() + col}.
+     * @return the Square type of the cell.
+     * @throws IllegalArgumentException if the cell of the file is not a square type, is a piece,
+     * or is a finish other than the finish of the header.
+     */
+    @Override
+    public Square getSquare(int cell) {
+        var bit = (long) cell * BinaryLevelFormat.BITS_PER_CELL;
+        var index = (int) (bit >>> 3);
+        var bits = (squares.get(index) & 0xFF) | (squares.get(index + 1) & 0xFF) << 8;
+        var code = (bits >>> (bit & 7)) & 7;
+        if (code >= SQUARES.length || code == Square.PIECE.ordinal()
+                || code == Square.FINISH.ordinal() && cell != finishCell) {
+            throw new IllegalArgumentException(String.format("Invalid square at row %d, column %d of %s: %d",
+                    cell / getCols(), cell % getCols(), path, code));
+        }
+        return SQUARES[code];
+    }
+}
@@ -0,0 +1,223 @@
+package puzzle.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Records the moves of a game, so that the game can be replayed.
+ * Since the step size follows from the squares the piece has visited, a move is fully described by its direction,
+ * which takes 2 bits, so a log takes a quarter of a byte per move.
+ *
+ * <p>The binary form starts with the magic number {@code PZLM} and the version, followed by the key of the level
+ * the game was played on, the times the game started and finished, the number of moves and the directions of the
+ * moves, four to a byte, starting with the lowest bits.
+ * A game can only be replayed on the level whose key it was recorded with.
+ */
+public final class MoveLog {
+
+    /**
+     * The first four bytes of every move log.
+     */
+    public static final int MAGIC = 0x505A4C4D;
+
+    /**
+     * The largest number of moves of a log, so that the number of bytes of the moves, {@code (size + 3) / 4},
+     * can be computed in an {@code int}.
+     */
+    public static final int MAX_SIZE = Integer.MAX_VALUE - 3;
+
+    private static final int VERSION = 1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final String levelKey;
+
+    private final Instant started;
+
+    private Instant finished;
+
+    private byte[] packed;
+
+    private int size;
+
+    /**
+     * Starts recording a game.
+     * @param levelKey the key of the level, a hexadecimal string with an even number of digits.
+     * @param started the time the game started.
+     */
+    public MoveLog(String levelKey, Instant started) {
+        this(levelKey, started, null, new byte[16], 0);
+    }
+
+    private MoveLog(String levelKey, Instant started, Instant finished, byte[] packed, int size) {
+        this.levelKey = levelKey;
+        this.started = started;
+        this.finished = finished;
+        this.packed = packed;
+        this.size = size;
+    }
+
+    /**
+     * @return the key of the level the game was played on.
+     */
+    public String getLevelKey() {
+        return levelKey;
+    }
+
+    /**
+     * @return the time the game started.
+     */
+    public Instant getStarted() {
+        return started;
+    }
+
+    /**
+     * @return the time the game finished, or null if it is still being recorded.
+     */
+    public Instant getFinished() {
+        return finished;
+    }
+
+    /**
+     * @return the number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index the index of a move.
+     * @return the direction of the move.
+     * @throws IndexOutOfBoundsException if there is no such move.
+     */
+    public Direction get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return DIRECTIONS[(packed[index >>> 2] >>> ((index & 3) * 2)) & 3];
+    }
+
+    /**
+     * Records a move.
+     * @param direction the direction of the move.
+     * @throws IllegalStateException if the game has finished or the log already has {@value #MAX_SIZE} moves.
+     */
+    public void add(Direction direction) {
+        if (finished != null) {
+            throw new IllegalStateException("The game has finished");
+        }
+        if (size == MAX_SIZE) {
+            throw new IllegalStateException("The log is full");
+        }
+        if (size >>> 2 == packed.length) {
+            packed = Arrays.copyOf(packed, packed.length * 2);
+        }
+        packed[size >>> 2] |= (byte) (direction.ordinal() << ((size & 3) * 2));
+        size++;
+    }
+
+    /**
+     * Removes the last move, when it is taken back.
+     * @throws IllegalStateException if the game has finished or there are no moves.
+     */
+    public void removeLast() {
+        if (finished != null) {
+            throw new IllegalStateException("The game has finished");
+        }
+        if (size == 0) {
+            throw new IllegalStateException("There are no moves");
+        }
+        size--;
+        packed[size >>> 2] &= (byte) ~(3 << ((size & 3) * 2));
+    }
+
+    /**
+     * Stops recording.
+     * @param finished the time the game finished.
+     */
+    public void finish(Instant finished) {
+        this.finished = finished;
+    }
+
+    /**
+     * Makes moves of the log on a state, one after the other, checking that every move is legal.
+     * @param state the state the moves are made on, which must be the state after the first {@code from} moves.
+     * @param from the index of the first move made.
+     * @param to the index after the last move made.
+     * @throws IllegalStateException if a move is not legal on the state.
+     */
+    public void replay(PuzzleState state, int from, int to) {
+        for (var i = from; i < to; i++) {
+            var direction = get(i);
+            var row = state.getPieceRow() + direction.getRowChange() * state.getStepSize();
+            var col = state.getPieceCol() + direction.getColChange() * state.getStepSize();
+            var position = new Position(row, col);
+            if (state.isSolved() || !state.isOnBoard(position) || !state.isLegalMove(position)) {
+                throw new IllegalStateException(String.format("Move %d (%s) is not legal", i + 1, direction));
+            }
+            state.makeMove(position);
+        }
+    }
+
+    /**
+     * Writes the log in its binary form.
+     * @param out the stream to write to, which is not closed.
+     * @throws IOException if the log cannot be written.
+     * @throws IllegalStateException if the game has not finished.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        if (finished == null) {
+            throw new IllegalStateException("The game has not finished");
+        }
+        var data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        var key = HexFormat.of().parseHex(levelKey);
+        data.writeShort(key.length);
+        data.write(key);
+        data.writeLong(started.getEpochSecond());
+        data.writeInt(started.getNano());
+        data.writeLong(finished.getEpochSecond());
+        data.writeInt(finished.getNano());
+        data.writeInt(size);
+        data.write(packed, 0, (size + 3) / 4);
+        data.flush();
+    }
+
+    /**
+     * Reads a log written by {@link #writeTo(OutputStream)}.
+     * @param in the stream to read from, which is not closed.
+     * @return the log of a finished game.
+     * @throws IOException if the log cannot be read or it is not valid.
+     */
+    public static MoveLog readFrom(InputStream in) throws IOException {
+        var data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a move log");
+        }
+        var version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported move log version: " + version);
+        }
+        var key = new byte[data.readUnsignedShort()];
+        data.readFully(key);
+        var started = Instant.ofEpochSecond(data.readLong(), data.readInt());
+        var finished = Instant.ofEpochSecond(data.readLong(), data.readInt());
+        var size = data.readInt();
+        if (size < 0 || size > MAX_SIZE) {
+            throw new IOException("Invalid number of moves: " + size);
+        }
+        var packed = data.readNBytes((size + 3) / 4);
+        if (packed.length != (size + 3) / 4) {
+            throw new IOException("Truncated move log");
+        }
+        packed = Arrays.copyOf(packed, Math.max(16, packed.length));
+        return new MoveLog(HexFormat.of().formatHex(key), started, finished, packed, size);
+    }
+}
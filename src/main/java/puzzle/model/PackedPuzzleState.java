@@ -0,0 +1,118 @@
+package puzzle.model;
+
+import puzzle.State;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Adapts a packed state to the {@link State} interface, so the generic solvers can search with it.
+ * Two objects are equal if their packed states are equal, regardless of how many moves led to them.
+ */
+public class PackedPuzzleState implements State<Position> {
+
+    /**
+     * The board the puzzle is played on.
+     */
+    private final Board board;
+
+    /**
+     * The packed state, see {@link PackedState}.
+     */
+    private int state;
+
+    /**
+     * Creates a {@link PackedPuzzleState} object that is the original initial state of the puzzle.
+     */
+    public PackedPuzzleState() {
+        this(Board.DEFAULT);
+    }
+
+    /**
+     * Creates a {@link PackedPuzzleState} object with the piece on the start position of the board.
+     * @param board the board the puzzle is played on.
+     */
+    public PackedPuzzleState(Board board) {
+        this(board, PackedState.initial(board));
+    }
+
+    /**
+     * Creates a {@link PackedPuzzleState} object from a packed state.
+     * @param board the board the puzzle is played on.
+     * @param state the packed state.
+     */
+    public PackedPuzzleState(Board board, int state) {
+        this.board = board;
+        this.state = state;
+    }
+
+    /**
+     * @return the packed state.
+     */
+    public int getPackedState() {
+        return state;
+    }
+
+    @Override
+    public boolean isSolved() {
+        return PackedState.isSolved(board, state);
+    }
+
+    @Override
+    public boolean isLegalMove(Position position) {
+        return PackedState.isLegalMove(board, state, position);
+    }
+
+    @Override
+    public void makeMove(Position position) {
+        state = PackedState.makeMove(board, state, position);
+    }
+
+    @Override
+    public Set<Position> getLegalMoves() {
+        var successors = new int[PackedState.MAX_LEGAL_MOVES];
+        var count = PackedState.getLegalMoves(board, state, successors);
+        Set<Position> moves = new HashSet<>();
+        for (var i = 0; i < count; i++) {
+            moves.add(PackedState.position(board, successors[i]));
+        }
+        return moves;
+    }
+
+    @Override
+    public PackedPuzzleState clone() {
+        return new PackedPuzzleState(board, state);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        return o instanceof PackedPuzzleState that && state == that.state && board == that.board;
+    }
+
+    @Override
+    public int hashCode() {
+        return state;
+    }
+
+    /**
+     * Makes a string from the board's square type's ordinal numbers.
+     * @return the rows of the board, separated by new lines.
+     */
+    @Override
+    public String toString() {
+        var pieceCell = PackedState.cell(state);
+        var sb = new StringBuilder();
+        for (var i = 0; i < board.getRows(); i++) {
+            for (var j = 0; j < board.getCols(); j++) {
+                var cell = i * board.getCols() + j;
+                var square = cell == pieceCell ? Square.PIECE : board.getSquare(cell);
+                sb.append(square.ordinal()).append(' ');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package puzzle.model;
+
+/**
+ * Operations on states of the puzzle that are packed into a single {@code int}.
+ * The lowest bit is set if the step size is 3, the other bits store the index of the piece's cell,
+ * that is {@code row * cols + col}. Whether the game is over follows from the cell, so it is not stored.
+ * Boards with at most {@link Board#MAX_CELLS} cells can be packed this way.
+ */
+public final class PackedState {
+
+    /**
+     * The maximal number of legal moves from a state.
+     */
+    public static final int MAX_LEGAL_MOVES = 4;
+
+    private PackedState() {
+    }
+
+    /**
+     * Computes the number of states of a board, which is the length of the tables indexed by the packed states.
+     * It is computed as a {@code long}, so a board which is too large is rejected instead of overflowing.
+     * @param board the board the puzzle is played on.
+     * @return twice the number of cells of the board.
+     * @throws IllegalArgumentException if the board has more than {@link Board#MAX_CELLS} cells.
+     */
+    public static int stateCount(Board board) {
+        var cells = (long) board.getRows() * board.getCols();
+        if (cells > Board.MAX_CELLS) {
+            throw new IllegalArgumentException(String.format("Too many cells to pack the states: %d x %d",
+                    board.getRows(), board.getCols()));
+        }
+        return (int) (cells * 2);
+    }
+
+    /**
+     * Packs the specified piece cell and step size.
+     * @param board the board the puzzle is played on.
+     * @param row the row of the piece.
+     * @param col the col of the piece.
+     * @param stepSize the step size, either 2 or 3.
+     * @return the packed state.
+     */
+    public static int of(Board board, int row, int col, int stepSize) {
+        return (row * board.getCols() + col) << 1 | (stepSize == 3 ? 1 : 0);
+    }
+
+    /**
+     * @param board the board the puzzle is played on.
+     * @return the packed initial state of the board.
+     */
+    public static int initial(Board board) {
+        return of(board, board.getStart().row(), board.getStart().col(), 2);
+    }
+
+    /**
+     * @param state the packed state.
+     * @return the index of the piece's cell.
+     */
+    public static int cell(int state) {
+        return state >>> 1;
+    }
+
+    /**
+     * @param state the packed state.
+     * @return the step size which the piece has to take.
+     */
+    public static int stepSize(int state) {
+        return 2 + (state & 1);
+    }
+
+    /**
+     * @param board the board the puzzle is played on.
+     * @param state the packed state.
+     * @return the position of the piece.
+     */
+    public static Position position(Board board, int state) {
+        var cell = cell(state);
+        return new Position(cell / board.getCols(), cell % board.getCols());
+    }
+
+    /**
+     * @param board the board the puzzle is played on.
+     * @param state the packed state.
+     * @return true if the piece is on the finish, false otherwise.
+     */
+    public static boolean isSolved(Board board, int state) {
+        return board.getSquare(cell(state)) == Square.FINISH;
+    }
+
+    /**
+     * Checks if the move to the selected position is legal.
+     * @param board the board the puzzle is played on.
+     * @param state the packed state.
+     * @param position the selected position.
+     * @return true if the move is legal, false otherwise.
+     */
+    public static boolean isLegalMove(Board board, int state, Position position) {
+        var cell = cell(state);
+        var rowChange = position.row() - cell / board.getCols();
+        var colChange = position.col() - cell % board.getCols();
+        var stepSize = stepSize(state);
+        if (!((Math.abs(rowChange) == stepSize && colChange == 0) || (rowChange == 0 && Math.abs(colChange) == stepSize))) {
+            return false;
+        }
+        return board.getTransitionTable().isLegalMove(state, Direction.of(rowChange, colChange));
+    }
+
+    /**
+     * Makes a move without checking whether it is legal.
+     * @param board the board the puzzle is played on.
+     * @param state the packed state.
+     * @param position the new position of the piece.
+     * @return the packed state after the move.
+     */
+    public static int makeMove(Board board, int state, Position position) {
+        return moveTo(board, state, position.row() * board.getCols() + position.col());
+    }
+
+    private static int moveTo(Board board, int state, int cell) {
+        var stepBit = state & 1;
+        if (board.getSquare(cell) == Square.COIN) {
+            stepBit ^= 1;
+        }
+        return cell << 1 | stepBit;
+    }
+
+    /**
+     * Collects the states that can be reached with a legal move, without allocating any objects.
+     * @param board the board the puzzle is played on.
+     * @param state the packed state.
+     * @param successors the array the packed successor states are written to,
+     *                   its length must be at least {@link #MAX_LEGAL_MOVES}.
+     * @return the number of successor states written to the array.
+     */
+    public static int getLegalMoves(Board board, int state, int[] successors) {
+        return board.getTransitionTable().getLegalMoves(state, successors);
+    }
+}
@@ -12,24 +12,26 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 /**
- * Reprezents the model and state of the puzzle.
+ * Reprezents the model of the puzzle.
+ * It is an observable adapter over a {@link PuzzleState} which the JavaFX controller can bind to.
  */
 public class PuzzleModel implements State<Position>{
 
     /**
-     * The size of the board.
+     * The JavaFX independent state of the puzzle.
      */
-    public static final int BOARD_SIZE = 8;
+    private PuzzleState state;
 
     /**
-     * The starting step size which the piece can take.
+     * An object wrapper which the puzzle and its square types are stored in, indexed by {@code row * cols + col}.
+     * The array is only allocated when a cell property is first asked for, and a cell only when its property is,
+     * so a view which does not bind to the cells does not pay for an observable, or even a reference, per cell.
      */
-    private int STEP_SIZE = 2;
-
+    private ReadOnlyObjectWrapper<Square>[] board;
     /**
-     * An object wrapper which the puzzle and its square types are stored in.
+     * The position of the piece.
      */
-    private ReadOnlyObjectWrapper<Square>[][] board = new ReadOnlyObjectWrapper[BOARD_SIZE][BOARD_SIZE];
+    private ReadOnlyObjectWrapper<Position> piece;
     /**
      * Initializes game over.
      */
@@ -38,76 +40,89 @@ public class PuzzleModel implements State<Position>{
      * Counts the number of moves taken.
      */
     private ReadOnlyIntegerWrapper numberOfMoves;
+    /**
+     * Stores whether the finish can no longer be reached, which is only known once the distance table is computed.
+     */
+    private ReadOnlyBooleanWrapper deadEnd;
+    /**
+     * The cells the piece moved from, as {@code row * cols + col}, in a ring of {@value #UNDO_LIMIT} entries
+     * which is allocated with the model. The step size before a move follows from whether the piece is on a coin,
+     * so the cell is all that is kept of a move, and a move beyond the limit overwrites the oldest one.
+     */
+    private int[] undoCells;
+    /**
+     * The index of the entry of the ring the next move is kept in.
+     */
+    private int undoTop;
+    /**
+     * The number of moves which can be taken back.
+     */
+    private int undoSize;
+    /**
+     * The cells the piece was taken back from, the last one on top, which redo moves the piece to again.
+     */
+    private int[] redoCells;
+    /**
+     * The number of moves which can be made again.
+     */
+    private int redoSize;
+    /**
+     * Stores whether there is a move to undo.
+     */
+    private ReadOnlyBooleanWrapper canUndo;
+    /**
+     * Stores whether there is an undone move to make again.
+     */
+    private ReadOnlyBooleanWrapper canRedo;
 
     /**
-     * Saves the current local date.
+     * The most moves which can be taken back, older moves are forgotten.
      */
-    public LocalDateTime startTime = LocalDateTime.now();
+    public static final int UNDO_LIMIT = 1024;
 
     /**
-     * Saves the position where the piece moved from.
+     * Saves the current local date.
      */
-    private Position fromPosition = new Position(0, 0);
+    public LocalDateTime startTime = LocalDateTime.now();
 
     /**
      * Creates a {@link PuzzleModel} object that is the original initial state of the puzzle.
      */
     public PuzzleModel() {
-        for (var i = 0; i < BOARD_SIZE; i++) {
-            for (var j = 0; j < BOARD_SIZE; j++) {
-                board[i][j] = new ReadOnlyObjectWrapper<Square>(
-                        switch (i) {
-                            case 0 -> switch (j) {
-                                case 0 -> Square.PIECE;
-                                case 4 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 1 -> switch (j) {
-                                case 2 -> Square.COIN;
-                                case 6 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 2 -> switch (j) {
-                                case 2 -> Square.WALL;
-                                case 7 -> Square.WALL;
-                                default -> Square.NONE;
-                            };
-                            case 3 -> switch (j) {
-                                case 2 -> Square.COIN;
-                                case 4 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 4 -> switch (j) {
-                                case 0 -> Square.COIN;
-                                case 1 -> Square.WALL;
-                                case 3 -> Square.COIN;
-                                case 7 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 5 -> switch (j) {
-                                case 3 -> Square.COIN;
-                                case 5 -> Square.WALL;
-                                case 6 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 6 -> switch (j) {
-                                case 2 -> Square.COIN;
-                                case 7 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 7 -> switch (j) {
-                                case 0 -> Square.COIN;
-                                case 3 -> Square.WALL;
-                                case 7 -> Square.FINISH;
-                                default -> Square.NONE;
-                            };
-                            default -> Square.NONE;
-                        }
-                );
+        this(new PuzzleState());
+    }
+
+    /**
+     * Creates a {@link PuzzleModel} object that reflects the specified state.
+     * @param state the state of the puzzle.
+     */
+    public PuzzleModel(PuzzleState state) {
+        this.state = state;
+        piece = new ReadOnlyObjectWrapper<>(new Position(state.getPieceRow(), state.getPieceCol()));
+        numberOfMoves = new ReadOnlyIntegerWrapper(state.getNumberOfMoves());
+        gameOver = new ReadOnlyBooleanWrapper(state.isSolved());
+        deadEnd = new ReadOnlyBooleanWrapper(isKnownDeadEnd());
+        undoCells = new int[UNDO_LIMIT];
+        redoCells = new int[UNDO_LIMIT];
+        canUndo = new ReadOnlyBooleanWrapper(false);
+        canRedo = new ReadOnlyBooleanWrapper(false);
+    }
+
+    /**
+     * Creates the observable cells of the board.
+     * @param state the state whose squares the cells are initialized with.
+     * @return the observable cells of the board.
+     */
+    private static ReadOnlyObjectWrapper<Square>[][] createBoard(PuzzleState state){
+        var rows = state.getBoard().getRows();
+        var cols = state.getBoard().getCols();
+        ReadOnlyObjectWrapper<Square>[][] cells = new ReadOnlyObjectWrapper[rows][cols];
+        for (var i = 0; i < rows; i++) {
+            for (var j = 0; j < cols; j++) {
+                cells[i][j] = new ReadOnlyObjectWrapper<Square>(state.getSquare(i, j));
             }
         }
-        numberOfMoves = new ReadOnlyIntegerWrapper(0);
-        gameOver = new ReadOnlyBooleanWrapper();
+        return cells;
     }
 
     /**
@@ -115,60 +130,14 @@ public class PuzzleModel implements State<Position>{
      * @return returns a {@link ReadOnlyObjectWrapper} type object which is the copy of the original state of the board.
      */
     public ReadOnlyObjectWrapper<Square>[][] makeBoardCopy(){
-        ReadOnlyObjectWrapper<Square>[][] copyBoard = new ReadOnlyObjectWrapper[BOARD_SIZE][BOARD_SIZE];
-        for (var i = 0; i < BOARD_SIZE; i++) {
-            for (var j = 0; j < BOARD_SIZE; j++) {
-                copyBoard[i][j] = new ReadOnlyObjectWrapper<Square>(
-                        switch (i) {
-                            case 0 -> switch (j) {
-                                case 4 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 1 -> switch (j) {
-                                case 2 -> Square.COIN;
-                                case 6 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 2 -> switch (j) {
-                                case 2 -> Square.WALL;
-                                case 7 -> Square.WALL;
-                                default -> Square.NONE;
-                            };
-                            case 3 -> switch (j) {
-                                case 2 -> Square.COIN;
-                                case 4 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 4 -> switch (j) {
-                                case 0 -> Square.COIN;
-                                case 1 -> Square.WALL;
-                                case 3 -> Square.COIN;
-                                case 7 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 5 -> switch (j) {
-                                case 3 -> Square.COIN;
-                                case 5 -> Square.WALL;
-                                case 6 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 6 -> switch (j) {
-                                case 2 -> Square.COIN;
-                                case 7 -> Square.COIN;
-                                default -> Square.NONE;
-                            };
-                            case 7 -> switch (j) {
-                                case 0 -> Square.COIN;
-                                case 3 -> Square.WALL;
-                                case 7 -> Square.FINISH;
-                                default -> Square.NONE;
-                            };
-                            default -> Square.NONE;
-                        }
-                );
-            }
-        }
-        return copyBoard;
+        return createBoard(new PuzzleState(state.getBoard()));
+    }
+
+    /**
+     * @return the JavaFX independent state of the puzzle.
+     */
+    public PuzzleState getState() {
+        return state;
     }
 
     /**
@@ -177,8 +146,27 @@ public class PuzzleModel implements State<Position>{
      * @param j the col of the board.
      * @return the property of the property of the board's specified row and column.
      */
+    @SuppressWarnings("unchecked")
     public ReadOnlyObjectProperty<Square> squareProperty(int i, int j) {
-        return board[i][j].getReadOnlyProperty();
+        if (board == null) {
+            board = new ReadOnlyObjectWrapper[state.getBoard().getRows() * state.getBoard().getCols()];
+        }
+        var cell = i * state.getBoard().getCols() + j;
+        if (board[cell] == null) {
+            board[cell] = new ReadOnlyObjectWrapper<>(state.getSquare(i, j));
+        }
+        return board[cell].getReadOnlyProperty();
+    }
+
+    /**
+     * Updates the observable cell of a position, if it has been created.
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     */
+    private void updateSquare(int row, int col) {
+        if (board != null && board[row * state.getBoard().getCols() + col] != null) {
+            board[row * state.getBoard().getCols() + col].set(state.getSquare(row, col));
+        }
     }
 
     /**
@@ -187,21 +175,22 @@ public class PuzzleModel implements State<Position>{
      * @return the Square type of the board's specified position.
      */
     public Square getSquare(Position position){
-        return board[position.row()][position.col()].get();
+        return state.getSquare(position);
     }
 
     /**
-     * Sets the board's specified position's Square type.
-     * @param position - a Position type object whose Square type will be changed.
-     * @param square - a Square type object which the board's specified position will be set to.
+     * Returns which type of {@code Square} is on a cell, without creating a position,
+     * so a view can read the cells it draws straight from the state.
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * @return the Square type of the cell.
      */
-    public void setSquare(Position position, Square square){
-        board[position.row()][position.col()].set(square);
+    public Square getSquare(int row, int col){
+        return state.getSquare(row, col);
     }
 
-
     /**
-     * Make a move by updating the board state and the position of the piece.
+     * Make a move by updating the state and the observable cells the piece moved between.
      * If the piece moves to a coin, the step size is changed from 2 to 3 and vice versa.
      * If the piece moves to the finish, the game is marked as game over.
      * The number of moves is incremented with each move.
@@ -209,23 +198,195 @@ public class PuzzleModel implements State<Position>{
      */
     @Override
     public void makeMove(Position position) {
-        ReadOnlyObjectWrapper<Square>[][] boardCopy = makeBoardCopy();
-        if(isCoin(position)){
-            STEP_SIZE = (STEP_SIZE == 2) ? 3 : 2;
+        var fromRow = state.getPieceRow();
+        var fromCol = state.getPieceCol();
+        state.makeMove(position);
+        pushUndo(fromRow * state.getBoard().getCols() + fromCol);
+        redoSize = 0;
+        pieceMoved(fromRow, fromCol, position);
+    }
+
+    /**
+     * Takes back the last move, in constant time. Only the new position of the piece is allocated.
+     * @return true if a move was taken back, false if there is no move to undo.
+     */
+    public boolean undo() {
+        if (undoSize == 0) {
+            return false;
+        }
+        var cols = state.getBoard().getCols();
+        var fromRow = state.getPieceRow();
+        var fromCol = state.getPieceCol();
+        undoTop = (undoTop + UNDO_LIMIT - 1) % UNDO_LIMIT;
+        undoSize--;
+        var cell = undoCells[undoTop];
+        redoCells[redoSize++] = fromRow * cols + fromCol;
+        state.undoMove(cell / cols, cell % cols);
+        pieceMoved(fromRow, fromCol, new Position(cell / cols, cell % cols));
+        return true;
+    }
+
+    /**
+     * Makes the last move taken back again, in constant time. Only the new position of the piece is allocated.
+     * Making any other move discards the moves which can be made again.
+     * @return true if a move was made, false if there is no move to redo.
+     */
+    public boolean redo() {
+        if (redoSize == 0) {
+            return false;
         }
-        if(isFinish(position)){
-            gameOver.set(true);
+        var cols = state.getBoard().getCols();
+        var fromRow = state.getPieceRow();
+        var fromCol = state.getPieceCol();
+        var cell = redoCells[--redoSize];
+        var position = new Position(cell / cols, cell % cols);
+        state.makeMove(position);
+        pushUndo(fromRow * cols + fromCol);
+        pieceMoved(fromRow, fromCol, position);
+        return true;
+    }
+
+    /**
+     * Returns the position {@link #redo()} would move the piece to, so that the move can be recorded
+     * before it is made.
+     * @return the position, or an empty optional if there is no move to redo.
+     */
+    public Optional<Position> getRedoMove() {
+        if (redoSize == 0) {
+            return Optional.empty();
         }
-        if(boardCopy[fromPosition.row()][fromPosition.col()].get() == Square.COIN){
-            setSquare(position, Square.PIECE);
-            setSquare(fromPosition, Square.COIN);
-            fromPosition = position;
-        }else{
-            setSquare(position, Square.PIECE);
-            setSquare(fromPosition, Square.NONE);
-            fromPosition = position;
+        var cols = state.getBoard().getCols();
+        var cell = redoCells[redoSize - 1];
+        return Optional.of(new Position(cell / cols, cell % cols));
+    }
+
+    /**
+     * Keeps the cell a move was made from, forgetting the oldest move if the ring is full.
+     * @param cell the index of the cell.
+     */
+    private void pushUndo(int cell) {
+        undoCells[undoTop] = cell;
+        undoTop = (undoTop + 1) % UNDO_LIMIT;
+        undoSize = Math.min(undoSize + 1, UNDO_LIMIT);
+    }
+
+    /**
+     * Forgets every move, so that the moves made before can not be undone.
+     */
+    private void clearHistory() {
+        undoSize = 0;
+        redoSize = 0;
+    }
+
+    /**
+     * Makes moves of a move log on the state and only then updates the observable properties, once,
+     * so fast-forwarding through a long game costs no more user interface updates than a single move.
+     * If a move is not legal, the properties are updated to the moves made before it.
+     * The moves replayed can not be undone.
+     * @param log the move log.
+     * @param from the index of the first move made, which must be the number of moves made so far.
+     * @param to the index after the last move made.
+     * @throws IllegalStateException if a move is not legal.
+     */
+    public void replay(MoveLog log, int from, int to) {
+        var fromRow = state.getPieceRow();
+        var fromCol = state.getPieceCol();
+        try {
+            log.replay(state, from, to);
+        } finally {
+            clearHistory();
+            pieceMoved(fromRow, fromCol, new Position(state.getPieceRow(), state.getPieceCol()));
         }
-        numberOfMoves.set(numberOfMoves.get() + 1);
+    }
+
+    /**
+     * Updates the observable properties after the piece has moved, in one move or in several.
+     * Only the cells the piece left and entered are updated, since no other cell changes.
+     * @param fromRow the row the piece moved from.
+     * @param fromCol the column the piece moved from.
+     * @param position the position the piece moved to, which is passed in so that a move allocates nothing.
+     */
+    private void pieceMoved(int fromRow, int fromCol, Position position) {
+        updateSquare(fromRow, fromCol);
+        updateSquare(position.row(), position.col());
+        piece.set(position);
+        numberOfMoves.set(state.getNumberOfMoves());
+        gameOver.set(state.isSolved());
+        deadEnd.set(isKnownDeadEnd());
+        canUndo.set(undoSize > 0);
+        canRedo.set(redoSize > 0);
+    }
+
+    /**
+     * Starts the puzzle again from the start of the board, so that the model and the properties bound to it
+     * can be reused for a new game.
+     */
+    public void reset() {
+        var pieceRow = state.getPieceRow();
+        var pieceCol = state.getPieceCol();
+        state = new PuzzleState(state.getBoard());
+        clearHistory();
+        pieceMoved(pieceRow, pieceCol, new Position(state.getPieceRow(), state.getPieceCol()));
+        startTime = LocalDateTime.now();
+    }
+
+    /**
+     * Checks if the finish cannot be reached from the current state, using the distance table of the board
+     * only if it has already been computed, so that a large board is never searched on the JavaFX thread.
+     * @return true if the distance table is computed and marks the current state as a dead end, false otherwise.
+     */
+    private boolean isKnownDeadEnd() {
+        var table = state.getBoard().getComputedDistanceTable();
+        return table != null && table.isDeadEnd(state.getPackedState());
+    }
+
+    /**
+     * Checks again if the finish cannot be reached, after the distance table of the board has been computed
+     * on another thread, see {@link Board#getDistanceTable()}. Until then, the piece is never in a dead end.
+     */
+    public void updateDeadEnd() {
+        deadEnd.set(isKnownDeadEnd());
+    }
+
+    /**
+     * Returns the distances of the states of the board to the finish, computing them if it has not been done yet,
+     * which takes time linear in the number of cells.
+     * @return the distances of the states of the board to the finish.
+     */
+    public DistanceTable getDistanceTable() {
+        return state.getBoard().getDistanceTable();
+    }
+
+    /**
+     * Returns the position the piece should move to next in order to reach the finish in the fewest moves.
+     * It is looked up in the {@link DistanceTable} only if it has already been computed, so no search is made
+     * and the method can be called on the JavaFX thread.
+     * @return the position of the best move, or an empty optional if the distance table is not computed yet,
+     * the game is over or the finish cannot be reached.
+     */
+    public Optional<Position> getHint() {
+        return hint(state.getBoard().getComputedDistanceTable());
+    }
+
+    /**
+     * Returns the position the piece should move to next in order to reach the finish in the fewest moves,
+     * computing the {@link DistanceTable} first if it has not been done yet. It is meant for callers without
+     * a user interface, such as simulations, since the first call takes time linear in the number of cells.
+     * @return the position of the best move, or an empty optional if the game is over or the finish
+     * cannot be reached.
+     */
+    public Optional<Position> computeHint() {
+        return hint(getDistanceTable());
+    }
+
+    /**
+     * Looks up the best move in a distance table.
+     * @param table the distances of the states of the board to the finish, or null if they are not computed yet.
+     * @return the position of the best move, or an empty optional if there is none.
+     */
+    private Optional<Position> hint(DistanceTable table) {
+        var next = table == null ? -1 : table.nextState(state.getPackedState());
+        return next < 0 ? Optional.empty() : Optional.of(PackedState.position(state.getBoard(), next));
     }
 
     /**
@@ -234,7 +395,7 @@ public class PuzzleModel implements State<Position>{
      * @return true if the selected position is on the board, false otherwise.
      */
     public boolean isOnBoard(Position position){
-        return 0 <= position.row() && position.row() < BOARD_SIZE && 0 <= position.col() && position.col() < BOARD_SIZE;
+        return state.isOnBoard(position);
     }
 
     /**
@@ -243,7 +404,7 @@ public class PuzzleModel implements State<Position>{
      * @return true if the selected position is a wall, false otherwise.
      */
     public boolean isWall(Position position){
-        return getSquare(position) == Square.WALL;
+        return state.isWall(position);
     }
 
     /**
@@ -252,16 +413,16 @@ public class PuzzleModel implements State<Position>{
      * @return true if the selected position is the finish, false otherwise.
      */
     public boolean isFinish(Position position){
-        return getSquare(position) == Square.FINISH;
+        return state.isFinish(position);
     }
 
     /**
-     * Checks if the selected position is a coin.
+     * Checks if the selected position is a coin in the original layout of the board.
      * @param position the selected position.
      * @return true if the selected position is a coin, false otherwise.
      */
     public boolean isCoin(Position position){
-        return getSquare(position) == Square.COIN;
+        return state.isCoin(position);
     }
 
     /**
@@ -270,19 +431,17 @@ public class PuzzleModel implements State<Position>{
      * @return true if the selected position is the piece, false otherwise.
      */
     public boolean isPiece(Position position){
-        return getSquare(position) == Square.PIECE;
+        return state.isPiece(position);
     }
 
     /**
      * Checks if the move is according to a legal step distance.
      * @param from the selected from position.
      * @param to the selected to position.
-     * @return true if the step distance between the selected two positions are equal to the {@code STEP_SIZE} false otherwise.
+     * @return true if the step distance between the selected two positions are equal to the step size false otherwise.
      */
     public boolean isLegalStepDistance(Position from, Position to){
-        var x = Math.abs(to.row() - from.row());
-        var y = Math.abs(to.col() - from.col());
-        return (x == STEP_SIZE && y == 0) || (x == 0 && y == STEP_SIZE );
+        return state.isLegalStepDistance(from, to);
     }
 
 
@@ -295,9 +454,7 @@ public class PuzzleModel implements State<Position>{
      */
     @Override
     public boolean isLegalMove(Position position) {
-        return isOnBoard(position)
-                && isLegalStepDistance(fromPosition, position)
-                && !isWall(position);
+        return state.isLegalMove(position);
     }
 
 
@@ -307,14 +464,7 @@ public class PuzzleModel implements State<Position>{
      */
     @Override
     public String toString() {
-        var sb = new StringBuilder();
-        for(var i = 0; i < BOARD_SIZE; i++){
-            for(var j = 0; j < BOARD_SIZE; j++){
-                sb.append(board[i][j].get().ordinal()).append(' ');
-            }
-            sb.append('\n');
-        }
-        return sb.toString();
+        return state.toString();
     }
 
     /**
@@ -331,6 +481,42 @@ public class PuzzleModel implements State<Position>{
         return gameOver.getReadOnlyProperty();
     }
 
+    /**
+     * @return the property of the position of the piece. Only the cells of its old and new value change in a move,
+     * so a view can repaint just those two cells when it changes.
+     */
+    public ReadOnlyObjectProperty<Position> pieceProperty(){
+        return piece.getReadOnlyProperty();
+    }
+
+    /**
+     * @return the canUndo wrapper's property.
+     */
+    public ReadOnlyBooleanProperty canUndoProperty(){
+        return canUndo.getReadOnlyProperty();
+    }
+
+    /**
+     * @return the canRedo wrapper's property.
+     */
+    public ReadOnlyBooleanProperty canRedoProperty(){
+        return canRedo.getReadOnlyProperty();
+    }
+
+    /**
+     * @return the deadEnd wrapper's property.
+     */
+    public ReadOnlyBooleanProperty deadEndProperty(){
+        return deadEnd.getReadOnlyProperty();
+    }
+
+    /**
+     * @return true if the finish can no longer be reached, false otherwise.
+     */
+    public boolean isDeadEnd(){
+        return deadEnd.get();
+    }
+
     /**
      * @return gameOver value.
      */
@@ -346,32 +532,7 @@ public class PuzzleModel implements State<Position>{
      */
     @Override
     public Set<Position> getLegalMoves() {
-        Set<Position> moves = new HashSet<>();
-        Position positionOfPiece = null;
-
-        for(var i = 0; i < BOARD_SIZE; i++){
-            for (var j = 0; j < BOARD_SIZE; j++){
-                if(isPiece(new Position(i, j))){
-                    positionOfPiece = new Position(i, j);
-                    break;
-                }
-            }
-        }
-
-        int[][] directions = {
-                {STEP_SIZE, 0}, {-STEP_SIZE, 0},
-                {0, STEP_SIZE}, {0, -STEP_SIZE}
-        };
-
-        for(var direction : directions){
-            Position newPosition = new Position(
-                    positionOfPiece.row() + direction[0],
-                    positionOfPiece.col() + direction[1]);
-            if(isLegalMove(newPosition)){
-                moves.add(newPosition);
-            }
-        }
-        return moves;
+        return state.getLegalMoves();
     }
 
     /**
@@ -386,17 +547,24 @@ public class PuzzleModel implements State<Position>{
         }catch (CloneNotSupportedException e){
             throw new AssertionError();
         }
+        copy.state = state.clone();
         copy.numberOfMoves = new ReadOnlyIntegerWrapper(numberOfMoves.get());
         copy.gameOver = new ReadOnlyBooleanWrapper(gameOver.get());
-        copy.board = new ReadOnlyObjectWrapper[BOARD_SIZE][BOARD_SIZE];
-        for (var i = 0; i < BOARD_SIZE; i++){
-            for (var j = 0; j < BOARD_SIZE; j++){
-                copy.board[i][j] = new ReadOnlyObjectWrapper<>(board[i][j].get());
-            }
-        }
+        copy.deadEnd = new ReadOnlyBooleanWrapper(deadEnd.get());
+        copy.board = null;
+        copy.piece = new ReadOnlyObjectWrapper<>(piece.get());
+        copy.undoCells = undoCells.clone();
+        copy.redoCells = redoCells.clone();
+        copy.canUndo = new ReadOnlyBooleanWrapper(canUndo.get());
+        copy.canRedo = new ReadOnlyBooleanWrapper(canRedo.get());
         return copy;
     }
 
+    /**
+     * Two models are equal if their states are equal for searching, see {@link PuzzleState#equals(Object)}.
+     * @param o the object to compare with.
+     * @return true if the models are equal, false otherwise.
+     */
     @Override
     public boolean equals(Object o){
         if(o == this){
@@ -406,31 +574,12 @@ public class PuzzleModel implements State<Position>{
             return false;
         }
         PuzzleModel that = (PuzzleModel) o;
-        if(numberOfMoves.get() != that.numberOfMoves.get()){
-            return false;
-        }
-        if(!Objects.equals(gameOver, that.gameOver)){
-            return false;
-        }
-        for(var i = 0; i < BOARD_SIZE; i++){
-            for (var j = 0; j < BOARD_SIZE; j++){
-                if (board[i][j].get() != that.board[i][j].get()){
-                    return false;
-                }
-            }
-        }
-        return true;
+        return state.equals(that.state);
     }
 
     @Override
     public int hashCode(){
-        var result =  Objects.hash(numberOfMoves.get(), gameOver.get());
-        for(var i = 0; i < BOARD_SIZE; i++){
-            for(var j = 0; j < BOARD_SIZE; j++){
-                result = 31 * result + board[i][j].get().hashCode();
-            }
-        }
-        return result;
+        return state.hashCode();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,338 @@
+package puzzle.model;
+
+import puzzle.State;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reprezents the state of the puzzle without any JavaFX dependency.
+ * The layout is shared through the {@link Board}, so a state only consists of a few primitive fields.
+ */
+public class PuzzleState implements State<Position> {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The board the puzzle is played on.
+     */
+    private final Board board;
+
+    /**
+     * The row of the piece.
+     */
+    private int pieceRow;
+
+    /**
+     * The col of the piece.
+     */
+    private int pieceCol;
+
+    /**
+     * The step size which the piece has to take.
+     */
+    private int stepSize = 2;
+
+    /**
+     * Counts the number of moves taken.
+     */
+    private int numberOfMoves;
+
+    /**
+     * Stores whether the piece reached the finish.
+     */
+    private boolean gameOver;
+
+    /**
+     * Creates a {@link PuzzleState} object that is the original initial state of the puzzle.
+     */
+    public PuzzleState() {
+        this(Board.DEFAULT);
+    }
+
+    /**
+     * Creates a {@link PuzzleState} object with the piece on the start position of the board.
+     * @param board the board the puzzle is played on.
+     */
+    public PuzzleState(Board board) {
+        this.board = board;
+        pieceRow = board.getStart().row();
+        pieceCol = board.getStart().col();
+    }
+
+    /**
+     * @return the board the puzzle is played on.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return the row of the piece.
+     */
+    public int getPieceRow() {
+        return pieceRow;
+    }
+
+    /**
+     * @return the col of the piece.
+     */
+    public int getPieceCol() {
+        return pieceCol;
+    }
+
+    /**
+     * @return the position of the piece.
+     */
+    public Position getPiecePosition() {
+        return new Position(pieceRow, pieceCol);
+    }
+
+    /**
+     * @return the step size which the piece has to take.
+     */
+    public int getStepSize() {
+        return stepSize;
+    }
+
+    /**
+     * @return the state packed as in {@link PackedState}.
+     */
+    public int getPackedState() {
+        return PackedState.of(board, pieceRow, pieceCol, stepSize);
+    }
+
+    /**
+     * @return the number of moves taken.
+     */
+    public int getNumberOfMoves() {
+        return numberOfMoves;
+    }
+
+    /**
+     * Returns which type of {@code Square} is on the specified cell, including the piece.
+     * @param row the row of the board.
+     * @param col the col of the board.
+     * @return the Square type of the cell.
+     */
+    public Square getSquare(int row, int col) {
+        if (row == pieceRow && col == pieceCol) {
+            return Square.PIECE;
+        }
+        return board.getSquare(row, col);
+    }
+
+    /**
+     * Returns which type of {@code Square} is on this board position, including the piece.
+     * @param position a Position type object whose Square type will be gotten.
+     * @return the Square type of the board's specified position.
+     */
+    public Square getSquare(Position position) {
+        return getSquare(position.row(), position.col());
+    }
+
+    /**
+     * Checks if the selected position is on the board.
+     * @param position the selected position.
+     * @return true if the selected position is on the board, false otherwise.
+     */
+    public boolean isOnBoard(Position position) {
+        return board.isOnBoard(position.row(), position.col());
+    }
+
+    /**
+     * Checks if the selected position is a wall.
+     * @param position the selected position.
+     * @return true if the selected position is a wall, false otherwise.
+     */
+    public boolean isWall(Position position) {
+        return board.getSquare(position) == Square.WALL;
+    }
+
+    /**
+     * Checks if the selected position is the finish.
+     * @param position the selected position.
+     * @return true if the selected position is the finish, false otherwise.
+     */
+    public boolean isFinish(Position position) {
+        return board.getSquare(position) == Square.FINISH;
+    }
+
+    /**
+     * Checks if the selected position is a coin.
+     * @param position the selected position.
+     * @return true if the selected position is a coin, false otherwise.
+     */
+    public boolean isCoin(Position position) {
+        return board.getSquare(position) == Square.COIN;
+    }
+
+    /**
+     * Checks if the selected position is the piece.
+     * @param position the selected position.
+     * @return true if the selected position is the piece, false otherwise.
+     */
+    public boolean isPiece(Position position) {
+        return position.row() == pieceRow && position.col() == pieceCol;
+    }
+
+    /**
+     * Checks if the move is according to a legal step distance.
+     * @param from the selected from position.
+     * @param to the selected to position.
+     * @return true if the step distance between the selected two positions are equal to the step size, false otherwise.
+     */
+    public boolean isLegalStepDistance(Position from, Position to) {
+        return isLegalStepDistance(to.row() - from.row(), to.col() - from.col());
+    }
+
+    private boolean isLegalStepDistance(int rowDistance, int colDistance) {
+        var x = Math.abs(rowDistance);
+        var y = Math.abs(colDistance);
+        return (x == stepSize && y == 0) || (x == 0 && y == stepSize);
+    }
+
+    /**
+     * Checks if the move to the selected position is legal.
+     * A move is legal if the position is on the board, the step distance is valid and the selected position
+     * is not a wall.
+     * @param position the selected position.
+     * @return true if the move is legal, false otherwise.
+     */
+    @Override
+    public boolean isLegalMove(Position position) {
+        return isLegalStepDistance(position.row() - pieceRow, position.col() - pieceCol)
+                && board.getTransitionTable().isLegalMove(getPackedState(),
+                        Direction.of(position.row() - pieceRow, position.col() - pieceCol));
+    }
+
+    /**
+     * Makes a move by updating the position of the piece.
+     * If the piece moves to a coin, the step size is changed from 2 to 3 and vice versa.
+     * If the piece moves to the finish, the game is marked as game over.
+     * The number of moves is incremented with each move.
+     * @param position the new position to move the piece to.
+     */
+    @Override
+    public void makeMove(Position position) {
+        if (isCoin(position)) {
+            stepSize = (stepSize == 2) ? 3 : 2;
+        }
+        if (isFinish(position)) {
+            gameOver = true;
+        }
+        pieceRow = position.row();
+        pieceCol = position.col();
+        numberOfMoves++;
+    }
+
+    /**
+     * Takes back the last move, which was made from a cell.
+     * Nothing else has to be known about the move: the step size was changed by it if and only if the piece
+     * is on a coin, and the game was not over before it.
+     * @param fromRow the row the last move was made from.
+     * @param fromCol the col the last move was made from.
+     * @throws IllegalStateException if no move has been made.
+     */
+    public void undoMove(int fromRow, int fromCol) {
+        if (numberOfMoves == 0) {
+            throw new IllegalStateException("No move has been made");
+        }
+        if (board.getSquare(pieceRow, pieceCol) == Square.COIN) {
+            stepSize = (stepSize == 2) ? 3 : 2;
+        }
+        gameOver = false;
+        pieceRow = fromRow;
+        pieceCol = fromCol;
+        numberOfMoves--;
+    }
+
+    /**
+     * @return true if the piece reached the finish, false otherwise.
+     */
+    @Override
+    public boolean isSolved() {
+        return gameOver;
+    }
+
+    /**
+     * Gets all the legal moves from the current position of the piece.
+     * @return a set of positions representing all legal moves.
+     */
+    @Override
+    public Set<Position> getLegalMoves() {
+        Set<Position> moves = new HashSet<>();
+        for (var mask = board.getTransitionTable().getMoveMask(getPackedState()); mask != 0; mask &= mask - 1) {
+            var direction = DIRECTIONS[Integer.numberOfTrailingZeros(mask)];
+            moves.add(new Position(pieceRow + direction.getRowChange() * stepSize,
+                    pieceCol + direction.getColChange() * stepSize));
+        }
+        return moves;
+    }
+
+    /**
+     * Creates a copy of the current state of the puzzle.
+     * The board is immutable, so it is shared between the copies.
+     * @return a new instance of {@link PuzzleState} with the same state as the current one.
+     */
+    @Override
+    public PuzzleState clone() {
+        try {
+            return (PuzzleState) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError();
+        }
+    }
+
+    /**
+     * Returns the canonical key of the state for searching.
+     * It depends only on the position of the piece, the step size and whether the game is over,
+     * so states reached through different sequences of moves have the same key.
+     * @return the 64-bit Zobrist key of the state.
+     */
+    public long searchKey() {
+        return Zobrist.key(pieceRow * board.getCols() + pieceCol, stepSize, gameOver);
+    }
+
+    /**
+     * Two states are equal if the piece is on the same position with the same step size and game over flag,
+     * regardless of the number of moves which led to them.
+     * @param o the object to compare with.
+     * @return true if the states are equal for searching, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof PuzzleState that)) {
+            return false;
+        }
+        return gameOver == that.gameOver
+                && pieceRow == that.pieceRow
+                && pieceCol == that.pieceCol
+                && stepSize == that.stepSize
+                && board == that.board;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(searchKey());
+    }
+
+    /**
+     * Makes a string from the board's square type's ordinal numbers.
+     * @return the rows of the board, separated by new lines.
+     */
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        for (var i = 0; i < board.getRows(); i++) {
+            for (var j = 0; j < board.getCols(); j++) {
+                sb.append(getSquare(i, j).ordinal()).append(' ');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
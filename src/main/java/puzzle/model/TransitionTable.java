@@ -0,0 +1,168 @@
+package puzzle.model;
+
+/**
+ * The move graph of a board, compiled once from its layout.
+ * The states are packed as in {@link PackedState}. For every state the table stores a single byte:
+ * the lower 4 bits tell in which {@link Direction}s the piece can move, the upper 4 bits tell which of these
+ * moves land on a coin and therefore change the step size. Successors are computed from this byte
+ * with a few arithmetic operations, so move generation does not allocate anything.
+ *
+ * <p>The legal moves of a state can be iterated over like this:
+ * <pre>{@code
+ * for (var mask = table.getMoveMask(state); mask != 0; mask &= mask - 1) {
+ *     var next = table.successor(state, Integer.numberOfTrailingZeros(mask));
+ * }
+ * }</pre>
+ */
+public final class TransitionTable {
+
+    private static final int TOGGLE_SHIFT = 4;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Board board;
+
+    /**
+     * The change of the cell index when moving one square in each direction.
+     */
+    private final int[] cellChange;
+
+    private final byte[] moves;
+
+    private TransitionTable(Board board, byte[] moves) {
+        this.board = board;
+        this.moves = moves;
+        cellChange = new int[DIRECTIONS.length];
+        for (var direction : DIRECTIONS) {
+            cellChange[direction.ordinal()] = direction.getRowChange() * board.getCols() + direction.getColChange();
+        }
+    }
+
+    /**
+     * Compiles the move graph of a board, in time linear in the number of cells.
+     * @param board the board to compile.
+     * @return the move graph of the board.
+     */
+    public static TransitionTable compile(Board board) {
+        var rows = board.getRows();
+        var cols = board.getCols();
+        var moves = new byte[PackedState.stateCount(board)];
+        for (var row = 0; row < rows; row++) {
+            for (var col = 0; col < cols; col++) {
+                if (board.getSquare(row, col) == Square.WALL) {
+                    continue;
+                }
+                var cell = row * cols + col;
+                for (var stepSize = 2; stepSize <= 3; stepSize++) {
+                    var info = 0;
+                    for (var direction : DIRECTIONS) {
+                        var toRow = row + direction.getRowChange() * stepSize;
+                        var toCol = col + direction.getColChange() * stepSize;
+                        if (!board.isOnBoard(toRow, toCol)) {
+                            continue;
+                        }
+                        var square = board.getSquare(toRow, toCol);
+                        if (square == Square.WALL) {
+                            continue;
+                        }
+                        info |= 1 << direction.ordinal();
+                        if (square == Square.COIN) {
+                            info |= 1 << (TOGGLE_SHIFT + direction.ordinal());
+                        }
+                    }
+                    moves[cell << 1 | (stepSize - 2)] = (byte) info;
+                }
+            }
+        }
+        return new TransitionTable(board, moves);
+    }
+
+    /**
+     * @return the board the table was compiled from.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return the number of packed states, that is twice the number of cells.
+     */
+    public int getStateCount() {
+        return moves.length;
+    }
+
+    /**
+     * @param state the packed state.
+     * @return a bit mask whose bit {@code d} is set if the piece can move in the direction with ordinal {@code d}.
+     */
+    public int getMoveMask(int state) {
+        return moves[state] & 0xF;
+    }
+
+    /**
+     * @param state the packed state.
+     * @param direction the direction of the move.
+     * @return true if the piece can move in the direction, false otherwise.
+     */
+    public boolean isLegalMove(int state, Direction direction) {
+        return (moves[state] & (1 << direction.ordinal())) != 0;
+    }
+
+    /**
+     * Returns the state after a move, without checking whether the move is legal.
+     * @param state the packed state.
+     * @param direction the ordinal of the direction of the move.
+     * @return the packed state after the move.
+     */
+    public int successor(int state, int direction) {
+        var stepBit = state & 1;
+        var cell = (state >>> 1) + cellChange[direction] * (2 + stepBit);
+        return cell << 1 | (stepBit ^ ((moves[state] >>> (TOGGLE_SHIFT + direction)) & 1));
+    }
+
+    /**
+     * Returns the state after a move, or -1 if the move is not legal.
+     * @param state the packed state.
+     * @param direction the direction of the move.
+     * @return the packed state after the move, or -1.
+     */
+    public int successor(int state, Direction direction) {
+        return isLegalMove(state, direction) ? successor(state, direction.ordinal()) : -1;
+    }
+
+    /**
+     * Returns the state from which a legal move in the direction leads to the state, or -1 if there is none.
+     * This is the reverse of {@link #successor(int, int)}: the step size before the move is the step size after it,
+     * toggled back if the state is on a coin, so every state has at most one predecessor in each direction.
+     * @param state the packed state.
+     * @param direction the ordinal of the direction of the move.
+     * @return the packed state before the move, or -1.
+     */
+    public int predecessor(int state, int direction) {
+        var cell = state >>> 1;
+        var stepBit = (state & 1) ^ (board.getSquare(cell) == Square.COIN ? 1 : 0);
+        var stepSize = 2 + stepBit;
+        var row = cell / board.getCols() - DIRECTIONS[direction].getRowChange() * stepSize;
+        var col = cell % board.getCols() - DIRECTIONS[direction].getColChange() * stepSize;
+        if (!board.isOnBoard(row, col)) {
+            return -1;
+        }
+        var previous = (row * board.getCols() + col) << 1 | stepBit;
+        return (moves[previous] & (1 << direction)) != 0 ? previous : -1;
+    }
+
+    /**
+     * Collects the states that can be reached with a legal move, in the order of the directions.
+     * @param state the packed state.
+     * @param successors the array the packed successor states are written to,
+     *                   its length must be at least {@link PackedState#MAX_LEGAL_MOVES}.
+     * @return the number of successor states written to the array.
+     */
+    public int getLegalMoves(int state, int[] successors) {
+        var count = 0;
+        for (var mask = getMoveMask(state); mask != 0; mask &= mask - 1) {
+            successors[count++] = successor(state, Integer.numberOfTrailingZeros(mask));
+        }
+        return count;
+    }
+}
@@ -0,0 +1,51 @@
+package puzzle.model;
+
+/**
+ * Zobrist hashing of the features a search state consists of.
+ * Every feature has a fixed pseudo-random 64-bit value and the key of a state is the XOR of the values
+ * of its features. The values are derived from the index of the feature instead of being stored in a table,
+ * so boards of any size can be hashed.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private static final int STEP_SIZE_THREE = 0;
+
+    private static final int GAME_OVER = 1;
+
+    private static final int FIRST_CELL = 2;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Computes the key of a search state.
+     * @param cell the index of the piece's cell.
+     * @param stepSize the step size which the piece has to take.
+     * @param gameOver whether the piece reached the finish.
+     * @return the 64-bit Zobrist key of the state.
+     */
+    public static long key(int cell, int stepSize, boolean gameOver) {
+        var key = feature(FIRST_CELL + (long) cell);
+        if (stepSize == 3) {
+            key ^= feature(STEP_SIZE_THREE);
+        }
+        if (gameOver) {
+            key ^= feature(GAME_OVER);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the pseudo-random value of a feature, using the SplitMix64 generator.
+     * @param index the index of the feature.
+     * @return the value of the feature.
+     */
+    private static long feature(long index) {
+        var z = SEED + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,74 @@
+package puzzle.simulation;
+
+import gameresults.LogLinearBuckets;
+
+import static gameresults.LogLinearBuckets.BUCKETS;
+
+/**
+ * Counts latencies in nanoseconds in {@link LogLinearBuckets}, the same buckets the durations of the games are
+ * counted in. The buckets are allocated once, so recording a latency takes constant time and allocates nothing,
+ * and the histograms of several threads can be added up at the end.
+ */
+public final class LatencyHistogram {
+
+    private final long[] counts = new long[BUCKETS];
+
+    private long count;
+
+    private long max;
+
+    /**
+     * Counts a latency.
+     * @param nanos the latency in nanoseconds, negative values are counted as 0.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        counts[LogLinearBuckets.bucket(nanos)]++;
+        count++;
+        max = Math.max(max, nanos);
+    }
+
+    /**
+     * Adds the latencies of another histogram to this one.
+     * @param other the other histogram.
+     */
+    public void add(LatencyHistogram other) {
+        for (var bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @return the number of latencies counted.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the largest latency counted in nanoseconds, or 0 if none was counted.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the latency which the given percent of the latencies are not larger than.
+     * @param percentile the percent, between 0 and 100.
+     * @return the middle of the bucket of the latency, but not more than the largest latency,
+     * or 0 if no latency was counted.
+     */
+    public long getPercentile(double percentile) {
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (var bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(LogLinearBuckets.bucketMiddle(bucket), max);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,183 @@
+package puzzle.simulation;
+
+import puzzle.model.Board;
+import puzzle.model.PuzzleModel;
+import puzzle.model.PuzzleState;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays games on a board with a {@link Strategy}, through {@link PuzzleModel#getLegalMoves()} and
+ * {@link PuzzleModel#makeMove(puzzle.model.Position)} as the game screen does, but without any JavaFX control.
+ *
+ * <p>The games are shared between the threads of a {@link ForkJoinPool}. Every thread counts its games
+ * and latencies on its own, and the counts are only added up when every game is over, so the threads never wait
+ * for each other. The random numbers of a game are seeded from the seed of the simulation and the index of the game,
+ * so the same simulation plays the same games on any number of threads.
+ */
+public final class Simulation {
+
+    private final Board board;
+
+    private final Strategy strategy;
+
+    private final int maxMoves;
+
+    private final long seed;
+
+    /**
+     * Creates a simulation.
+     * @param board the board the games are played on.
+     * @param strategy the way the players choose their moves.
+     * @param maxMoves the number of moves after which a player gives up.
+     * @param seed the seed of the random numbers.
+     */
+    public Simulation(Board board, Strategy strategy, int maxMoves, long seed) {
+        this.board = board;
+        this.strategy = strategy;
+        this.maxMoves = maxMoves;
+        this.seed = seed;
+    }
+
+    /**
+     * Reprezents the outcome of a simulation: the number of games and moves, the running time,
+     * and the latencies of the moves and the games.
+     */
+    public static final class Result {
+
+        private long games;
+
+        private long solved;
+
+        private long moves;
+
+        private long elapsedNanos;
+
+        private final LatencyHistogram moveLatency = new LatencyHistogram();
+
+        private final LatencyHistogram gameLatency = new LatencyHistogram();
+
+        private void add(Result other) {
+            games += other.games;
+            solved += other.solved;
+            moves += other.moves;
+            moveLatency.add(other.moveLatency);
+            gameLatency.add(other.gameLatency);
+        }
+
+        /**
+         * @return the number of games played.
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * @return the number of games in which the piece reached the finish.
+         */
+        public long getSolved() {
+            return solved;
+        }
+
+        /**
+         * @return the number of moves made in every game.
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * @return the time the games took, from the start of the first one to the end of the last one.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return the number of games played per second.
+         */
+        public double getGamesPerSecond() {
+            return games * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        /**
+         * @return the number of moves made per second.
+         */
+        public double getMovesPerSecond() {
+            return moves * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        /**
+         * @return the latencies of choosing and making a move, in nanoseconds.
+         */
+        public LatencyHistogram getMoveLatency() {
+            return moveLatency;
+        }
+
+        /**
+         * @return the latencies of playing a game from creating its model to the last move, in nanoseconds.
+         */
+        public LatencyHistogram getGameLatency() {
+            return gameLatency;
+        }
+    }
+
+    /**
+     * Plays games, sharing them between the threads of a pool.
+     * @param games the number of games.
+     * @param pool the pool, whose parallelism is the number of threads playing.
+     * @return the outcome of the games.
+     */
+    public Result run(int games, ForkJoinPool pool) {
+        var next = new AtomicInteger();
+        var tasks = new ArrayList<ForkJoinTask<Result>>();
+        var startTime = System.nanoTime();
+        for (var i = 0; i < pool.getParallelism(); i++) {
+            tasks.add(pool.submit(() -> {
+                var result = new Result();
+                for (var game = next.getAndIncrement(); game < games; game = next.getAndIncrement()) {
+                    play(game, result);
+                }
+                return result;
+            }));
+        }
+        var total = new Result();
+        for (var task : tasks) {
+            total.add(task.join());
+        }
+        total.elapsedNanos = System.nanoTime() - startTime;
+        return total;
+    }
+
+    /**
+     * Plays a single game and counts it.
+     * @param game the index of the game.
+     * @param result the counts of the thread playing the game.
+     */
+    private void play(int game, Result result) {
+        var startTime = System.nanoTime();
+        var random = new SplittableRandom(seed + game);
+        var model = new PuzzleModel(new PuzzleState(board));
+        var moves = 0;
+        while (!model.isSolved() && moves < maxMoves) {
+            var moveStartTime = System.nanoTime();
+            var move = strategy.nextMove(model, random);
+            if (move == null) {
+                break;
+            }
+            model.makeMove(move);
+            result.moveLatency.record(System.nanoTime() - moveStartTime);
+            moves++;
+        }
+        result.gameLatency.record(System.nanoTime() - startTime);
+        result.games++;
+        result.moves += moves;
+        if (model.isSolved()) {
+            result.solved++;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package puzzle.simulation;
+
+import puzzle.model.Board;
+import puzzle.model.BoardGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Simulates players without the user interface and reports the throughput of the model in games and moves
+ * per second and the percentiles of the latencies of the moves and the games, for every strategy.
+ * Every strategy first plays a tenth of the games to warm up, which are not counted.
+ * The games are seeded, so the same arguments play the same games and the reports can be compared.
+ *
+ * <p>Usage: {@code SimulationReport [games [threads [strategy,... [size|level file]]]]}.
+ * The defaults are 100000 games, the number of available processors, every strategy and the original board.
+ * A size generates a square board of that size, a level file is loaded with {@link Board#load(Path)}.
+ */
+public class SimulationReport {
+
+    private static final double WALL_DENSITY = 0.2;
+
+    private static final double COIN_DENSITY = 0.1;
+
+    private static final long SEED = 42;
+
+    private static final int MAX_MOVES = 10_000;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    public static void main(String[] args) throws IOException {
+        var games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        var threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        var strategies = args.length > 2
+                ? Arrays.stream(args[2].split(",")).map(s -> Strategy.valueOf(s.trim().toUpperCase(Locale.ROOT))).toList()
+                : List.of(Strategy.values());
+        String name;
+        Board board;
+        if (args.length <= 3) {
+            name = "default 8x8";
+            board = Board.DEFAULT;
+        } else if (args[3].chars().allMatch(Character::isDigit)) {
+            var n = Integer.parseInt(args[3]);
+            name = String.format("generated %dx%d", n, n);
+            board = BoardGenerator.generate(n, n, WALL_DENSITY, COIN_DENSITY, SEED);
+        } else {
+            board = Board.load(Path.of(args[3]));
+            name = String.format("%s %dx%d", args[3], board.getRows(), board.getCols());
+        }
+        board.getDistanceTable();
+        System.out.printf("%s, %d games on %d threads%n", name, games, threads);
+        try (var pool = new ForkJoinPool(threads)) {
+            System.out.printf("  %-8s %12s %14s %8s %12s%n", "strategy", "games/s", "moves/s", "solved", "moves/game");
+            var results = new Simulation.Result[strategies.size()];
+            for (var i = 0; i < strategies.size(); i++) {
+                var simulation = new Simulation(board, strategies.get(i), MAX_MOVES, SEED);
+                simulation.run(Math.max(1, games / 10), pool);
+                var result = simulation.run(games, pool);
+                results[i] = result;
+                System.out.printf("  %-8s %12.0f %14.0f %7.1f%% %12.1f%n", name(strategies.get(i)),
+                        result.getGamesPerSecond(), result.getMovesPerSecond(),
+                        100.0 * result.getSolved() / Math.max(1, result.getGames()),
+                        (double) result.getMoves() / Math.max(1, result.getGames()));
+            }
+            System.out.printf("  %-8s %-9s %10s %10s %10s %10s %10s%n", "strategy", "latency", "p50", "p90", "p99",
+                    "p99.9", "max");
+            for (var i = 0; i < strategies.size(); i++) {
+                printLatencies(name(strategies.get(i)), "move (ns)", results[i].getMoveLatency(), 1);
+                printLatencies("", "game (us)", results[i].getGameLatency(), 1_000);
+            }
+        }
+    }
+
+    private static String name(Strategy strategy) {
+        return strategy.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Prints the percentiles of a histogram in a row.
+     * @param strategy the name of the strategy, or an empty string.
+     * @param latency the name of the latency.
+     * @param histogram the histogram.
+     * @param unit the number of nanoseconds in the unit printed.
+     */
+    private static void printLatencies(String strategy, String latency, LatencyHistogram histogram, long unit) {
+        var row = new StringBuilder(String.format("  %-8s %-9s", strategy, latency));
+        for (var percentile : PERCENTILES) {
+            row.append(String.format(" %10d", histogram.getPercentile(percentile) / unit));
+        }
+        row.append(String.format(" %10d", histogram.getMax() / unit));
+        System.out.println(row);
+    }
+}
@@ -0,0 +1,75 @@
+package puzzle.simulation;
+
+import puzzle.model.Position;
+import puzzle.model.PuzzleModel;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reprezents the way a simulated player chooses its next move.
+ */
+public enum Strategy {
+
+    /**
+     * Makes one of the legal moves, each with the same probability.
+     */
+    RANDOM {
+        @Override
+        Position nextMove(PuzzleModel model, SplittableRandom random) {
+            var moves = model.getLegalMoves();
+            if (moves.isEmpty()) {
+                return null;
+            }
+            var skip = random.nextInt(moves.size());
+            for (var move : moves) {
+                if (skip-- == 0) {
+                    return move;
+                }
+            }
+            throw new AssertionError();
+        }
+    },
+
+    /**
+     * Makes the legal move which ends closest to the finish, counting the rows and columns between them,
+     * choosing randomly between equally close moves. It does not look ahead, so it may walk in circles.
+     */
+    GREEDY {
+        @Override
+        Position nextMove(PuzzleModel model, SplittableRandom random) {
+            var finish = model.getState().getBoard().getFinish();
+            Position best = null;
+            var bestDistance = Integer.MAX_VALUE;
+            var ties = 0;
+            for (var move : model.getLegalMoves()) {
+                var distance = Math.abs(move.row() - finish.row()) + Math.abs(move.col() - finish.col());
+                if (distance < bestDistance) {
+                    best = move;
+                    bestDistance = distance;
+                    ties = 1;
+                } else if (distance == bestDistance && random.nextInt(++ties) == 0) {
+                    best = move;
+                }
+            }
+            return best;
+        }
+    },
+
+    /**
+     * Makes the move of a shortest solution, which is looked up in the distance table computed by the solver.
+     */
+    OPTIMAL {
+        @Override
+        Position nextMove(PuzzleModel model, SplittableRandom random) {
+            return model.computeHint().orElse(null);
+        }
+    };
+
+    /**
+     * Chooses the next move of a game which is not over.
+     * @param model the model of the game.
+     * @param random the random numbers of the game.
+     * @return a legal move, or null if the player gives up since there is no move to make.
+     */
+    abstract Position nextMove(PuzzleModel model, SplittableRandom random);
+}
@@ -0,0 +1,6 @@
+/**
+ * Headless simulation of players, which drives the {@link puzzle.model.PuzzleModel} without JavaFX controls
+ * to measure its throughput and latency.
+ */
+
+package puzzle.simulation;
\ No newline at end of file
@@ -0,0 +1,76 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+import puzzle.model.PackedState;
+
+import java.util.Optional;
+
+/**
+ * A* search over packed states, guided by the {@link ManhattanHeuristic}.
+ * The costs and parents of the reached states are kept in {@link TranspositionTable}s,
+ * so the memory use is proportional to the number of reached states instead of the size of the board.
+ */
+public class AStarSearch implements Solver {
+
+    private long expandedNodes;
+
+    @Override
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * Searches for a shortest solution from a packed state.
+     * @param board the board the puzzle is played on.
+     * @param start the packed state to start from.
+     * @return a shortest solution, or an empty optional if the finish cannot be reached.
+     */
+    @Override
+    public Optional<Solution> solve(Board board, int start) {
+        var table = board.getTransitionTable();
+        var heuristic = new ManhattanHeuristic(board);
+        expandedNodes = 0;
+        var costs = new TranspositionTable(1024);
+        var parents = new TranspositionTable(1024);
+        var open = new LongMinHeap(1024);
+        costs.put(start, 0);
+        open.add(entry(heuristic.estimate(start), start));
+        while (!open.isEmpty()) {
+            var entry = open.poll();
+            var state = (int) entry;
+            var cost = costs.get(state);
+            if ((int) (entry >>> 32) != cost + heuristic.estimate(state)) {
+                continue;
+            }
+            if (PackedState.isSolved(board, state)) {
+                return Optional.of(Solution.ofStates(board, path(parents, start, state, cost)));
+            }
+            expandedNodes++;
+            for (var mask = table.getMoveMask(state); mask != 0; mask &= mask - 1) {
+                var next = table.successor(state, Integer.numberOfTrailingZeros(mask));
+                var previousCost = costs.get(next);
+                if (previousCost == TranspositionTable.NOT_FOUND || cost + 1 < previousCost) {
+                    costs.put(next, cost + 1);
+                    parents.put(next, state);
+                    open.add(entry(cost + 1 + heuristic.estimate(next), next));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static long entry(int estimate, int state) {
+        return (long) estimate << 32 | state;
+    }
+
+    private static int[] path(TranspositionTable parents, int start, int goal, int length) {
+        var states = new int[length + 1];
+        var state = goal;
+        for (var i = length; i > 0; i--) {
+            states[i] = state;
+            state = parents.get(state);
+        }
+        states[0] = start;
+        return states;
+    }
+}
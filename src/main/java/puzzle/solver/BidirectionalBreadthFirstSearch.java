@@ -0,0 +1,144 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+import puzzle.model.PackedState;
+import puzzle.model.TransitionTable;
+
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * Breadth-first search over packed states from the start and from the finish at the same time.
+ * The backward search follows the reverse move relation, see {@link TransitionTable#predecessor(int, int)}.
+ * It starts from both step sizes on the finish and never steps back through the finish,
+ * because the game is over once the piece reaches it.
+ *
+ * <p>The searches expand complete layers, always the side with the smaller frontier. When a layer reaches
+ * a state visited by the other side, the two halves are stitched together. Every state reached in the first
+ * such layer lies on a shortest solution, so the returned solution is as short as that of
+ * {@link PackedBreadthFirstSearch}, while far fewer states are expanded on large boards.
+ */
+public class BidirectionalBreadthFirstSearch implements Solver {
+
+    private long expandedNodes;
+
+    @Override
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * Searches for a shortest solution from a packed state.
+     * @param board the board the puzzle is played on.
+     * @param start the packed state to start from.
+     * @return a shortest solution, or an empty optional if the finish cannot be reached.
+     */
+    @Override
+    public Optional<Solution> solve(Board board, int start) {
+        var table = board.getTransitionTable();
+        expandedNodes = 0;
+        if (PackedState.isSolved(board, start)) {
+            return Optional.of(Solution.ofStates(board, new int[] {start}));
+        }
+        var finishCell = board.getFinish().row() * board.getCols() + board.getFinish().col();
+
+        var forwardVisited = new BitSet(table.getStateCount());
+        var parents = new int[table.getStateCount()];
+        var forwardFrontier = new IntRingBuffer(1024);
+        forwardVisited.set(start);
+        forwardFrontier.add(start);
+
+        var backwardVisited = new BitSet(table.getStateCount());
+        var children = new int[table.getStateCount()];
+        var backwardFrontier = new IntRingBuffer(1024);
+        for (var stepBit = 0; stepBit <= 1; stepBit++) {
+            var goal = finishCell << 1 | stepBit;
+            backwardVisited.set(goal);
+            children[goal] = -1;
+            backwardFrontier.add(goal);
+        }
+
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            var meeting = forwardFrontier.size() <= backwardFrontier.size()
+                    ? expandForward(table, forwardFrontier, forwardVisited, parents, backwardVisited)
+                    : expandBackward(table, finishCell, backwardFrontier, backwardVisited, children, forwardVisited);
+            if (meeting >= 0) {
+                return Optional.of(Solution.ofStates(board, stitch(parents, children, start, meeting)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Expands a complete layer of the forward search.
+     * @return a state visited by both searches, or -1 if the searches have not met.
+     */
+    private int expandForward(TransitionTable table, IntRingBuffer frontier, BitSet visited, int[] parents,
+                              BitSet otherVisited) {
+        for (var i = frontier.size(); i > 0; i--) {
+            var state = frontier.poll();
+            expandedNodes++;
+            for (var mask = table.getMoveMask(state); mask != 0; mask &= mask - 1) {
+                var next = table.successor(state, Integer.numberOfTrailingZeros(mask));
+                if (visited.get(next)) {
+                    continue;
+                }
+                visited.set(next);
+                parents[next] = state;
+                if (otherVisited.get(next)) {
+                    return next;
+                }
+                frontier.add(next);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Expands a complete layer of the backward search.
+     * @return a state visited by both searches, or -1 if the searches have not met.
+     */
+    private int expandBackward(TransitionTable table, int finishCell, IntRingBuffer frontier, BitSet visited,
+                               int[] children, BitSet otherVisited) {
+        for (var i = frontier.size(); i > 0; i--) {
+            var state = frontier.poll();
+            expandedNodes++;
+            for (var direction = 0; direction < PackedState.MAX_LEGAL_MOVES; direction++) {
+                var previous = table.predecessor(state, direction);
+                if (previous < 0 || (previous >>> 1) == finishCell || visited.get(previous)) {
+                    continue;
+                }
+                visited.set(previous);
+                children[previous] = state;
+                if (otherVisited.get(previous)) {
+                    return previous;
+                }
+                frontier.add(previous);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Joins the path from the start to the meeting state with the path from the meeting state to the finish.
+     * @param parents the parent of every state discovered by the forward search.
+     * @param children the child of every state discovered by the backward search, -1 on the finish.
+     * @param start the packed start state.
+     * @param meeting the state visited by both searches.
+     * @return the states from the start to the finish.
+     */
+    static int[] stitch(int[] parents, int[] children, int start, int meeting) {
+        var head = PackedBreadthFirstSearch.path(parents, start, meeting);
+        var tailLength = 0;
+        for (var state = children[meeting]; state >= 0; state = children[state]) {
+            tailLength++;
+        }
+        var states = new int[head.length + tailLength];
+        System.arraycopy(head, 0, states, 0, head.length);
+        var i = head.length;
+        for (var state = children[meeting]; state >= 0; state = children[state]) {
+            states[i++] = state;
+        }
+        return states;
+    }
+}
@@ -0,0 +1,81 @@
+package puzzle.solver;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A first-in-first-out queue of {@code int} values, stored in a growable circular array.
+ */
+class IntRingBuffer {
+
+    private int[] elements;
+
+    private int head;
+
+    private int size;
+
+    /**
+     * Creates an empty queue.
+     * @param initialCapacity the number of values the queue can hold without growing.
+     */
+    IntRingBuffer(int initialCapacity) {
+        elements = new int[Integer.highestOneBit(Math.max(2, initialCapacity) * 2 - 1)];
+    }
+
+    /**
+     * @return true if the queue is empty, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of values in the queue.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a value to the end of the queue.
+     * @param value the value to add.
+     */
+    void add(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes the value at the front of the queue.
+     * @return the removed value.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        var value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes every value from the queue.
+     */
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        var grown = new int[elements.length * 2];
+        for (var i = 0; i < size; i++) {
+            grown[i] = elements[(head + i) & (elements.length - 1)];
+        }
+        elements = grown;
+        head = 0;
+    }
+}
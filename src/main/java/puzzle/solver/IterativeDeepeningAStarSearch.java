@@ -0,0 +1,112 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+import puzzle.model.PackedState;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * Iterative deepening A* search over packed states, guided by the {@link ManhattanHeuristic}.
+ * It runs depth-first searches with a growing bound on the estimated solution length and only stores
+ * the current path, so its memory use is bounded by the length of the path and a bit per state.
+ * The depth-first search uses an explicit stack, so long paths do not overflow the call stack.
+ */
+public class IterativeDeepeningAStarSearch implements Solver {
+
+    private long expandedNodes;
+
+    private long nodeLimit = Long.MAX_VALUE;
+
+    private boolean nodeLimitReached;
+
+    @Override
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * Limits the number of states a search may expand.
+     * @param nodeLimit the maximal number of expanded states.
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * @return true if the last search gave up because it reached the node limit, false otherwise.
+     */
+    public boolean isNodeLimitReached() {
+        return nodeLimitReached;
+    }
+
+    /**
+     * Searches for a shortest solution from a packed state.
+     * @param board the board the puzzle is played on.
+     * @param start the packed state to start from.
+     * @return a shortest solution, or an empty optional if the finish cannot be reached
+     * or the node limit was reached.
+     */
+    @Override
+    public Optional<Solution> solve(Board board, int start) {
+        var table = board.getTransitionTable();
+        var heuristic = new ManhattanHeuristic(board);
+        expandedNodes = 0;
+        nodeLimitReached = false;
+        if (PackedState.isSolved(board, start)) {
+            return Optional.of(Solution.ofStates(board, new int[] {start}));
+        }
+        var onPath = new BitSet(table.getStateCount());
+        var states = new int[64];
+        var masks = new int[64];
+        var bound = heuristic.estimate(start);
+        while (true) {
+            var nextBound = Integer.MAX_VALUE;
+            var depth = 0;
+            states[0] = start;
+            masks[0] = table.getMoveMask(start);
+            onPath.set(start);
+            expandedNodes++;
+            while (depth >= 0) {
+                var state = states[depth];
+                if (masks[depth] == 0) {
+                    onPath.clear(state);
+                    depth--;
+                    continue;
+                }
+                var next = table.successor(state, Integer.numberOfTrailingZeros(masks[depth]));
+                masks[depth] &= masks[depth] - 1;
+                if (onPath.get(next)) {
+                    continue;
+                }
+                var estimate = depth + 1 + heuristic.estimate(next);
+                if (estimate > bound) {
+                    nextBound = Math.min(nextBound, estimate);
+                    continue;
+                }
+                if (PackedState.isSolved(board, next)) {
+                    var path = Arrays.copyOf(states, depth + 2);
+                    path[depth + 1] = next;
+                    return Optional.of(Solution.ofStates(board, path));
+                }
+                if (++expandedNodes > nodeLimit) {
+                    nodeLimitReached = true;
+                    return Optional.empty();
+                }
+                depth++;
+                if (depth == states.length) {
+                    states = Arrays.copyOf(states, depth * 2);
+                    masks = Arrays.copyOf(masks, depth * 2);
+                }
+                states[depth] = next;
+                masks[depth] = table.getMoveMask(next);
+                onPath.set(next);
+            }
+            if (nextBound == Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            bound = nextBound;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package puzzle.solver;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of {@code long} values, stored in a growable array.
+ */
+class LongMinHeap {
+
+    private long[] elements;
+
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     * @param initialCapacity the number of values the heap can hold without growing.
+     */
+    LongMinHeap(int initialCapacity) {
+        elements = new long[Math.max(2, initialCapacity)];
+    }
+
+    /**
+     * @return true if the heap is empty, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a value to the heap.
+     * @param value the value to add.
+     */
+    void add(long value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        var i = size++;
+        while (i > 0) {
+            var parent = (i - 1) >>> 1;
+            if (elements[parent] <= value) {
+                break;
+            }
+            elements[i] = elements[parent];
+            i = parent;
+        }
+        elements[i] = value;
+    }
+
+    /**
+     * Removes the smallest value of the heap.
+     * @return the removed value.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    long poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        var result = elements[0];
+        var value = elements[--size];
+        var i = 0;
+        while (true) {
+            var child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && elements[child + 1] < elements[child]) {
+                child++;
+            }
+            if (value <= elements[child]) {
+                break;
+            }
+            elements[i] = elements[child];
+            i = child;
+        }
+        elements[i] = value;
+        return result;
+    }
+}
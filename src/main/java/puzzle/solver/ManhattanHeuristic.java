@@ -0,0 +1,37 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+
+/**
+ * Estimates the number of moves from a packed state to the finish.
+ * A move changes the Manhattan distance to the finish by at most 3, so the distance divided by 3,
+ * rounded up, never overestimates. The estimate changes by at most 1 per move, so it is also consistent.
+ */
+final class ManhattanHeuristic {
+
+    private final int cols;
+
+    private final int finishRow;
+
+    private final int finishCol;
+
+    /**
+     * Creates the heuristic of a board.
+     * @param board the board the puzzle is played on.
+     */
+    ManhattanHeuristic(Board board) {
+        cols = board.getCols();
+        finishRow = board.getFinish().row();
+        finishCol = board.getFinish().col();
+    }
+
+    /**
+     * @param state the packed state.
+     * @return a lower bound of the number of moves to the finish.
+     */
+    int estimate(int state) {
+        var cell = state >>> 1;
+        var distance = Math.abs(cell / cols - finishRow) + Math.abs(cell % cols - finishCol);
+        return (distance + 2) / 3;
+    }
+}
@@ -0,0 +1,91 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+import puzzle.model.PackedState;
+
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Breadth-first search over packed states, see {@link PackedState}.
+ * The frontier is a ring buffer of {@code int}s, the visited states are kept in a bit set and the path is
+ * reconstructed from an array of parent states, so no object is created per explored state.
+ * States are discovered in the order of the directions, which makes the returned solution deterministic.
+ * The search can be cancelled by interrupting the thread it runs on.
+ */
+public class PackedBreadthFirstSearch implements Solver {
+
+    /**
+     * The number of expanded states between two checks of the interrupted flag, minus one.
+     */
+    private static final int INTERRUPT_CHECK_MASK = (1 << 12) - 1;
+
+    private long expandedNodes;
+
+    @Override
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * Searches for a shortest solution from a packed state.
+     * @param board the board the puzzle is played on.
+     * @param start the packed state to start from.
+     * @return a shortest solution, or an empty optional if the finish cannot be reached.
+     * @throws CancellationException if the thread is interrupted during the search.
+     */
+    @Override
+    public Optional<Solution> solve(Board board, int start) {
+        var table = board.getTransitionTable();
+        expandedNodes = 0;
+        if (PackedState.isSolved(board, start)) {
+            return Optional.of(Solution.ofStates(board, new int[] {start}));
+        }
+        var visited = new BitSet(table.getStateCount());
+        var parents = new int[table.getStateCount()];
+        var frontier = new IntRingBuffer(1024);
+        visited.set(start);
+        frontier.add(start);
+        while (!frontier.isEmpty()) {
+            var state = frontier.poll();
+            if ((++expandedNodes & INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("The search was interrupted");
+            }
+            for (var mask = table.getMoveMask(state); mask != 0; mask &= mask - 1) {
+                var next = table.successor(state, Integer.numberOfTrailingZeros(mask));
+                if (visited.get(next)) {
+                    continue;
+                }
+                visited.set(next);
+                parents[next] = state;
+                if (PackedState.isSolved(board, next)) {
+                    return Optional.of(Solution.ofStates(board, path(parents, start, next)));
+                }
+                frontier.add(next);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Follows the parent states back to the start.
+     * @param parents the parent of every discovered state.
+     * @param start the packed start state.
+     * @param goal the packed solved state.
+     * @return the states from the start to the goal.
+     */
+    static int[] path(int[] parents, int start, int goal) {
+        var length = 1;
+        for (var state = goal; state != start; state = parents[state]) {
+            length++;
+        }
+        var states = new int[length];
+        var state = goal;
+        for (var i = length - 1; i >= 0; i--) {
+            states[i] = state;
+            state = parents[state];
+        }
+        return states;
+    }
+}
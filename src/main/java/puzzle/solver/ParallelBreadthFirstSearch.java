@@ -0,0 +1,263 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+import puzzle.model.PackedState;
+import puzzle.model.TransitionTable;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous breadth-first search over packed states, see {@link PackedState}.
+ * Every layer of the frontier is split into ranges which are expanded in parallel on a {@link ForkJoinPool}.
+ * The visited states are marked lock-free in a bit set with compare-and-set.
+ *
+ * <p>The result does not depend on the number of threads: it is the same solution as that of
+ * {@link PackedBreadthFirstSearch}. The sequential search discovers a state from the first state of the queue
+ * which has a move to it, trying the directions in order. Here every state in the queue has a position, and every
+ * discovered state keeps the smallest rank {@code 4 * position + direction} of the moves leading to it,
+ * again with compare-and-set. Sorting the next layer by rank gives the same order as the sequential queue,
+ * and the rank also identifies the parent of the state.
+ */
+public class ParallelBreadthFirstSearch implements Solver {
+
+    /**
+     * The number of frontier states below which a range is not split any further.
+     */
+    private static final int SPLIT_THRESHOLD = 2048;
+
+    private final ForkJoinPool pool;
+
+    private long expandedNodes;
+
+    /**
+     * Creates a search which runs on the common pool.
+     */
+    public ParallelBreadthFirstSearch() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a search which runs on the given pool.
+     * @param pool the pool the layers are expanded on.
+     */
+    public ParallelBreadthFirstSearch(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return the number of states expanded by the last search. Unlike the sequential search,
+     * the layer in which the finish is reached is always expanded completely.
+     */
+    @Override
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * Searches for a shortest solution from a packed state.
+     * @param board the board the puzzle is played on.
+     * @param start the packed state to start from.
+     * @return a shortest solution, or an empty optional if the finish cannot be reached.
+     */
+    @Override
+    public Optional<Solution> solve(Board board, int start) {
+        expandedNodes = 0;
+        if (PackedState.isSolved(board, start)) {
+            return Optional.of(Solution.ofStates(board, new int[] {start}));
+        }
+        var search = new Search(board.getTransitionTable(), start);
+        var layerStart = 0;
+        var layerEnd = 1;
+        while (layerStart < layerEnd) {
+            pool.invoke(new Expansion(search, layerStart, layerEnd));
+            expandedNodes += layerEnd - layerStart;
+            var nextEnd = search.size.get();
+            search.sortByRank(layerEnd, nextEnd);
+            for (var i = layerEnd; i < nextEnd; i++) {
+                if (PackedState.isSolved(board, search.queue[i])) {
+                    return Optional.of(Solution.ofStates(board, search.path(start, i)));
+                }
+            }
+            layerStart = layerEnd;
+            layerEnd = nextEnd;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The shared data of a single search.
+     */
+    private static final class Search {
+
+        private static final int WORD_SHIFT = 6;
+
+        private final TransitionTable table;
+
+        /**
+         * The discovered states in the order of the sequential queue, every layer sorted once it is complete.
+         */
+        private final int[] queue;
+
+        /**
+         * The number of states in the queue.
+         */
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * The visited states, 64 per word.
+         */
+        private final AtomicLongArray visited;
+
+        /**
+         * The smallest rank of the moves leading to each discovered state, {@code Long.MAX_VALUE} for the others.
+         */
+        private final AtomicLongArray ranks;
+
+        /**
+         * Creates the data of a search with only the start state in the queue.
+         * The start state has the smallest rank of all.
+         */
+        private Search(TransitionTable table, int start) {
+            this.table = table;
+            queue = new int[table.getStateCount()];
+            visited = new AtomicLongArray((table.getStateCount() + 63) >>> WORD_SHIFT);
+            ranks = new AtomicLongArray(table.getStateCount());
+            for (var i = 0; i < table.getStateCount(); i++) {
+                ranks.setPlain(i, Long.MAX_VALUE);
+            }
+            ranks.setPlain(start, -1);
+            markVisited(start);
+            queue[size.getAndIncrement()] = start;
+        }
+
+        /**
+         * Marks a state as visited.
+         * @param state the packed state.
+         * @return true if this call marked the state, false if it had already been visited.
+         */
+        private boolean markVisited(int state) {
+            var index = state >>> WORD_SHIFT;
+            var bit = 1L << state;
+            var word = visited.get(index);
+            while ((word & bit) == 0) {
+                var witness = visited.compareAndExchange(index, word, word | bit);
+                if (witness == word) {
+                    return true;
+                }
+                word = witness;
+            }
+            return false;
+        }
+
+        /**
+         * Lowers the rank of a state if the given rank is smaller.
+         * States of earlier layers always have a smaller rank, so they are never changed.
+         * @param state the packed state.
+         * @param rank the rank of a move leading to the state.
+         */
+        private void lowerRank(int state, long rank) {
+            var current = ranks.get(state);
+            while (rank < current) {
+                var witness = ranks.compareAndExchange(state, current, rank);
+                if (witness == current) {
+                    return;
+                }
+                current = witness;
+            }
+        }
+
+        /**
+         * Expands the states of the queue in a range.
+         * @param from the position of the first state, inclusive.
+         * @param to the position of the last state, exclusive.
+         */
+        private void expand(int from, int to) {
+            for (var i = from; i < to; i++) {
+                var state = queue[i];
+                for (var mask = table.getMoveMask(state); mask != 0; mask &= mask - 1) {
+                    var direction = Integer.numberOfTrailingZeros(mask);
+                    var next = table.successor(state, direction);
+                    if (markVisited(next)) {
+                        queue[size.getAndIncrement()] = next;
+                    }
+                    lowerRank(next, (long) i << 2 | direction);
+                }
+            }
+        }
+
+        /**
+         * Sorts a complete layer of the queue by the ranks of its states.
+         * @param from the position of the first state of the layer, inclusive.
+         * @param to the position of the last state of the layer, exclusive.
+         */
+        private void sortByRank(int from, int to) {
+            var sorted = new long[to - from];
+            for (var i = from; i < to; i++) {
+                sorted[i - from] = ranks.get(queue[i]);
+            }
+            Arrays.parallelSort(sorted);
+            for (var i = from; i < to; i++) {
+                var rank = sorted[i - from];
+                queue[i] = table.successor(queue[(int) (rank >>> 2)], (int) (rank & 3));
+            }
+        }
+
+        /**
+         * Follows the ranks back to the start.
+         * @param start the packed start state.
+         * @param goal the position of the solved state in the queue.
+         * @return the states from the start to the goal.
+         */
+        private int[] path(int start, int goal) {
+            var length = 1;
+            for (var state = queue[goal]; state != start; state = parent(state)) {
+                length++;
+            }
+            var states = new int[length];
+            var state = queue[goal];
+            for (var i = length - 1; i > 0; i--) {
+                states[i] = state;
+                state = parent(state);
+            }
+            states[0] = start;
+            return states;
+        }
+
+        private int parent(int state) {
+            return queue[(int) (ranks.get(state) >>> 2)];
+        }
+    }
+
+    /**
+     * Expands a range of a layer, splitting it while it is large.
+     */
+    private static final class Expansion extends RecursiveAction {
+
+        private final Search search;
+
+        private final int from;
+
+        private final int to;
+
+        private Expansion(Search search, int from, int to) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                search.expand(from, to);
+                return;
+            }
+            var middle = (from + to) >>> 1;
+            invokeAll(new Expansion(search, from, middle), new Expansion(search, middle, to));
+        }
+    }
+}
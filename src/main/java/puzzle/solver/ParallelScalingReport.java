@@ -0,0 +1,70 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+import puzzle.model.BoardGenerator;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how the parallel breadth-first search scales with the number of threads,
+ * on the original board and on generated boards of size 256 and 2048.
+ * Every run is checked to return the same solution as the sequential search.
+ *
+ * <p>Usage: {@code ParallelScalingReport [maxThreads]}, the default is the number of available processors.
+ */
+public class ParallelScalingReport {
+
+    private static final double WALL_DENSITY = 0.2;
+
+    private static final double COIN_DENSITY = 0.1;
+
+    private static final long SEED = 42;
+
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) {
+        var maxThreads = args.length == 0 ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(args[0]);
+        report("default 8x8", Board.DEFAULT, maxThreads);
+        for (var size : new int[] {256, 2048}) {
+            report(String.format("generated %dx%d", size, size),
+                    BoardGenerator.generate(size, size, WALL_DENSITY, COIN_DENSITY, SEED), maxThreads);
+        }
+    }
+
+    /**
+     * Runs the sequential search and the parallel search with 1 to {@code maxThreads} threads on a board,
+     * and prints the best running time of each.
+     * @param name the name of the board.
+     * @param board the board to solve.
+     * @param maxThreads the largest number of threads to measure.
+     */
+    static void report(String name, Board board, int maxThreads) {
+        board.getTransitionTable();
+        var sequential = new PackedBreadthFirstSearch();
+        var expected = sequential.solve(board);
+        var sequentialMillis = bestMillis(sequential, board);
+        System.out.printf("%s, solution length %s%n", name, expected.map(s -> String.valueOf(s.length())).orElse("none"));
+        System.out.printf("  %-10s %10s %8s%n", "threads", "time (ms)", "speedup");
+        System.out.printf("  %-10s %10.1f %8s%n", "sequential", sequentialMillis, "1.00");
+        for (var threads = 1; threads <= maxThreads; threads++) {
+            try (var pool = new ForkJoinPool(threads)) {
+                var parallel = new ParallelBreadthFirstSearch(pool);
+                if (!parallel.solve(board).equals(expected)) {
+                    throw new AssertionError("Different solution with " + threads + " threads");
+                }
+                var millis = bestMillis(parallel, board);
+                System.out.printf("  %-10d %10.1f %8.2f%n", threads, millis, sequentialMillis / millis);
+            }
+        }
+    }
+
+    private static double bestMillis(Solver solver, Board board) {
+        var best = Double.MAX_VALUE;
+        for (var i = 0; i < RUNS; i++) {
+            var startTime = System.nanoTime();
+            solver.solve(board);
+            best = Math.min(best, (System.nanoTime() - startTime) / 1_000_000.0);
+        }
+        return best;
+    }
+}
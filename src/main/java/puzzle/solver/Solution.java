@@ -0,0 +1,65 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+import puzzle.model.Direction;
+import puzzle.model.PackedState;
+import puzzle.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reprezents a solution of the puzzle found by a solver.
+ * @param start the position the piece starts from.
+ * @param moves the positions the piece moves to, in order.
+ */
+public record Solution(Position start, List<Position> moves) {
+
+    /**
+     * Creates a solution from a sequence of packed states.
+     * @param board the board the puzzle is played on.
+     * @param states the packed states from the start to the solved state.
+     * @return the solution.
+     */
+    static Solution ofStates(Board board, int[] states) {
+        List<Position> moves = new ArrayList<>(states.length - 1);
+        for (var i = 1; i < states.length; i++) {
+            moves.add(PackedState.position(board, states[i]));
+        }
+        return new Solution(PackedState.position(board, states[0]), List.copyOf(moves));
+    }
+
+    /**
+     * @return the number of moves of the solution.
+     */
+    public int length() {
+        return moves.size();
+    }
+
+    /**
+     * @return the directions of the moves, in order.
+     */
+    public List<Direction> directions() {
+        List<Direction> directions = new ArrayList<>(moves.size());
+        var from = start;
+        for (var to : moves) {
+            directions.add(Direction.of(from, to));
+            from = to;
+        }
+        return directions;
+    }
+
+    /**
+     * Makes a string from the numbered directions of the moves.
+     * @return the moves of the solution, one per line.
+     */
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        var directions = directions();
+        for (var i = 0; i < directions.size(); i++) {
+            sb.append(i + 1).append(". ").append(directions.get(i)).append(' ').append(moves.get(i)).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package puzzle.solver;
+
+import org.tinylog.Logger;
+import puzzle.model.Board;
+import puzzle.model.Direction;
+import puzzle.model.PackedState;
+import puzzle.model.Position;
+import puzzle.model.PuzzleState;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores the solutions of boards on disk, so that a board is only solved once.
+ * The solutions are keyed by a SHA-256 hash of the layout of the board and the version of the rules,
+ * so a changed layout gets a new key and its old solution is never used.
+ *
+ * <p>Every solution is stored in its own file named after the key. The file holds the magic number {@code PZLS},
+ * the key, the number of moves and the directions of the moves, 2 bits each, four to a byte.
+ * A loaded solution is replayed from the start of the board and only used if every move is legal
+ * and the last one reaches the finish.
+ */
+public class SolutionCache {
+
+    private static final int MAGIC = 0x505A4C53;
+
+    /**
+     * The version of the rules of the puzzle, part of every key. It has to be changed whenever the rules change.
+     */
+    private static final int RULES_VERSION = 1;
+
+    private static final String EXTENSION = ".sol";
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Path directory;
+
+    /**
+     * Creates a cache which stores its files in a directory.
+     * @param directory the directory of the cache, it is created when the first solution is stored.
+     */
+    public SolutionCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the solution of a board from the cache, or solves the board and stores the solution.
+     * @param board the board to solve.
+     * @param solver the solver used if the solution is not cached.
+     * @return a solution from the start of the board, or an empty optional if the finish cannot be reached.
+     */
+    public Optional<Solution> solve(Board board, Solver solver) {
+        var cached = load(board);
+        if (cached.isPresent()) {
+            Logger.debug("Loaded the solution from the cache");
+            return cached;
+        }
+        var solution = solver.solve(board);
+        solution.ifPresent(s -> store(board, s));
+        return solution;
+    }
+
+    /**
+     * Loads the solution of a board, if it is in the cache and it solves the board.
+     * @param board the board the solution is looked up for.
+     * @return the cached solution, or an empty optional if there is none or it is not valid.
+     */
+    public Optional<Solution> load(Board board) {
+        var key = key(board);
+        try (var in = new DataInputStream(Files.newInputStream(path(key)))) {
+            if (in.readInt() != MAGIC) {
+                Logger.warn("Ignoring cached solution {}: not a solution file", key);
+                return Optional.empty();
+            }
+            var storedKey = in.readNBytes(key.length() / 2);
+            if (!HexFormat.of().formatHex(storedKey).equals(key)) {
+                Logger.warn("Ignoring cached solution {}: key mismatch", key);
+                return Optional.empty();
+            }
+            var length = in.readInt();
+            // a shortest solution visits every state at most once, and the bound keeps the byte count in an int
+            if (length < 0 || length > PackedState.stateCount(board)) {
+                Logger.warn("Ignoring cached solution {}: invalid length", key);
+                return Optional.empty();
+            }
+            var packed = in.readNBytes((length + 3) / 4);
+            if (packed.length != (length + 3) / 4) {
+                Logger.warn("Ignoring cached solution {}: truncated", key);
+                return Optional.empty();
+            }
+            var directions = new Direction[length];
+            for (var i = 0; i < length; i++) {
+                directions[i] = DIRECTIONS[(packed[i >>> 2] >>> ((i & 3) * 2)) & 3];
+            }
+            var solution = replay(board, directions);
+            if (solution.isEmpty()) {
+                Logger.warn("Ignoring cached solution {}: it does not solve the board", key);
+            }
+            return solution;
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            Logger.warn("Failed to read cached solution {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the solution of a board, replacing the file atomically so that readers never see a partial file.
+     * Failures are only logged, since the solution can always be searched for again.
+     * @param board the board the solution belongs to.
+     * @param solution a solution from the start of the board.
+     */
+    public void store(Board board, Solution solution) {
+        var key = key(board);
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.write(HexFormat.of().parseHex(key));
+            var directions = solution.directions();
+            out.writeInt(directions.size());
+            var packed = new byte[(directions.size() + 3) / 4];
+            for (var i = 0; i < directions.size(); i++) {
+                packed[i >>> 2] |= (byte) (directions.get(i).ordinal() << ((i & 3) * 2));
+            }
+            out.write(packed);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        try {
+            Files.createDirectories(directory);
+            var temporary = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temporary, bytes.toByteArray());
+            Files.move(temporary, path(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Logger.warn("Failed to store solution {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Path path(String key) {
+        return directory.resolve(key + EXTENSION);
+    }
+
+    /**
+     * Replays moves from the start of a board with the rules of {@link PuzzleState}.
+     * @param board the board the moves are played on.
+     * @param directions the directions of the moves.
+     * @return the solution made of the moves, or an empty optional if a move is illegal
+     * or the moves do not end on the finish.
+     */
+    static Optional<Solution> replay(Board board, Direction[] directions) {
+        var state = new PuzzleState(board);
+        List<Position> moves = new ArrayList<>(directions.length);
+        for (var direction : directions) {
+            if (state.isSolved()) {
+                return Optional.empty();
+            }
+            var to = new Position(state.getPieceRow() + direction.getRowChange() * state.getStepSize(),
+                    state.getPieceCol() + direction.getColChange() * state.getStepSize());
+            if (!state.isOnBoard(to) || !state.isLegalMove(to)) {
+                return Optional.empty();
+            }
+            state.makeMove(to);
+            moves.add(to);
+        }
+        return state.isSolved() ? Optional.of(new Solution(board.getStart(), List.copyOf(moves))) : Optional.empty();
+    }
+
+    /**
+     * Computes the key of a board from the version of the rules and the complete layout of the board,
+     * in time linear in the number of cells. The key also identifies the level of a {@link puzzle.model.MoveLog}.
+     * @param board the board.
+     * @return the SHA-256 hash of the board as a hexadecimal string.
+     */
+    public static String key(Board board) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+        var cells = board.getRows() * board.getCols();
+        var buffer = new byte[(int) Math.min(cells, 1 << 16)];
+        var header = new int[] {RULES_VERSION, board.getRows(), board.getCols(),
+                board.getStart().row(), board.getStart().col()};
+        for (var value : header) {
+            digest.update(new byte[] {(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value});
+        }
+        for (var cell = 0; cell < cells; cell += buffer.length) {
+            var count = Math.min(buffer.length, cells - cell);
+            for (var i = 0; i < count; i++) {
+                buffer[i] = (byte) board.getSquare(cell + i).ordinal();
+            }
+            digest.update(buffer, 0, count);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
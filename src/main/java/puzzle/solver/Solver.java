@@ -0,0 +1,52 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+import puzzle.model.PackedState;
+import puzzle.model.PuzzleState;
+
+import java.util.Optional;
+
+/**
+ * A solver of the puzzle which searches over packed states, see {@link PackedState}.
+ */
+public interface Solver {
+
+    /**
+     * Searches for a solution from a packed state.
+     * @param board the board the puzzle is played on.
+     * @param start the packed state to start from.
+     * @return a solution, or an empty optional if the finish cannot be reached.
+     */
+    Optional<Solution> solve(Board board, int start);
+
+    /**
+     * @return the number of states expanded by the last search.
+     */
+    long getExpandedNodes();
+
+    /**
+     * Searches for a solution from the start position of the board.
+     * @param board the board the puzzle is played on.
+     * @return a solution, or an empty optional if the finish cannot be reached.
+     */
+    default Optional<Solution> solve(Board board) {
+        return solve(board, PackedState.initial(board));
+    }
+
+    /**
+     * Searches for a solution from a state.
+     * @param state the state to start from.
+     * @return a solution, or an empty optional if the finish cannot be reached.
+     */
+    default Optional<Solution> solve(PuzzleState state) {
+        return solve(state.getBoard(), state.getPackedState());
+    }
+
+    /**
+     * Searches for a solution from a state and prints it to the standard output.
+     * @param state the state to start from.
+     */
+    default void solveAndPrintSolution(PuzzleState state) {
+        solve(state).ifPresentOrElse(System.out::print, () -> System.out.println("No solution found"));
+    }
+}
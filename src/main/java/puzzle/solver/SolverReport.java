@@ -0,0 +1,85 @@
+package puzzle.solver;
+
+import puzzle.model.Board;
+import puzzle.model.BoardGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compares the solvers on the original board and on generated boards,
+ * reporting the solution length, the number of expanded states and the running time of each.
+ *
+ * <p>Usage: {@code SolverReport [size|level file...]}, where every size generates a square board of that size
+ * and every level file is loaded with {@link Board#load(Path)}.
+ * Without arguments boards of size 64, 256 and 1024 are generated.
+ */
+public class SolverReport {
+
+    private static final double WALL_DENSITY = 0.2;
+
+    private static final double COIN_DENSITY = 0.1;
+
+    private static final long SEED = 42;
+
+    private static final long IDA_STAR_NODE_LIMIT = 50_000_000;
+
+    public static void main(String[] args) throws IOException {
+        var boards = args.length == 0 ? new String[] {"64", "256", "1024"} : args;
+        report("default 8x8", Board.DEFAULT);
+        for (var board : boards) {
+            if (board.chars().allMatch(Character::isDigit)) {
+                var n = Integer.parseInt(board);
+                report(String.format("generated %dx%d", n, n),
+                        BoardGenerator.generate(n, n, WALL_DENSITY, COIN_DENSITY, SEED));
+            } else {
+                var startTime = System.nanoTime();
+                var level = Board.load(Path.of(board));
+                report(String.format("%s %dx%d, loaded in %.1f ms", board, level.getRows(), level.getCols(),
+                        (System.nanoTime() - startTime) / 1_000_000.0), level);
+            }
+        }
+    }
+
+    /**
+     * Runs every solver on a board and prints the results.
+     * @param name the name of the board.
+     * @param board the board to solve.
+     */
+    static void report(String name, Board board) {
+        board.getTransitionTable();
+        System.out.printf("%s%n", name);
+        System.out.printf("  %-10s %8s %14s %10s%n", "solver", "length", "expanded", "time (ms)");
+        long breadthFirstExpanded = -1;
+        for (var entry : solvers().entrySet()) {
+            var solver = entry.getValue();
+            var startTime = System.nanoTime();
+            Optional<Solution> solution = solver.solve(board);
+            var millis = (System.nanoTime() - startTime) / 1_000_000.0;
+            var length = solution.map(s -> String.valueOf(s.length()))
+                    .orElse(solver instanceof IterativeDeepeningAStarSearch ida && ida.isNodeLimitReached() ? "limit" : "none");
+            if (breadthFirstExpanded < 0) {
+                breadthFirstExpanded = solver.getExpandedNodes();
+            }
+            System.out.printf("  %-10s %8s %14d %10.1f  (%.1f%% of BFS)%n", entry.getKey(), length,
+                    solver.getExpandedNodes(), millis, 100.0 * solver.getExpandedNodes() / Math.max(1, breadthFirstExpanded));
+        }
+    }
+
+    /**
+     * @return the compared solvers by name, the breadth-first search first.
+     */
+    static Map<String, Solver> solvers() {
+        Map<String, Solver> solvers = new LinkedHashMap<>();
+        solvers.put("BFS", new PackedBreadthFirstSearch());
+        solvers.put("BiBFS", new BidirectionalBreadthFirstSearch());
+        solvers.put("A*", new AStarSearch());
+        var idaStar = new IterativeDeepeningAStarSearch();
+        idaStar.setNodeLimit(IDA_STAR_NODE_LIMIT);
+        solvers.put("IDA*", idaStar);
+        return solvers;
+    }
+}
@@ -0,0 +1,155 @@
+package puzzle.solver;
+
+import java.util.Arrays;
+
+/**
+ * A hash table from 64-bit search keys to {@code int} values, used by solvers to recognize states
+ * that were already reached through a different sequence of moves.
+ * It uses open addressing with linear probing over primitive arrays, so storing an entry does not create objects.
+ */
+public class TranspositionTable {
+
+    /**
+     * The value returned by {@link #get(long)} if the key is not in the table.
+     */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    /**
+     * The key which marks an empty slot. An entry with this key is stored separately.
+     */
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    private boolean hasEmptyKey;
+
+    private int emptyKeyValue;
+
+    /**
+     * Creates an empty table.
+     * @param expectedSize the number of entries the table can hold without resizing.
+     */
+    public TranspositionTable(int expectedSize) {
+        var capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * @return the number of entries in the table.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param key the search key.
+     * @return true if the table contains the key, false otherwise.
+     */
+    public boolean contains(long key) {
+        return get(key) != NOT_FOUND;
+    }
+
+    /**
+     * @param key the search key.
+     * @return the value stored with the key, or {@link #NOT_FOUND} if the key is not in the table.
+     */
+    public int get(long key) {
+        if (key == EMPTY) {
+            return hasEmptyKey ? emptyKeyValue : NOT_FOUND;
+        }
+        for (var i = slot(key); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Stores a value with the key, unless the key is already in the table.
+     * @param key the search key.
+     * @param value the value to store.
+     * @return true if the key was not in the table before, false otherwise.
+     */
+    public boolean putIfAbsent(long key, int value) {
+        return insert(key, value, false);
+    }
+
+    /**
+     * Stores a value with the key, replacing the previous value if there was any.
+     * @param key the search key.
+     * @param value the value to store.
+     * @return true if the key was not in the table before, false otherwise.
+     */
+    public boolean put(long key, int value) {
+        return insert(key, value, true);
+    }
+
+    /**
+     * Removes every entry from the table, keeping its capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        hasEmptyKey = false;
+    }
+
+    private boolean insert(long key, int value, boolean replace) {
+        if (key == EMPTY) {
+            var added = !hasEmptyKey;
+            if (added || replace) {
+                emptyKeyValue = value;
+            }
+            if (added) {
+                hasEmptyKey = true;
+                size++;
+            }
+            return added;
+        }
+        var i = slot(key);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                if (replace) {
+                    values[i] = value;
+                }
+                return false;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return true;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (var j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                var i = slot(oldKeys[j]);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
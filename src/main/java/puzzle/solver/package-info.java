@@ -0,0 +1,5 @@
+/**
+ * Solvers of the puzzle which are specialized for its compact state representations.
+ */
+
+package puzzle.solver;
\ No newline at end of file
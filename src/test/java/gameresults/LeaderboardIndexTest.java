@@ -0,0 +1,107 @@
+package gameresults;
+
+import gameresult.OnePlayerGameResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the LeaderboardIndex class
+ */
+class LeaderboardIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private static OnePlayerGameResult result(boolean solved, int numberOfMoves, int seconds, int minute) {
+        return OnePlayerGameResult.builder()
+                .playerName("player" + minute)
+                .solved(solved)
+                .numberOfMoves(numberOfMoves)
+                .duration(Duration.ofSeconds(seconds))
+                .created(ZonedDateTime.of(2024, 5, 1, 12, minute, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+
+    @Test
+    void keepsTheBestResults() {
+        var random = new Random(0);
+        var index = new LeaderboardIndex(5);
+        List<OnePlayerGameResult> all = new ArrayList<>();
+        for (var i = 0; i < 60; i++) {
+            var result = result(random.nextInt(4) > 0, 6 + random.nextInt(10), 10 + random.nextInt(5), i);
+            all.add(result);
+            index.offer(result);
+        }
+        var expected = all.stream().filter(OnePlayerGameResult::isSolved).sorted(LeaderboardIndex.ORDER).limit(5).toList();
+        assertEquals(expected, index.getTop());
+    }
+
+    @Test
+    void offer() {
+        var index = new LeaderboardIndex(2);
+        assertFalse(index.offer(result(false, 1, 10, 0)));
+        assertTrue(index.offer(result(true, 8, 10, 1)));
+        assertTrue(index.offer(result(true, 6, 20, 2)));
+        assertFalse(index.offer(result(true, 8, 10, 3)));
+        assertTrue(index.offer(result(true, 6, 10, 4)));
+        assertEquals(List.of(result(true, 6, 10, 4), result(true, 6, 20, 2)), index.getTop());
+    }
+
+    @Test
+    void missingDurationAndCreated() throws IOException {
+        var noDuration = OnePlayerGameResult.builder()
+                .playerName("noDuration")
+                .solved(true)
+                .numberOfMoves(6)
+                .created(ZonedDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+        var noCreated = OnePlayerGameResult.builder()
+                .playerName("noCreated")
+                .solved(true)
+                .numberOfMoves(6)
+                .duration(Duration.ofSeconds(10))
+                .build();
+        var index = new LeaderboardIndex(3);
+        assertTrue(index.offer(noDuration));
+        assertTrue(index.offer(noCreated));
+        assertTrue(index.offer(result(true, 6, 10, 1)));
+        assertFalse(index.offer(result(true, 7, 10, 2)));
+        var expected = List.of(result(true, 6, 10, 1), noCreated, noDuration);
+        assertEquals(expected, index.getTop());
+        var path = directory.resolve("results.jsonl.top");
+        index.save(path, 1);
+        assertEquals(expected, LeaderboardIndex.load(path, 3, 1).orElseThrow().getTop());
+    }
+
+    @Test
+    void saveAndLoad() throws IOException {
+        var path = directory.resolve("results.jsonl.top");
+        var index = new LeaderboardIndex(3);
+        index.offer(result(true, 7, 10, 0));
+        index.offer(result(true, 6, 10, 1));
+        index.save(path, 123);
+        assertEquals(index.getTop(), LeaderboardIndex.load(path, 3, 123).orElseThrow().getTop());
+        assertTrue(LeaderboardIndex.load(path, 3, 124).isEmpty());
+        assertTrue(LeaderboardIndex.load(path, 4, 123).isEmpty());
+        assertTrue(LeaderboardIndex.load(directory.resolve("missing.top"), 3, 0).isEmpty());
+        Files.writeString(path, "{\"capacity\":");
+        assertTrue(LeaderboardIndex.load(path, 3, 123).isEmpty());
+    }
+
+    @Test
+    void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new LeaderboardIndex(0));
+    }
+}
@@ -0,0 +1,37 @@
+package gameresults;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the LogLinearBuckets class
+ */
+class LogLinearBucketsTest {
+
+    /**
+     * Tests if every value falls into a bucket whose middle is within 1/32 of it.
+     */
+    @Test
+    void bucket() {
+        for (long value = 0; value < 1L << 40; value = value * 3 / 2 + 1) {
+            var middle = LogLinearBuckets.bucketMiddle(LogLinearBuckets.bucket(value));
+            assertTrue(Math.abs(middle - value) <= value / 32, value + " counted as " + middle);
+        }
+        for (var exponent = 5; exponent < 62; exponent++) {
+            var value = 1L << exponent;
+            assertEquals(value + value / 32, LogLinearBuckets.bucketMiddle(LogLinearBuckets.bucket(value)));
+        }
+        assertEquals(LogLinearBuckets.BUCKETS - 1, LogLinearBuckets.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void bucketMiddleIsInTheBucket() {
+        for (long value = 0; value < 1 << 20; value += 1 + value / 100) {
+            var bucket = LogLinearBuckets.bucket(value);
+            assertEquals(bucket, LogLinearBuckets.bucket(LogLinearBuckets.bucketMiddle(bucket)), "value " + value);
+        }
+        var last = LogLinearBuckets.bucket(Long.MAX_VALUE);
+        assertEquals(last, LogLinearBuckets.bucket(LogLinearBuckets.bucketMiddle(last)));
+    }
+}
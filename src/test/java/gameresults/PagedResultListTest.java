@@ -0,0 +1,103 @@
+package gameresults;
+
+import gameresult.OnePlayerGameResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the PagedResultList class
+ */
+class PagedResultListTest {
+
+    @TempDir
+    Path directory;
+
+    private static OnePlayerGameResult result(int i) {
+        return OnePlayerGameResult.builder()
+                .playerName("player" + i)
+                .solved(i % 4 != 0)
+                .numberOfMoves(6 + i % 20)
+                .duration(Duration.ofMillis(30_000 + i * 1_001L))
+                .created(ZonedDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneId.of("Europe/Budapest")).plusMinutes(i))
+                .build();
+    }
+
+    private static List<OnePlayerGameResult> appendResults(ResultStore store, int from, int count) {
+        List<OnePlayerGameResult> results = new ArrayList<>();
+        for (var i = from; i < from + count; i++) {
+            results.add(result(i));
+            store.append(results.getLast()).join();
+        }
+        return results;
+    }
+
+    private ResultStore openStore(long segmentSize) throws IOException {
+        return new ResultStore(directory.resolve("results"), ResultStore.SyncPolicy.NEVER, Duration.ZERO, segmentSize,
+                Duration.ZERO);
+    }
+
+    @Test
+    void rowsAreReadNewestFirst() throws IOException {
+        var count = PagedResultList.PAGE_SIZE * (PagedResultList.MAX_CACHED_PAGES + 2) + 17;
+        try (var store = openStore(ResultStore.SEGMENT_SIZE)) {
+            var results = appendResults(store, 0, count);
+            try (var list = PagedResultList.open(store)) {
+                assertEquals(count, list.size());
+                for (var i = 0; i < count; i++) {
+                    assertEquals(LeaderboardRow.of(results.get(count - 1 - i)), list.get(i));
+                    assertTrue(list.cachedPageCount() <= PagedResultList.MAX_CACHED_PAGES);
+                }
+                assertThrows(IndexOutOfBoundsException.class, () -> list.get(count));
+                assertThrows(UnsupportedOperationException.class, () -> list.add(list.get(0)));
+            }
+        }
+    }
+
+    @Test
+    void pagesDoNotSpanSegments() throws IOException {
+        try (var store = openStore(20_000)) {
+            var results = appendResults(store, 0, 1000);
+            assertTrue(store.readSegments(List::size) > 4);
+            try (var list = PagedResultList.open(store)) {
+                assertTrue(store.compact());
+                assertEquals(results.size(), list.size());
+                for (var i = 0; i < results.size(); i++) {
+                    assertEquals(LeaderboardRow.of(results.get(results.size() - 1 - i)), list.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void incompleteLastLineIsIgnored() throws IOException {
+        try (var store = openStore(ResultStore.SEGMENT_SIZE)) {
+            var results = appendResults(store, 0, 3);
+            Files.writeString(store.readSegments(List::getLast), "{\"playerName\":\"be", StandardCharsets.UTF_8,
+                    StandardOpenOption.APPEND);
+            try (var list = PagedResultList.open(store)) {
+                assertEquals(List.of(LeaderboardRow.of(results.get(2)), LeaderboardRow.of(results.get(1)),
+                        LeaderboardRow.of(results.get(0))), list);
+            }
+        }
+    }
+
+    @Test
+    void emptyStore() throws IOException {
+        try (var store = openStore(ResultStore.SEGMENT_SIZE); var list = PagedResultList.open(store)) {
+            assertTrue(list.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package gameresults;
+
+import gameresult.OnePlayerGameResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the PlayerStatisticsRollup class
+ */
+class PlayerStatisticsRollupTest {
+
+    @TempDir
+    Path directory;
+
+    private static OnePlayerGameResult result(Random random) {
+        return OnePlayerGameResult.builder()
+                .playerName("player" + random.nextInt(20))
+                .solved(random.nextInt(4) > 0)
+                .numberOfMoves(6 + random.nextInt(30))
+                .duration(Duration.ofMillis(random.nextInt(300_000)))
+                .created(ZonedDateTime.of(2024, 1 + random.nextInt(12), 1, 12, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+
+    @Test
+    void aggregateEqualsAddingEveryResult() throws IOException {
+        var random = new Random(0);
+        var expected = new PlayerStatisticsRollup();
+        try (var store = new ResultStore(directory.resolve("results"), ResultStore.SyncPolicy.NEVER, Duration.ZERO,
+                5_000, Duration.ZERO)) {
+            for (var i = 0; i < 500; i++) {
+                var result = result(random);
+                expected.add(result);
+                store.append(result).join();
+            }
+            assertTrue(store.readSegments(List::size) > 4);
+            var aggregated = PlayerStatisticsRollup.aggregate(store);
+            assertEquals(expected.size(), aggregated.size());
+            for (var i = 0; i < 20; i++) {
+                var name = "player" + i;
+                var statistics = aggregated.get(name).orElseThrow();
+                assertEquals(expected.get(name).orElseThrow().getGamesPlayed(), statistics.getGamesPlayed());
+                assertEquals(expected.get(name).orElseThrow().getMedianMoves(), statistics.getMedianMoves());
+                assertEquals(expected.get(name).orElseThrow().getSolveRateByMonth(), statistics.getSolveRateByMonth());
+            }
+        }
+    }
+
+    @Test
+    void saveAndLoad() throws IOException {
+        var random = new Random(1);
+        var rollup = new PlayerStatisticsRollup();
+        for (var i = 0; i < 100; i++) {
+            rollup.add(result(random));
+        }
+        var path = directory.resolve("players.rollup");
+        rollup.save(path, 1234);
+        var loaded = PlayerStatisticsRollup.load(path, 1234).orElseThrow();
+        assertEquals(rollup.size(), loaded.size());
+        assertEquals(rollup.get("player3").orElseThrow().getDurationPercentile(75),
+                loaded.get("player3").orElseThrow().getDurationPercentile(75));
+        assertTrue(PlayerStatisticsRollup.load(path, 1235).isEmpty());
+        assertTrue(PlayerStatisticsRollup.load(directory.resolve("missing.rollup"), 0).isEmpty());
+        Files.write(path, new byte[] {0x50, 0x5A, 0x4C, 0x52, 0, 0, 0, 1, 0});
+        assertTrue(PlayerStatisticsRollup.load(path, 1234).isEmpty());
+    }
+}
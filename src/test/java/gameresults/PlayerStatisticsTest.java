@@ -0,0 +1,117 @@
+package gameresults;
+
+import gameresult.OnePlayerGameResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the PlayerStatistics class
+ */
+class PlayerStatisticsTest {
+
+    private static OnePlayerGameResult result(boolean solved, int numberOfMoves, long millis, int month) {
+        return OnePlayerGameResult.builder()
+                .playerName("anna")
+                .solved(solved)
+                .numberOfMoves(numberOfMoves)
+                .duration(Duration.ofMillis(millis))
+                .created(ZonedDateTime.of(2024, month, 1, 12, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+
+    @Test
+    void noGames() {
+        var statistics = new PlayerStatistics("anna");
+        assertEquals(0, statistics.getGamesPlayed());
+        assertEquals(0, statistics.getSolveRate());
+        assertEquals(OptionalInt.empty(), statistics.getBestMoves());
+        assertEquals(OptionalInt.empty(), statistics.getMedianMoves());
+        assertTrue(statistics.getDurationPercentile(50).isEmpty());
+        assertTrue(statistics.getSolveRateByMonth().isEmpty());
+    }
+
+    @Test
+    void aggregates() {
+        var statistics = new PlayerStatistics("anna");
+        statistics.add(result(true, 9, 20_000, 4));
+        statistics.add(result(false, 3, 5_000, 4));
+        statistics.add(result(true, 6, 30_000, 5));
+        statistics.add(result(true, 7, 25_000, 5));
+        assertEquals(4, statistics.getGamesPlayed());
+        assertEquals(3, statistics.getGamesSolved());
+        assertEquals(0.75, statistics.getSolveRate());
+        assertEquals(OptionalInt.of(6), statistics.getBestMoves());
+        assertEquals(OptionalInt.of(7), statistics.getMedianMoves());
+        assertEquals(Map.of(YearMonth.of(2024, 4), 0.5, YearMonth.of(2024, 5), 1.0), statistics.getSolveRateByMonth());
+        assertThrows(IllegalArgumentException.class, () -> statistics.getDurationPercentile(101));
+    }
+
+    @Test
+    void durationPercentilesAreWithinTheBucketError() {
+        var random = new Random(0);
+        var statistics = new PlayerStatistics("anna");
+        List<Long> durations = new ArrayList<>();
+        for (var i = 0; i < 10_000; i++) {
+            var millis = (long) Math.exp(random.nextDouble() * 16);
+            durations.add(millis);
+            statistics.add(result(true, 6, millis, 1));
+        }
+        durations.sort(null);
+        for (var percentile : new double[] {1, 10, 50, 90, 99, 100}) {
+            var exact = durations.get((int) Math.ceil(percentile / 100 * durations.size()) - 1);
+            var approximate = statistics.getDurationPercentile(percentile).orElseThrow().toMillis();
+            assertEquals(exact, approximate, Math.max(1, exact * 0.04), "percentile " + percentile);
+        }
+    }
+
+    @Test
+    void mergeEqualsAddingEveryGame() throws IOException {
+        var random = new Random(1);
+        var all = new PlayerStatistics("anna");
+        var first = new PlayerStatistics("anna");
+        var second = new PlayerStatistics("anna");
+        for (var i = 0; i < 1000; i++) {
+            var result = result(random.nextBoolean(), 6 + random.nextInt(40), random.nextInt(600_000), 1 + random.nextInt(12));
+            all.add(result);
+            (i % 3 == 0 ? first : second).add(result);
+        }
+        first.merge(second);
+        assertArrayEquals(serialize(all), serialize(first));
+        assertEquals(all.getMedianMoves(), first.getMedianMoves());
+    }
+
+    @Test
+    void writeToAndReadFrom() throws IOException {
+        var statistics = new PlayerStatistics("Ödön");
+        statistics.add(result(true, 9, 20_000, 4));
+        statistics.add(result(false, 3, 5_000, 5));
+        var bytes = serialize(statistics);
+        var read = PlayerStatistics.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+        assertEquals("Ödön", read.getPlayerName());
+        assertArrayEquals(bytes, serialize(read));
+    }
+
+    private static byte[] serialize(PlayerStatistics statistics) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            statistics.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+}
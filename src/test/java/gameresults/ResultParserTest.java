@@ -0,0 +1,64 @@
+package gameresults;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import gameresult.OnePlayerGameResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the ResultParser class
+ */
+class ResultParserTest {
+
+    @TempDir
+    Path directory;
+
+    private static final OnePlayerGameResult RESULT = OnePlayerGameResult.builder()
+            .playerName("anna")
+            .solved(true)
+            .numberOfMoves(6)
+            .duration(Duration.ofMillis(42_250))
+            .created(ZonedDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneId.of("Europe/Budapest")))
+            .build();
+
+    @Test
+    void parseWhatTheStoreWrites() throws IOException {
+        assertEquals(RESULT, ResultParser.parse(ResultStore.MAPPER.writeValueAsString(RESULT)));
+    }
+
+    @Test
+    void parseSkipsUnknownFields() throws JsonProcessingException {
+        var json = """
+                {"id":7,"playerName":"anna","extra":{"a":[1,2]},"solved":true,"numberOfMoves":6,\
+                "duration":"PT42.25S","created":"2024-05-01T12:00:00+02:00[Europe/Budapest]"}""";
+        assertEquals(RESULT, ResultParser.parse(json));
+    }
+
+    @Test
+    void parseInvalidLines() {
+        assertThrows(JsonProcessingException.class, () -> ResultParser.parse("{\"playerName\":\"be"));
+        assertThrows(JsonProcessingException.class, () -> ResultParser.parse("[1, 2]"));
+        assertThrows(JsonProcessingException.class, () -> ResultParser.parse("{\"duration\":\"forever\"}"));
+    }
+
+    @Test
+    void forEachSkipsInvalidLines() throws IOException {
+        var line = ResultStore.MAPPER.writeValueAsString(RESULT);
+        var segment = directory.resolve("segment.jsonl");
+        Files.write(segment, List.of(line, "{\"playerName\"", line, "", line + "}"));
+        List<OnePlayerGameResult> results = new ArrayList<>();
+        ResultParser.forEach(segment, true, results::add);
+        assertEquals(List.of(RESULT, RESULT), results);
+    }
+}
@@ -0,0 +1,430 @@
+package gameresults;
+
+import gameresult.OnePlayerGameResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzle.model.Direction;
+import puzzle.model.MoveLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the ResultStore class
+ */
+class ResultStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static OnePlayerGameResult result(String playerName, boolean solved, int numberOfMoves, int minute) {
+        return OnePlayerGameResult.builder()
+                .playerName(playerName)
+                .solved(solved)
+                .numberOfMoves(numberOfMoves)
+                .duration(Duration.ofSeconds(30 + numberOfMoves))
+                .created(ZonedDateTime.of(2024, 5, 1, 12, minute, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+
+    private static long lineCount(Path directory) throws IOException {
+        long count = 0;
+        try (var files = Files.newDirectoryStream(directory, "results-*.jsonl")) {
+            for (var file : files) {
+                count += Files.readAllLines(file).size();
+            }
+        }
+        return count;
+    }
+
+    private static ResultStore openSmallSegments(Path path) throws IOException {
+        return new ResultStore(path, ResultStore.SyncPolicy.NEVER, Duration.ZERO, 1000, Duration.ZERO);
+    }
+
+    /**
+     * Appends results one by one, so that every result is a separate group commit and the segments are rotated
+     * as soon as they are full.
+     */
+    private static List<OnePlayerGameResult> appendMany(ResultStore store, int count) {
+        List<OnePlayerGameResult> results = new ArrayList<>();
+        for (var i = 0; i < count; i++) {
+            results.add(result("player" + i, i % 5 != 0, 6 + (i * 7) % 30, i % 60));
+            store.append(results.getLast()).join();
+        }
+        return results;
+    }
+
+    @Test
+    void appendedResultsAreReadBack() throws IOException {
+        var path = directory.resolve("results");
+        var results = List.of(result("anna", true, 6, 0), result("bela", false, 3, 1));
+        try (var store = new ResultStore(path)) {
+            for (var result : results) {
+                store.append(result).join();
+            }
+            assertEquals(results, store.getAll());
+        }
+        try (var store = new ResultStore(path)) {
+            assertEquals(results, store.getAll());
+        }
+        assertEquals(2, lineCount(path));
+    }
+
+    @Test
+    void concurrentAppendsAreAllWritten() throws Exception {
+        var path = directory.resolve("results");
+        try (var store = new ResultStore(path, ResultStore.SyncPolicy.NEVER, Duration.ZERO)) {
+            List<Thread> threads = new ArrayList<>();
+            for (var t = 0; t < 8; t++) {
+                var name = "player" + t;
+                var futures = new ArrayList<CompletableFuture<Void>>();
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (var i = 0; i < 250; i++) {
+                        futures.add(store.append(result(name, true, i, 0)));
+                    }
+                    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+                }));
+            }
+            for (var thread : threads) {
+                thread.join();
+            }
+            var all = store.getAll();
+            assertEquals(2000, all.size());
+            for (var t = 0; t < 8; t++) {
+                var name = "player" + t;
+                assertEquals(250, all.stream().filter(r -> r.getPlayerName().equals(name)).count());
+            }
+        }
+    }
+
+    /**
+     * A channel which writes only the first bytes it is given and then fails, as a full disk does.
+     */
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel channel;
+
+        private int remaining;
+
+        FailingChannel(FileChannel channel, int remaining) {
+            this.channel = channel;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (remaining == 0) {
+                throw new IOException("No space left on device");
+            }
+            var slice = src.slice(src.position(), Math.min(remaining, src.remaining()));
+            var written = channel.write(slice);
+            src.position(src.position() + written);
+            remaining -= written;
+            return written;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return channel.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return channel.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+
+    @Test
+    void failedCommitIsTruncated() throws IOException {
+        var path = directory.resolve("results");
+        try (var store = new ResultStore(path)) {
+            store.append(result("anna", true, 6, 0)).join();
+        }
+        var segment = Segment.of(path, 1, 1).path();
+        var line = Files.readAllBytes(segment);
+        try (var channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.position(channel.size());
+            var failing = new FailingChannel(channel, line.length / 2);
+            assertThrows(IOException.class, () -> ResultStore.append(failing, line, true));
+            assertEquals(line.length, channel.size());
+            assertEquals(line.length, channel.position());
+            ResultStore.append(channel, line, false);
+        }
+        try (var store = new ResultStore(path)) {
+            assertEquals(List.of(result("anna", true, 6, 0), result("anna", true, 6, 0)), store.getAll());
+        }
+    }
+
+    @Test
+    void incompleteLastLineIsCutOff() throws IOException {
+        var path = directory.resolve("results");
+        try (var store = new ResultStore(path)) {
+            store.append(result("anna", true, 6, 0)).join();
+        }
+        Files.writeString(Segment.of(path, 1, 1).path(), "{\"playerName\":\"be", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        try (var store = new ResultStore(path)) {
+            assertEquals(List.of(result("anna", true, 6, 0)), store.getAll());
+            store.append(result("bela", true, 8, 1)).join();
+            assertEquals(List.of(result("anna", true, 6, 0), result("bela", true, 8, 1)), store.getAll());
+        }
+    }
+
+    @Test
+    void getBestByNumberOfMoves() throws IOException {
+        try (var store = new ResultStore(directory.resolve("results"))) {
+            store.append(result("anna", true, 9, 0));
+            store.append(result("bela", false, 2, 1));
+            store.append(result("cili", true, 6, 2));
+            store.append(result("dani", true, 6, 1)).join();
+            assertEquals(List.of(result("dani", true, 6, 1), result("cili", true, 6, 2)),
+                    store.getBestByNumberOfMoves(2));
+        }
+    }
+
+    @Test
+    void leaderboardIndexIsSavedAndRebuilt() throws IOException {
+        var path = directory.resolve("results");
+        var indexPath = path.resolve("leaderboard.top");
+        List<OnePlayerGameResult> expected;
+        try (var store = new ResultStore(path)) {
+            for (var i = 0; i < 30; i++) {
+                store.append(result("player" + i, i % 3 != 0, 40 - i, i));
+            }
+            store.append(result("last", true, 50, 59)).join();
+            expected = store.getBestByNumberOfMoves(ResultStore.LEADERBOARD_SIZE);
+            assertEquals(ResultStore.LEADERBOARD_SIZE, expected.size());
+            assertEquals(expected.subList(0, 3), store.getBestByNumberOfMoves(3));
+            assertEquals(21, store.getBestByNumberOfMoves(100).size());
+        }
+        assertTrue(Files.exists(indexPath));
+        try (var store = new ResultStore(path)) {
+            assertEquals(expected, store.getBestByNumberOfMoves(ResultStore.LEADERBOARD_SIZE));
+        }
+        Files.delete(indexPath);
+        try (var store = new ResultStore(path)) {
+            assertEquals(expected, store.getBestByNumberOfMoves(ResultStore.LEADERBOARD_SIZE));
+        }
+        Files.writeString(Segment.of(path, 1, 1).path(), "", StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING);
+        try (var store = new ResultStore(path)) {
+            assertEquals(List.of(), store.getBestByNumberOfMoves(ResultStore.LEADERBOARD_SIZE));
+        }
+    }
+
+    @Test
+    void segmentsAreRotatedAndCompacted() throws IOException {
+        var path = directory.resolve("results");
+        List<OnePlayerGameResult> results;
+        List<OnePlayerGameResult> best;
+        try (var store = openSmallSegments(path)) {
+            results = appendMany(store, 200);
+            var segmentCount = store.readSegments(List::size);
+            assertTrue(segmentCount > ResultStore.MIN_SEGMENTS_TO_MERGE * 2);
+            assertTrue(store.compact());
+            var compacted = store.readSegments(List::size);
+            assertTrue(compacted <= segmentCount - ResultStore.MIN_SEGMENTS_TO_MERGE + 1);
+            assertEquals(results, store.getAll());
+            while (store.compact()) {
+                assertTrue(store.readSegments(List::size) < compacted);
+                compacted = store.readSegments(List::size);
+            }
+            assertEquals(results, store.getAll());
+            results = new ArrayList<>(results);
+            results.addAll(appendMany(store, 20));
+            assertEquals(results, store.getAll());
+            best = store.getBestByNumberOfMoves(ResultStore.LEADERBOARD_SIZE);
+        }
+        assertEquals(results.size(), lineCount(path));
+        try (var store = openSmallSegments(path)) {
+            assertEquals(results, store.getAll());
+            assertEquals(best, store.getBestByNumberOfMoves(ResultStore.LEADERBOARD_SIZE));
+        }
+    }
+
+    @Test
+    void compactionDropsInvalidRecords() throws IOException {
+        var path = directory.resolve("results");
+        List<OnePlayerGameResult> results;
+        try (var store = openSmallSegments(path)) {
+            results = appendMany(store, 60);
+        }
+        var first = Segment.of(path, 1, 1).path();
+        var lines = new ArrayList<>(Files.readAllLines(first));
+        lines.add(1, "{\"playerName\":\"be");
+        Files.write(first, lines);
+        try (var store = openSmallSegments(path)) {
+            assertEquals(results, store.getAll());
+            assertTrue(store.compact());
+            assertEquals(results, store.getAll());
+        }
+        assertEquals(results.size(), lineCount(path));
+    }
+
+    @Test
+    void recoveryDeletesMergedSegmentsAndTemporaryFiles() throws IOException {
+        var path = directory.resolve("results");
+        List<OnePlayerGameResult> results;
+        try (var store = openSmallSegments(path)) {
+            results = appendMany(store, 60);
+        }
+        var merged = new ArrayList<String>();
+        for (var number = 1; number <= 3; number++) {
+            merged.addAll(Files.readAllLines(Segment.of(path, number, number).path()));
+        }
+        Files.write(Segment.of(path, 1, 3).path(), merged);
+        Files.writeString(path.resolve("results-0000000004-0000000006.jsonl.tmp"), "{\"playerName\"");
+        try (var store = openSmallSegments(path)) {
+            assertEquals(results, store.getAll());
+            assertEquals(Segment.of(path, 1, 3).path(), store.readSegments(List::getFirst));
+        }
+        assertFalse(Files.exists(Segment.of(path, 1, 1).path()));
+        assertFalse(Files.exists(path.resolve("results-0000000004-0000000006.jsonl.tmp")));
+        assertEquals(results.size(), lineCount(path));
+    }
+
+    @Test
+    void playerStatisticsAreSavedAndRebuilt() throws IOException {
+        var path = directory.resolve("results");
+        try (var store = openSmallSegments(path)) {
+            appendMany(store, 100);
+            store.append(result("anna", true, 6, 0));
+            store.append(result("anna", false, 9, 1)).join();
+            var anna = store.getPlayerStatistics("anna").orElseThrow();
+            assertEquals(2, anna.getGamesPlayed());
+            assertEquals(0.5, anna.getSolveRate());
+            assertTrue(store.getPlayerStatistics("nobody").isEmpty());
+            store.append(result("anna", true, 8, 2)).join();
+            assertEquals(2, anna.getGamesPlayed());
+        }
+        try (var store = openSmallSegments(path)) {
+            assertEquals(3, store.getPlayerStatistics("anna").orElseThrow().getGamesPlayed());
+            assertEquals(1, store.getPlayerStatistics("player7").orElseThrow().getGamesPlayed());
+        }
+        Files.delete(path.resolve("players.rollup"));
+        try (var store = openSmallSegments(path)) {
+            var anna = store.getPlayerStatistics("anna").orElseThrow();
+            assertEquals(3, anna.getGamesPlayed());
+            assertEquals(OptionalInt.of(6), anna.getBestMoves());
+        }
+    }
+
+    @Test
+    void moveLogIsSavedWithTheResult() throws IOException {
+        var path = directory.resolve("results");
+        var moves = new MoveLog("abcd", Instant.EPOCH);
+        moves.add(Direction.RIGHT);
+        moves.add(Direction.DOWN);
+        moves.finish(Instant.EPOCH.plusSeconds(40));
+        var result = result("anna", true, 2, 0);
+        try (var store = new ResultStore(path)) {
+            store.append(result, moves).join();
+            store.append(result("bob", true, 5, 1)).join();
+        }
+        try (var store = new ResultStore(path)) {
+            var read = store.getMoveLog("anna", result.getCreated()).orElseThrow();
+            assertEquals("abcd", read.getLevelKey());
+            assertEquals(2, read.size());
+            assertEquals(Direction.DOWN, read.get(1));
+            assertTrue(store.getMoveLog("bob", result("bob", true, 5, 1).getCreated()).isEmpty());
+            assertTrue(store.getMoveLog("anna", result.getCreated().plusSeconds(1)).isEmpty());
+        }
+    }
+
+    @Test
+    void appendAfterClose() throws IOException {
+        var store = new ResultStore(directory.resolve("results"));
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.append(result("anna", true, 6, 0)));
+    }
+}
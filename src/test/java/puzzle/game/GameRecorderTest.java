@@ -0,0 +1,131 @@
+package puzzle.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import puzzle.model.Direction;
+import puzzle.model.MoveLog;
+import puzzle.model.PuzzleModel;
+import puzzle.model.PuzzleState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the GameRecorder class
+ */
+class GameRecorderTest {
+
+    PuzzleModel model = new PuzzleModel();
+
+    GameRecorder recorder = new GameRecorder(model);
+
+    List<GameRecorder.Game> games = new ArrayList<>();
+
+    /**
+     * Finishes the game when it is over, as the game screen does.
+     */
+    @BeforeEach
+    void setUp() {
+        model.gameOverProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue) {
+                recorder.finish("anna").ifPresent(games::add);
+            }
+        });
+        model.reset();
+        recorder.start();
+    }
+
+    /**
+     * Moves the piece along the hints until it reaches the finish.
+     */
+    private void playToFinish() {
+        while (!model.isSolved()) {
+            recorder.move(model.computeHint().orElseThrow());
+        }
+    }
+
+    /**
+     * Checks if a move log replays to the finish on a new state.
+     */
+    private static void assertReachesFinish(MoveLog log) {
+        var state = new PuzzleState();
+        log.replay(state, 0, log.size());
+        assertTrue(state.isSolved());
+    }
+
+    /**
+     * Tests if the log of a won game includes the winning move and replays to the finish.
+     */
+    @Test
+    void won() {
+        playToFinish();
+        assertEquals(1, games.size());
+        var log = games.getFirst().moves();
+        assertEquals(model.numberOfMovesProperty().get(), log.size());
+        assertNotNull(log.getFinished());
+        assertEquals(recorder.getLevelKey(), log.getLevelKey());
+        assertReachesFinish(log);
+    }
+
+    /**
+     * Tests if the result of a won game counts every move, and only those.
+     */
+    @Test
+    void resultCountsEveryMove() {
+        var moves = 0;
+        while (!model.isSolved()) {
+            recorder.move(model.computeHint().orElseThrow());
+            moves++;
+        }
+        var result = games.getFirst().result();
+        assertEquals(moves, result.getNumberOfMoves());
+        assertEquals("anna", result.getPlayerName());
+        assertTrue(result.isSolved());
+    }
+
+    /**
+     * Tests if moves taken back and made again are logged once each.
+     */
+    @Test
+    void wonAfterUndoAndRedo() {
+        recorder.move(model.computeHint().orElseThrow());
+        recorder.move(model.computeHint().orElseThrow());
+        assertTrue(recorder.undo());
+        assertTrue(recorder.undo());
+        assertTrue(recorder.redo());
+        playToFinish();
+        assertEquals(1, games.size());
+        assertEquals(model.numberOfMovesProperty().get(), games.getFirst().moves().size());
+        assertReachesFinish(games.getFirst().moves());
+    }
+
+    /**
+     * Tests if the move is logged before the game is finished when redo reaches the finish.
+     */
+    @Test
+    void wonByRedo() {
+        recorder.stop();
+        playToFinish();
+        var finish = model.pieceProperty().get();
+        assertTrue(model.undo());
+        var from = model.pieceProperty().get();
+        recorder.start();
+        assertTrue(recorder.redo());
+        assertEquals(1, games.size());
+        var log = games.getFirst().moves();
+        assertEquals(1, log.size());
+        assertEquals(Direction.of(from, finish), log.get(0));
+    }
+
+    /**
+     * Tests if no game is finished while the recorder is stopped, as when a game is replayed.
+     */
+    @Test
+    void stopped() {
+        recorder.stop();
+        playToFinish();
+        assertTrue(games.isEmpty());
+    }
+}
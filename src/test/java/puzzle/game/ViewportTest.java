@@ -0,0 +1,83 @@
+package puzzle.game;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.Position;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the Viewport class
+ */
+class ViewportTest {
+
+    @Test
+    void smallBoardIsFittedAndCentered() {
+        var viewport = new Viewport(8, 8, 500, 500);
+        assertEquals(62.5, viewport.getSquareSize());
+        assertEquals(0, viewport.getLeft());
+        assertEquals(0, viewport.firstRow());
+        assertEquals(7, viewport.lastRow());
+        assertEquals(7, viewport.lastCol());
+        assertFalse(viewport.pan(100, 100));
+        assertFalse(viewport.zoom(0.5, 250, 250));
+        assertEquals(new Position(1, 2), viewport.cellAt(130, 70));
+        assertNull(viewport.cellAt(-1, 10));
+
+        var narrow = new Viewport(2, 4, 500, 500);
+        assertEquals(125, narrow.getSquareSize());
+        assertEquals(-1, narrow.getTop());
+        assertEquals(125, narrow.y(0));
+        assertNull(narrow.cellAt(10, 10));
+    }
+
+    @Test
+    void largeBoardShowsABoundedNumberOfCells() {
+        var viewport = new Viewport(4096, 4096, 500, 500);
+        assertEquals(Viewport.DEFAULT_SQUARE_SIZE, viewport.getSquareSize());
+        assertEquals(21, viewport.lastCol() - viewport.firstCol() + 1);
+        while (viewport.zoom(0.5, 0, 0)) {
+        }
+        assertEquals(Viewport.MIN_SQUARE_SIZE, viewport.getSquareSize());
+        assertEquals(125, viewport.lastRow() - viewport.firstRow() + 1);
+        while (viewport.zoom(2, 0, 0)) {
+        }
+        assertEquals(Viewport.MAX_SQUARE_SIZE, viewport.getSquareSize());
+    }
+
+    @Test
+    void panningStopsAtTheSides() {
+        var viewport = new Viewport(100, 100, 500, 500);
+        assertFalse(viewport.pan(10, 10));
+        assertTrue(viewport.pan(-240, -480));
+        assertEquals(10, viewport.getLeft());
+        assertEquals(20, viewport.getTop());
+        assertEquals(new Position(20, 10), viewport.cellAt(0, 0));
+        assertTrue(viewport.pan(-1_000_000, 0));
+        assertEquals(100 - 500 / Viewport.DEFAULT_SQUARE_SIZE, viewport.getLeft(), 1e-9);
+        assertEquals(99, viewport.lastCol());
+    }
+
+    @Test
+    void zoomKeepsThePointUnderTheMouse() {
+        var viewport = new Viewport(1000, 1000, 500, 500);
+        viewport.pan(-2400, -2400);
+        var before = viewport.cellAt(300, 200);
+        assertTrue(viewport.zoom(1.5, 300, 200));
+        assertEquals(36, viewport.getSquareSize());
+        assertEquals(before, viewport.cellAt(300, 200));
+        assertEquals(100 + 300.0 / 24, viewport.getLeft() + 300 / viewport.getSquareSize(), 1e-9);
+    }
+
+    @Test
+    void followKeepsTheCellAwayFromTheSides() {
+        var viewport = new Viewport(1000, 1000, 480, 480);
+        assertFalse(viewport.follow(new Position(5, 5), 2));
+        assertTrue(viewport.follow(new Position(5, 18), 2));
+        assertEquals(8.5, viewport.getLeft());
+        assertTrue(viewport.isVisible(5, 18));
+        assertFalse(viewport.follow(new Position(5, 20), 2));
+        assertTrue(viewport.follow(new Position(999, 999), 2));
+        assertEquals(980, viewport.getTop());
+        assertEquals(999, viewport.lastRow());
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Tests for the {@code puzzle.game} package
+ */
+
+package puzzle.game;
\ No newline at end of file
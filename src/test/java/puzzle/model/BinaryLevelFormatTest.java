@@ -0,0 +1,102 @@
+package puzzle.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzle.solver.PackedBreadthFirstSearch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the BinaryLevelFormat class
+ */
+class BinaryLevelFormatTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests if a mapped board has the same squares as the board it was written from
+     */
+    @Test
+    void writeAndMap() throws IOException {
+        for (var size : new int[] {1, 7, 333}) {
+            var board = size == 1 ? Board.DEFAULT : BoardGenerator.generate(size, size + 2, 0.2, 0.3, size);
+            var path = directory.resolve("level" + size + ".pzl");
+            BinaryLevelFormat.write(board, path);
+            assertTrue(BinaryLevelFormat.isBinaryLevel(path));
+            var mapped = Board.load(path);
+            assertInstanceOf(MappedBoard.class, mapped);
+            assertEquals(board.getRows(), mapped.getRows());
+            assertEquals(board.getCols(), mapped.getCols());
+            assertEquals(board.getStart(), mapped.getStart());
+            assertEquals(board.getFinish(), mapped.getFinish());
+            for (var cell = 0; cell < board.getRows() * board.getCols(); cell++) {
+                assertEquals(board.getSquare(cell), mapped.getSquare(cell));
+            }
+        }
+    }
+
+    /**
+     * Tests if a mapped board is played and solved like the board it was written from
+     */
+    @Test
+    void solveMapped() throws IOException {
+        var path = directory.resolve("default.pzl");
+        BinaryLevelFormat.write(Board.DEFAULT, path);
+        var mapped = BinaryLevelFormat.map(path);
+        var search = new PackedBreadthFirstSearch();
+        assertEquals(search.solve(Board.DEFAULT), search.solve(mapped));
+        var state = new PuzzleState(mapped);
+        assertTrue(state.isWall(new Position(2, 2)));
+        assertTrue(state.isCoin(new Position(0, 4)));
+        assertTrue(state.isFinish(new Position(7, 7)));
+    }
+
+    /**
+     * Tests if files which are not valid binary levels are rejected
+     */
+    @Test
+    void invalidFiles() throws IOException {
+        var text = directory.resolve("default.txt");
+        LevelFormat.write(Board.DEFAULT, text);
+        assertFalse(BinaryLevelFormat.isBinaryLevel(text));
+        assertThrows(IllegalArgumentException.class, () -> BinaryLevelFormat.map(text));
+        assertEquals(8, Board.load(text).getRows());
+
+        var truncated = directory.resolve("truncated.pzl");
+        BinaryLevelFormat.write(Board.DEFAULT, truncated);
+        var bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 2));
+        assertThrows(IllegalArgumentException.class, () -> BinaryLevelFormat.map(truncated));
+    }
+
+    /**
+     * Tests if files with cells which are not valid squares are mapped, but rejected when the cells are decoded
+     */
+    @Test
+    void invalidCells() throws IOException {
+        var path = directory.resolve("default.pzl");
+        BinaryLevelFormat.write(Board.DEFAULT, path);
+        var bytes = Files.readAllBytes(path);
+        for (var code : new int[] {Square.PIECE.ordinal(), Square.FINISH.ordinal(), 5, 6, 7}) {
+            var invalid = directory.resolve("invalid" + code + ".pzl");
+            var copy = bytes.clone();
+            copy[BinaryLevelFormat.HEADER_SIZE] = (byte) (copy[BinaryLevelFormat.HEADER_SIZE] & ~(7 << 3) | code << 3);
+            Files.write(invalid, copy);
+            var board = Board.load(invalid);
+            assertEquals(Square.NONE, board.getSquare(0));
+            var e = assertThrows(IllegalArgumentException.class, () -> board.getSquare(1));
+            assertTrue(e.getMessage().contains("row 0, column 1"), e.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> new PackedBreadthFirstSearch().solve(board));
+        }
+        var start = directory.resolve("start.pzl");
+        bytes[BinaryLevelFormat.HEADER_SIZE] = (byte) (bytes[BinaryLevelFormat.HEADER_SIZE] | 7);
+        Files.write(start, bytes);
+        assertThrows(IllegalArgumentException.class, () -> Board.load(start));
+    }
+}
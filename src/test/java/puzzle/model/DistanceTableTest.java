@@ -0,0 +1,51 @@
+package puzzle.model;
+
+import org.junit.jupiter.api.Test;
+import puzzle.solver.PackedBreadthFirstSearch;
+import puzzle.solver.Solution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the DistanceTable class
+ */
+class DistanceTableTest {
+
+    /**
+     * Tests if the distance of every state is the length of the shortest solution from it
+     */
+    @Test
+    void distancesAreShortestSolutions() {
+        var search = new PackedBreadthFirstSearch();
+        for (var size : new int[] {8, 16}) {
+            var board = size == 8 ? Board.DEFAULT : BoardGenerator.generate(size, size, 0.2, 0.1, 3);
+            var distances = DistanceTable.compute(board);
+            for (var state = 0; state < board.getTransitionTable().getStateCount(); state++) {
+                if (board.getSquare(PackedState.cell(state)) == Square.WALL) {
+                    assertTrue(distances.isDeadEnd(state));
+                    continue;
+                }
+                var expected = search.solve(board, state).map(Solution::length).orElse(DistanceTable.UNREACHABLE);
+                assertEquals(expected, distances.getDistance(state), "distance of " + PackedState.position(board, state));
+            }
+        }
+    }
+
+    /**
+     * Tests if following the best moves leads to the finish in as many moves as the distance
+     */
+    @Test
+    void nextState() {
+        var distances = Board.DEFAULT.getDistanceTable();
+        var state = PackedState.initial(Board.DEFAULT);
+        assertEquals(6, distances.getDistance(state));
+        var moves = 0;
+        for (var next = distances.nextState(state); next >= 0; next = distances.nextState(state)) {
+            assertEquals(distances.getDistance(state) - 1, distances.getDistance(next));
+            state = next;
+            moves++;
+        }
+        assertEquals(6, moves);
+        assertTrue(PackedState.isSolved(Board.DEFAULT, state));
+    }
+}
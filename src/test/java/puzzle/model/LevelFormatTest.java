@@ -0,0 +1,74 @@
+package puzzle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the LevelFormat class
+ */
+class LevelFormatTest {
+
+    /**
+     * Tests if a small level is read with every kind of square
+     */
+    @Test
+    void read() throws IOException {
+        var board = LevelFormat.read(new StringReader("3 4\nS.o.\n.#..\r\no..F\n"));
+        assertEquals(3, board.getRows());
+        assertEquals(4, board.getCols());
+        assertEquals(new Position(0, 0), board.getStart());
+        assertEquals(new Position(2, 3), board.getFinish());
+        assertEquals(Square.NONE, board.getSquare(0, 0));
+        assertEquals(Square.COIN, board.getSquare(0, 2));
+        assertEquals(Square.WALL, board.getSquare(1, 1));
+        assertEquals(Square.FINISH, board.getSquare(2, 3));
+    }
+
+    /**
+     * Tests if the original board is read from the resource
+     */
+    @Test
+    void readDefault() {
+        assertEquals(8, Board.DEFAULT.getRows());
+        assertEquals(8, Board.DEFAULT.getCols());
+        assertEquals(new Position(7, 7), Board.DEFAULT.getFinish());
+        assertEquals(Square.WALL, Board.DEFAULT.getSquare(4, 1));
+    }
+
+    /**
+     * Tests if writing and reading back a large generated board gives the same board
+     */
+    @Test
+    void writeAndRead() throws IOException {
+        var board = BoardGenerator.generate(500, 700, 0.2, 0.1, 1);
+        var out = new StringWriter();
+        LevelFormat.write(board, out);
+        var read = LevelFormat.read(new StringReader(out.toString()));
+        assertEquals(board.getRows(), read.getRows());
+        assertEquals(board.getCols(), read.getCols());
+        assertEquals(board.getStart(), read.getStart());
+        for (var cell = 0; cell < board.getRows() * board.getCols(); cell++) {
+            assertEquals(board.getSquare(cell), read.getSquare(cell));
+        }
+    }
+
+    /**
+     * Tests if invalid levels are rejected
+     */
+    @Test
+    void invalidLevels() {
+        assertThrows(IllegalArgumentException.class, () -> LevelFormat.read(new StringReader("")));
+        assertThrows(IllegalArgumentException.class, () -> LevelFormat.read(new StringReader("2\nS.\n.F\n")));
+        assertThrows(IllegalArgumentException.class, () -> LevelFormat.read(new StringReader("2 2\nS.\n.F.\n")));
+        assertThrows(IllegalArgumentException.class, () -> LevelFormat.read(new StringReader("2 2\nS.\n")));
+        assertThrows(IllegalArgumentException.class, () -> LevelFormat.read(new StringReader("2 2\nSx\n.F\n")));
+        assertThrows(IllegalArgumentException.class, () -> LevelFormat.read(new StringReader("2 2\nSS\n.F\n")));
+        assertThrows(IllegalArgumentException.class, () -> LevelFormat.read(new StringReader("2 2\n..\n.F\n")));
+        assertThrows(IllegalArgumentException.class, () -> LevelFormat.read(new StringReader("2 2\nS.\n..\n")));
+    }
+}
@@ -0,0 +1,142 @@
+package puzzle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the MoveLog class
+ */
+class MoveLogTest {
+
+    private static final String KEY = "00ff10ab";
+
+    private static final Instant STARTED = Instant.ofEpochSecond(1_700_000_000, 123_456_789);
+
+    /**
+     * Records the moves which take the piece from the start of the default board over the coin to (3, 4).
+     */
+    private static MoveLog threeMoves() {
+        var log = new MoveLog(KEY, STARTED);
+        log.add(Direction.RIGHT);
+        log.add(Direction.RIGHT);
+        log.add(Direction.DOWN);
+        return log;
+    }
+
+    /**
+     * Tests if the moves are read back in order, across the bytes they are packed into and after the log grows.
+     */
+    @Test
+    void addAndGet() {
+        var log = new MoveLog(KEY, STARTED);
+        var directions = Direction.values();
+        for (var i = 0; i < 1000; i++) {
+            log.add(directions[(i * 7 + i / 3) % directions.length]);
+        }
+        assertEquals(1000, log.size());
+        for (var i = 0; i < 1000; i++) {
+            assertEquals(directions[(i * 7 + i / 3) % directions.length], log.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> log.get(1000));
+    }
+
+    /**
+     * Tests if a finished log is written and read back with its header and moves, in a quarter of a byte per move.
+     */
+    @Test
+    void writeAndRead() throws IOException {
+        var log = threeMoves();
+        var finished = STARTED.plusSeconds(42);
+        log.finish(finished);
+        var out = new ByteArrayOutputStream();
+        log.writeTo(out);
+        assertEquals(4 + 4 + 2 + 4 + 12 + 12 + 4 + 1, out.size());
+        var read = MoveLog.readFrom(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(KEY, read.getLevelKey());
+        assertEquals(STARTED, read.getStarted());
+        assertEquals(finished, read.getFinished());
+        assertEquals(3, read.size());
+        assertEquals(Direction.RIGHT, read.get(0));
+        assertEquals(Direction.RIGHT, read.get(1));
+        assertEquals(Direction.DOWN, read.get(2));
+    }
+
+    /**
+     * Tests if a log can only be written once it is finished and can not be changed after that.
+     */
+    @Test
+    void finish() {
+        var log = threeMoves();
+        assertThrows(IllegalStateException.class, () -> log.writeTo(new ByteArrayOutputStream()));
+        log.finish(STARTED.plusSeconds(1));
+        assertThrows(IllegalStateException.class, () -> log.add(Direction.UP));
+    }
+
+    /**
+     * Tests if a stream which is not a move log is rejected.
+     */
+    @Test
+    void readInvalid() throws IOException {
+        assertThrows(IOException.class, () -> MoveLog.readFrom(new ByteArrayInputStream(new byte[64])));
+        var log = threeMoves();
+        log.finish(STARTED.plusSeconds(1));
+        var out = new ByteArrayOutputStream();
+        log.writeTo(out);
+        var bytes = out.toByteArray();
+        for (var size : new int[] {Integer.MAX_VALUE, MoveLog.MAX_SIZE, -1}) {
+            ByteBuffer.wrap(bytes).putInt(bytes.length - 1 - Integer.BYTES, size);
+            assertThrows(IOException.class, () -> MoveLog.readFrom(new ByteArrayInputStream(bytes)));
+        }
+    }
+
+    /**
+     * Tests if the moves are replayed on a state with the step size changing on the coin.
+     */
+    @Test
+    void replay() {
+        var state = new PuzzleState();
+        var log = threeMoves();
+        log.replay(state, 0, 2);
+        assertEquals(new Position(0, 4), new Position(state.getPieceRow(), state.getPieceCol()));
+        log.replay(state, 2, 3);
+        assertEquals(new Position(3, 4), new Position(state.getPieceRow(), state.getPieceCol()));
+        assertEquals(3, state.getNumberOfMoves());
+    }
+
+    /**
+     * Tests if replaying stops at the first move which is not legal.
+     */
+    @Test
+    void replayIllegalMove() {
+        var state = new PuzzleState();
+        var log = new MoveLog(KEY, STARTED);
+        log.add(Direction.RIGHT);
+        log.add(Direction.UP);
+        var e = assertThrows(IllegalStateException.class, () -> log.replay(state, 0, 2));
+        assertEquals("Move 2 (UP) is not legal", e.getMessage());
+        assertEquals(1, state.getNumberOfMoves());
+    }
+
+    /**
+     * Tests if removing the last move clears its bits, so a move added after it is read back correctly.
+     */
+    @Test
+    void removeLast() {
+        var log = threeMoves();
+        log.removeLast();
+        assertEquals(2, log.size());
+        log.add(Direction.LEFT);
+        assertEquals(Direction.LEFT, log.get(2));
+        log.removeLast();
+        log.removeLast();
+        log.removeLast();
+        assertThrows(IllegalStateException.class, log::removeLast);
+    }
+}
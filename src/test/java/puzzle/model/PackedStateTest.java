@@ -0,0 +1,105 @@
+package puzzle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the PackedState and PackedPuzzleState classes
+ */
+class PackedStateTest {
+
+    Board board = Board.DEFAULT;
+
+    /**
+     * Tests if packing and unpacking a state gives back the piece position and the step size
+     */
+    @Test
+    void packAndUnpack() {
+        var state = PackedState.of(board, 5, 6, 3);
+        assertEquals(new Position(5, 6), PackedState.position(board, state));
+        assertEquals(3, PackedState.stepSize(state));
+        assertEquals(46, PackedState.cell(state));
+        assertEquals(new Position(0, 0), PackedState.position(board, PackedState.initial(board)));
+        assertEquals(2, PackedState.stepSize(PackedState.initial(board)));
+    }
+
+    /**
+     * Test for the {@code getLegalMoves()} method
+     * Tests if the packed successors are the same as the legal moves of the {@code PuzzleState}
+     */
+    @Test
+    void getLegalMoves() {
+        var successors = new int[PackedState.MAX_LEGAL_MOVES];
+        var count = PackedState.getLegalMoves(board, PackedState.initial(board), successors);
+        Set<Position> moves = new HashSet<>();
+        for (var i = 0; i < count; i++) {
+            moves.add(PackedState.position(board, successors[i]));
+        }
+        assertEquals(new PuzzleState().getLegalMoves(), moves);
+    }
+
+    /**
+     * Test for the {@code makeMove()} method
+     * Tests if the solution of the puzzle leads to a solved state and the step size follows the coins
+     */
+    @Test
+    void makeMove() {
+        var state = PackedState.initial(board);
+        for (var position : new Position[] {
+                new Position(2, 0), new Position(4, 0), new Position(4, 3),
+                new Position(4, 5), new Position(4, 7), new Position(7, 7)}) {
+            assertTrue(PackedState.isLegalMove(board, state, position));
+            state = PackedState.makeMove(board, state, position);
+        }
+        assertTrue(PackedState.isSolved(board, state));
+        assertFalse(PackedState.isLegalMove(board, PackedState.initial(board), new Position(0, 4)));
+    }
+
+    /**
+     * Tests if the adapter ignores the history of the states when comparing them
+     */
+    @Test
+    void adapterEquality() {
+        var state = new PackedPuzzleState();
+        var other = state.clone();
+        other.makeMove(new Position(0, 2));
+        other.makeMove(new Position(0, 0));
+        assertEquals(state, other);
+        assertEquals(state.hashCode(), other.hashCode());
+        assertEquals(new PuzzleState().toString(), state.toString());
+        assertEquals(new PuzzleState().getLegalMoves(), state.getLegalMoves());
+    }
+
+    /**
+     * Creates an empty board of a size without storing its squares.
+     */
+    private static Board emptyBoard(int rows, int cols) {
+        return new Board(rows, cols, new Position(0, 0), new Position(rows - 1, cols - 1)) {
+            @Override
+            public Square getSquare(int cell) {
+                return Square.NONE;
+            }
+        };
+    }
+
+    /**
+     * Tests if the states of the largest board are packed into non-negative ints, and larger boards are rejected
+     * instead of overflowing the size of their tables
+     */
+    @Test
+    void stateCountLimit() {
+        var cols = Board.MAX_CELLS / 8;
+        var largest = emptyBoard(8, cols);
+        assertEquals(2L * Board.MAX_CELLS, PackedState.stateCount(largest));
+        var last = PackedState.of(largest, 7, cols - 1, 3);
+        assertTrue(last >= 0);
+        assertEquals(PackedState.stateCount(largest) - 1, last);
+        assertThrows(IllegalArgumentException.class, () -> PackedState.stateCount(emptyBoard(1, Board.MAX_CELLS + 1)));
+        assertThrows(IllegalArgumentException.class, () -> PackedState.stateCount(emptyBoard(1 << 15, 1 << 15)));
+        assertThrows(IllegalArgumentException.class, () -> BoardGenerator.generate(1 << 15, 1 << 15, 0.2, 0.1, 1));
+    }
+}
@@ -5,11 +5,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import puzzle.TwoPhaseMoveState;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * Tester for the PuzzleModel class
@@ -124,6 +129,146 @@ class PuzzleModelTest {
         assertFalse(model.isLegalMove(position4));
     }
 
+    /**
+     * Test for the {@code makeMove()} method
+     * Tests if the step size changes on a coin and the coin is restored when the piece leaves it
+     */
+    @Test
+    void makeMove() {
+        model.makeMove(position2);
+        model.makeMove(position3);
+        assertTrue(model.isPiece(position3));
+        assertTrue(model.isLegalMove(new Position(3, 4)));
+        model.makeMove(new Position(3, 4));
+        assertEquals(Square.COIN, model.getSquare(position3));
+        assertEquals(Square.NONE, model.getSquare(position2));
+        assertEquals(3, model.numberOfMovesProperty().get());
+    }
+
+    /**
+     * Test for the {@code makeMove()} method
+     * Tests if moving the piece back and forth does not allocate any memory once the model is warmed up
+     */
+    @Test
+    void makeMoveDoesNotAllocate() {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        moveBackAndForth(100_000);
+        var before = threadBean.getCurrentThreadAllocatedBytes();
+        moveBackAndForth(10_000);
+        var after = threadBean.getCurrentThreadAllocatedBytes();
+        assertEquals(0, after - before);
+    }
+
+    /**
+     * Test for the {@code makeMove()} method
+     * Tests if moving the piece does not allocate any memory when its cells are bound, on a board with
+     * more cells than the cached {@code Integer} values
+     */
+    @Test
+    void makeMoveDoesNotAllocateOnBoundCells() {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        var squares = new Square[16 * 16];
+        Arrays.fill(squares, Square.NONE);
+        squares[0] = Square.FINISH;
+        var from = new Position(15, 13);
+        var to = new Position(15, 11);
+        model = new PuzzleModel(new PuzzleState(Board.of(16, 16, squares, from)));
+        var fromSquare = model.squareProperty(from.row(), from.col());
+        var toSquare = model.squareProperty(to.row(), to.col());
+        for (var i = 0; i < 100_000; i++) {
+            model.makeMove(to);
+            model.makeMove(from);
+        }
+        var before = threadBean.getCurrentThreadAllocatedBytes();
+        for (var i = 0; i < 10_000; i++) {
+            model.makeMove(to);
+            model.makeMove(from);
+        }
+        var after = threadBean.getCurrentThreadAllocatedBytes();
+        assertEquals(0, after - before);
+        assertEquals(Square.PIECE, fromSquare.get());
+        assertEquals(Square.NONE, toSquare.get());
+    }
+
+    /**
+     * Moves the piece between the start position and a coin-free neighbour.
+     * @param times the number of round trips.
+     */
+    private void moveBackAndForth(int times) {
+        for (var i = 0; i < times; i++) {
+            model.makeMove(position2);
+            model.makeMove(position1);
+        }
+    }
+
+    /**
+     * Test for the {@code getHint()} method
+     * Tests if following the hints solves the puzzle in the fewest moves
+     */
+    @Test
+    void getHint() {
+        model.getDistanceTable();
+        assertEquals(new Position(2, 0), model.getHint().orElseThrow());
+        for (var i = 0; i < 6; i++) {
+            assertFalse(model.isDeadEnd());
+            model.makeMove(model.getHint().orElseThrow());
+        }
+        assertTrue(model.isSolved());
+        assertTrue(model.getHint().isEmpty());
+    }
+
+    /**
+     * Test for the {@code getHint()} and {@code computeHint()} methods
+     * Tests if a hint is only looked up in a distance table which is already computed, unless it is asked to be computed
+     */
+    @Test
+    void computeHint() {
+        var board = Board.of(1, 5, new Square[] {Square.NONE, Square.NONE, Square.NONE, Square.NONE, Square.FINISH},
+                new Position(0, 0));
+        var hintModel = new PuzzleModel(new PuzzleState(board));
+        assertTrue(hintModel.getHint().isEmpty());
+        assertNull(board.getComputedDistanceTable());
+        assertEquals(new Position(0, 2), hintModel.computeHint().orElseThrow());
+        assertEquals(new Position(0, 2), hintModel.getHint().orElseThrow());
+    }
+
+    /**
+     * Test for the {@code isDeadEnd()} method
+     * Tests if the model notices that the finish cannot be reached once the piece steps on the coin
+     */
+    @Test
+    void isDeadEnd() {
+        var board = Board.of(1, 5, new Square[] {Square.COIN, Square.NONE, Square.NONE, Square.WALL, Square.FINISH},
+                new Position(0, 2));
+        board.getDistanceTable();
+        var deadEndModel = new PuzzleModel(new PuzzleState(board));
+        assertFalse(deadEndModel.isDeadEnd());
+        deadEndModel.makeMove(new Position(0, 0));
+        assertTrue(deadEndModel.isDeadEnd());
+        assertTrue(deadEndModel.deadEndProperty().get());
+        assertTrue(deadEndModel.getHint().isEmpty());
+    }
+
+    /**
+     * Test for the {@code updateDeadEnd()} method
+     * Tests if creating a model and moving its piece leave the distance table to be computed on another thread,
+     * and if the dead end is noticed once it has been computed
+     */
+    @Test
+    void updateDeadEnd() {
+        var board = Board.of(1, 5, new Square[] {Square.COIN, Square.NONE, Square.NONE, Square.WALL, Square.FINISH},
+                new Position(0, 2));
+        var deadEndModel = new PuzzleModel(new PuzzleState(board));
+        deadEndModel.makeMove(new Position(0, 0));
+        assertNull(board.getComputedDistanceTable());
+        assertFalse(deadEndModel.isDeadEnd());
+        board.getDistanceTable();
+        deadEndModel.updateDeadEnd();
+        assertTrue(deadEndModel.isDeadEnd());
+    }
+
     /**
      * Test for the {@code toString()} method
      * Tests if the gives string is equal to the model's {@code toString()}'s string
@@ -166,7 +311,7 @@ class PuzzleModelTest {
     @Test
     void testClone() {
         var clone = model.clone();
-        assertFalse(clone.equals(model));
+        assertTrue(clone.equals(model));
         assertNotSame(clone, model);
     }
 
@@ -182,6 +327,9 @@ class PuzzleModelTest {
 
         assertFalse(model.equals(null));
         assertFalse(model.equals("aaaaaaa"));
+
+        clone.makeMove(position1);
+        assertTrue(clone.equals(model));
     }
 
     /**
@@ -192,4 +340,159 @@ class PuzzleModelTest {
         assertTrue(model.hashCode() == model.hashCode());
         assertTrue(model.hashCode() == model.clone().hashCode());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for the {@code reset()} method
+     * Tests if the piece, the cells and the counters are back at the start after some moves
+     */
+    @Test
+    void reset() {
+        model.makeMove(position2);
+        model.makeMove(position3);
+        model.reset();
+        assertEquals(0, model.numberOfMovesProperty().get());
+        assertFalse(model.isSolved());
+        assertEquals(Square.PIECE, model.squareProperty(0, 0).get());
+        assertEquals(Square.NONE, model.squareProperty(0, 2).get());
+        assertEquals(Square.COIN, model.squareProperty(0, 4).get());
+        assertEquals(new PuzzleModel().getLegalMoves(), model.getLegalMoves());
+    }
+
+    /**
+     * Test for the {@code pieceProperty()} method
+     * Tests if the piece property reports every move, and if the cells created after a move are up to date
+     */
+    @Test
+    void pieceProperty() {
+        var moves = new ArrayList<Position>();
+        model.pieceProperty().addListener((observable, oldValue, newValue) -> moves.add(oldValue));
+        var cell = model.squareProperty(0, 2);
+        model.makeMove(position2);
+        assertEquals(position2, model.pieceProperty().get());
+        assertEquals(Square.PIECE, cell.get());
+        assertEquals(Square.NONE, model.squareProperty(0, 0).get());
+        model.reset();
+        assertEquals(position1, model.pieceProperty().get());
+        assertEquals(List.of(position1, position2), moves);
+        assertEquals(Square.NONE, cell.get());
+    }
+
+    /**
+     * Test for the {@code replay()} method
+     * Tests if fast-forwarding through a move log updates the piece and the cells once, to the end of the moves
+     */
+    @Test
+    void replay() {
+        var log = new MoveLog("00", java.time.Instant.EPOCH);
+        log.add(Direction.RIGHT);
+        log.add(Direction.RIGHT);
+        log.add(Direction.DOWN);
+        var moves = new ArrayList<Position>();
+        model.pieceProperty().addListener((observable, oldValue, newValue) -> moves.add(newValue));
+        model.replay(log, 0, 3);
+        assertEquals(List.of(new Position(3, 4)), moves);
+        assertEquals(3, model.numberOfMovesProperty().get());
+        assertEquals(Square.PIECE, model.squareProperty(3, 4).get());
+        assertEquals(Square.NONE, model.squareProperty(0, 0).get());
+        assertEquals(Square.COIN, model.squareProperty(0, 4).get());
+    }
+
+    /**
+     * Test for the {@code undo()} and {@code redo()} methods
+     * Tests if taking back and making moves again keeps the cells, the step size, the counter and the properties
+     * consistent, and if a new move discards the moves which could be made again
+     */
+    @Test
+    void undoRedo() {
+        assertFalse(model.undo());
+        model.makeMove(position2);
+        model.makeMove(position3);
+        assertTrue(model.canUndoProperty().get());
+        assertTrue(model.undo());
+        assertEquals(position2, model.pieceProperty().get());
+        assertEquals(1, model.numberOfMovesProperty().get());
+        assertEquals(Square.COIN, model.squareProperty(0, 4).get());
+        assertTrue(model.isLegalMove(position3));
+        assertTrue(model.canRedoProperty().get());
+        assertTrue(model.redo());
+        assertEquals(position3, model.pieceProperty().get());
+        assertTrue(model.isLegalMove(new Position(3, 4)));
+        assertFalse(model.redo());
+        model.undo();
+        model.undo();
+        assertEquals(position1, model.pieceProperty().get());
+        assertEquals(0, model.numberOfMovesProperty().get());
+        assertFalse(model.canUndoProperty().get());
+        model.makeMove(new Position(2, 0));
+        assertFalse(model.canRedoProperty().get());
+        assertFalse(model.redo());
+    }
+
+    /**
+     * Test for the {@code undo()} method
+     * Tests if taking back the move to the finish ends the game over
+     */
+    @Test
+    void undoGameOver() {
+        var hints = new ArrayList<Position>();
+        while (!model.isSolved()) {
+            var hint = model.computeHint().orElseThrow();
+            hints.add(hint);
+            model.makeMove(hint);
+        }
+        assertTrue(model.undo());
+        assertFalse(model.gameOverProperty().get());
+        assertEquals(hints.size() - 1, model.numberOfMovesProperty().get());
+        assertTrue(model.redo());
+        assertTrue(model.gameOverProperty().get());
+        assertEquals(position5, model.pieceProperty().get());
+    }
+
+    /**
+     * Test for the {@code undo()} and {@code redo()} methods
+     * Tests if taking back and making moves again allocates no more than the new position of the piece
+     */
+    @Test
+    void undoRedoAllocatesOnlyThePosition() {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        moveBackAndForth(2);
+        undoAndRedo(200_000);
+        var before = threadBean.getCurrentThreadAllocatedBytes();
+        undoAndRedo(20_000);
+        var after = threadBean.getCurrentThreadAllocatedBytes();
+        assertTrue(after - before <= 20_000L * 8 * 24, (after - before) + " bytes allocated");
+    }
+
+    /**
+     * Test for the {@code undo()} method
+     * Tests if only the last {@code UNDO_LIMIT} moves can be taken back, so the history has a fixed size
+     */
+    @Test
+    void undoLimit() {
+        moveBackAndForth(PuzzleModel.UNDO_LIMIT / 2 + 5);
+        var undone = 0;
+        while (model.undo()) {
+            undone++;
+        }
+        assertEquals(PuzzleModel.UNDO_LIMIT, undone);
+        assertEquals(10, model.numberOfMovesProperty().get());
+        assertEquals(position1, model.pieceProperty().get());
+        assertFalse(model.canUndoProperty().get());
+        assertTrue(model.redo());
+        assertEquals(position2, model.pieceProperty().get());
+    }
+
+    /**
+     * Takes back every move and makes them again.
+     * @param times the number of times.
+     */
+    private void undoAndRedo(int times) {
+        for (var i = 0; i < times; i++) {
+            while (model.undo()) {
+            }
+            while (model.redo()) {
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package puzzle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the PuzzleState class
+ */
+class PuzzleStateTest {
+
+    PuzzleState state = new PuzzleState();
+
+    /**
+     * Tests if the initial state has the piece on the start position and the same squares as the model
+     */
+    @Test
+    void initialState() {
+        assertEquals(new Position(0, 0), state.getPiecePosition());
+        assertEquals(2, state.getStepSize());
+        assertEquals(0, state.getNumberOfMoves());
+        assertFalse(state.isSolved());
+        assertEquals(new PuzzleModel().toString(), state.toString());
+    }
+
+    /**
+     * Test for the {@code getLegalMoves()} method
+     */
+    @Test
+    void getLegalMoves() {
+        assertEquals(Set.of(new Position(0, 2), new Position(2, 0)), state.getLegalMoves());
+    }
+
+    /**
+     * Test for the {@code makeMove()} method
+     * Tests if the step size changes on a coin and the coin is shown again after the piece left it
+     */
+    @Test
+    void makeMove() {
+        state.makeMove(new Position(0, 2));
+        state.makeMove(new Position(0, 4));
+        assertEquals(3, state.getStepSize());
+        assertEquals(Square.PIECE, state.getSquare(new Position(0, 4)));
+        state.makeMove(new Position(3, 4));
+        assertEquals(2, state.getStepSize());
+        assertEquals(Square.COIN, state.getSquare(new Position(0, 4)));
+        assertEquals(3, state.getNumberOfMoves());
+    }
+
+    /**
+     * Tests if the solution of the puzzle marks the state as solved
+     */
+    @Test
+    void isSolved() {
+        for (var position : new Position[] {
+                new Position(2, 0), new Position(4, 0), new Position(4, 3),
+                new Position(4, 5), new Position(4, 7), new Position(7, 7)}) {
+            assertTrue(state.isLegalMove(position));
+            state.makeMove(position);
+        }
+        assertTrue(state.isSolved());
+    }
+
+    /**
+     * Test for the {@code clone()} method
+     * Tests if the clone is independent of the original state
+     */
+    @Test
+    void testClone() {
+        var clone = state.clone();
+        assertEquals(state, clone);
+        assertNotSame(state, clone);
+        clone.makeMove(new Position(0, 2));
+        assertNotEquals(state, clone);
+        assertTrue(state.isPiece(new Position(0, 0)));
+    }
+
+    /**
+     * Tests if states reached through different sequences of moves are equal and have the same search key
+     */
+    @Test
+    void transpositions() {
+        var other = state.clone();
+        other.makeMove(new Position(0, 2));
+        other.makeMove(new Position(0, 0));
+        assertEquals(state, other);
+        assertEquals(state.hashCode(), other.hashCode());
+        assertEquals(state.searchKey(), other.searchKey());
+        other.makeMove(new Position(0, 2));
+        assertNotEquals(state.searchKey(), other.searchKey());
+    }
+
+    /**
+     * Tests if exploring the puzzle visits every distinct state only once
+     */
+    @Test
+    void distinctStates() {
+        Set<PuzzleState> visited = new HashSet<>();
+        var open = new ArrayDeque<PuzzleState>();
+        visited.add(state);
+        open.add(state);
+        while (!open.isEmpty()) {
+            var current = open.poll();
+            if (current.isSolved()) {
+                continue;
+            }
+            for (var move : current.getLegalMoves()) {
+                var next = current.clone();
+                next.makeMove(move);
+                if (visited.add(next)) {
+                    open.add(next);
+                }
+            }
+        }
+        assertEquals(101, visited.size());
+    }
+
+    /**
+     * Tests if taking back moves restores the position, the step size changed by the coin and the number of moves.
+     */
+    @Test
+    void undoMove() {
+        var start = state.clone();
+        state.makeMove(new Position(0, 2));
+        var beforeCoin = state.clone();
+        state.makeMove(new Position(0, 4));
+        assertEquals(3, state.getStepSize());
+        state.undoMove(0, 2);
+        assertEquals(beforeCoin, state);
+        assertEquals(2, state.getStepSize());
+        assertEquals(1, state.getNumberOfMoves());
+        state.undoMove(0, 0);
+        assertEquals(start, state);
+        assertEquals(0, state.getNumberOfMoves());
+        assertThrows(IllegalStateException.class, () -> state.undoMove(0, 0));
+    }
+}
@@ -0,0 +1,105 @@
+package puzzle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the TransitionTable class
+ */
+class TransitionTableTest {
+
+    Board board = Board.DEFAULT;
+
+    TransitionTable table = TransitionTable.compile(board);
+
+    /**
+     * Tests if the compiled successors of every state follow the rules of the puzzle
+     */
+    @Test
+    void successorsFollowTheRules() {
+        var successors = new int[PackedState.MAX_LEGAL_MOVES];
+        for (var row = 0; row < board.getRows(); row++) {
+            for (var col = 0; col < board.getCols(); col++) {
+                if (board.getSquare(row, col) == Square.WALL) {
+                    continue;
+                }
+                for (var stepSize = 2; stepSize <= 3; stepSize++) {
+                    var state = PackedState.of(board, row, col, stepSize);
+                    Set<Integer> expected = new HashSet<>();
+                    for (var direction : Direction.values()) {
+                        var to = new Position(row + direction.getRowChange() * stepSize,
+                                col + direction.getColChange() * stepSize);
+                        if (board.isOnBoard(to.row(), to.col()) && board.getSquare(to) != Square.WALL) {
+                            var nextStepSize = board.getSquare(to) == Square.COIN ? 5 - stepSize : stepSize;
+                            expected.add(PackedState.of(board, to.row(), to.col(), nextStepSize));
+                        }
+                    }
+                    Set<Integer> actual = new HashSet<>();
+                    var count = table.getLegalMoves(state, successors);
+                    for (var i = 0; i < count; i++) {
+                        actual.add(successors[i]);
+                    }
+                    assertEquals(expected, actual, "successors of " + new Position(row, col) + " with step size " + stepSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests the single move lookups of the table
+     */
+    @Test
+    void successor() {
+        var start = PackedState.initial(board);
+        assertEquals(2, table.getStateCount() / board.getCols() / board.getRows());
+        assertTrue(table.isLegalMove(start, Direction.DOWN));
+        assertFalse(table.isLegalMove(start, Direction.UP));
+        assertEquals(-1, table.successor(start, Direction.LEFT));
+        var next = table.successor(start, Direction.DOWN);
+        assertEquals(new Position(2, 0), PackedState.position(board, next));
+        assertEquals(2, PackedState.stepSize(next));
+        next = table.successor(next, Direction.DOWN);
+        assertEquals(new Position(4, 0), PackedState.position(board, next));
+        assertEquals(3, PackedState.stepSize(next));
+    }
+
+    /**
+     * Tests if the predecessors of every state are exactly the states it is a successor of
+     */
+    @Test
+    void predecessorsReverseSuccessors() {
+        var successors = new int[PackedState.MAX_LEGAL_MOVES];
+        Set<Long> expected = new HashSet<>();
+        for (var state = 0; state < table.getStateCount(); state++) {
+            var count = table.getLegalMoves(state, successors);
+            for (var i = 0; i < count; i++) {
+                expected.add((long) state << 32 | successors[i]);
+            }
+        }
+        Set<Long> actual = new HashSet<>();
+        for (var state = 0; state < table.getStateCount(); state++) {
+            for (var direction : Direction.values()) {
+                var previous = table.predecessor(state, direction.ordinal());
+                if (previous >= 0) {
+                    assertEquals(state, table.successor(previous, direction));
+                    actual.add((long) previous << 32 | state);
+                }
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Test for the {@code Direction.of()} method
+     */
+    @Test
+    void direction() {
+        assertEquals(Direction.DOWN, Direction.of(new Position(0, 0), new Position(2, 0)));
+        assertEquals(Direction.LEFT, Direction.of(0, -3));
+        assertThrows(IllegalArgumentException.class, () -> Direction.of(1, 1));
+    }
+}
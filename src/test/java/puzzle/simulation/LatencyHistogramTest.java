@@ -0,0 +1,31 @@
+package puzzle.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the LatencyHistogram class
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Tests the percentiles of the latencies 1 to 1000, recorded by two histograms and added up.
+     */
+    @Test
+    void percentiles() {
+        var odd = new LatencyHistogram();
+        var even = new LatencyHistogram();
+        for (var nanos = 1; nanos <= 1000; nanos++) {
+            (nanos % 2 == 0 ? even : odd).record(nanos);
+        }
+        odd.add(even);
+        assertEquals(1000, odd.getCount());
+        assertEquals(1000, odd.getMax());
+        assertEquals(1, odd.getPercentile(0));
+        assertEquals(500, odd.getPercentile(50), 15);
+        assertEquals(990, odd.getPercentile(99), 30);
+        assertEquals(1000, odd.getPercentile(100));
+        assertEquals(0, new LatencyHistogram().getPercentile(50));
+    }
+}
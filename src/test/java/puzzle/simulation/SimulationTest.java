@@ -0,0 +1,53 @@
+package puzzle.simulation;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.Board;
+import puzzle.model.PackedState;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the Simulation class
+ */
+class SimulationTest {
+
+    /**
+     * Tests if the optimal strategy solves every game in the fewest moves.
+     */
+    @Test
+    void optimal() {
+        var board = Board.DEFAULT;
+        var shortest = board.getDistanceTable().getDistance(PackedState.of(board, board.getStart().row(),
+                board.getStart().col(), 2));
+        try (var pool = new ForkJoinPool(2)) {
+            var result = new Simulation(board, Strategy.OPTIMAL, 1000, 1).run(10, pool);
+            assertEquals(10, result.getGames());
+            assertEquals(10, result.getSolved());
+            assertEquals(10L * shortest, result.getMoves());
+            assertEquals(result.getMoves(), result.getMoveLatency().getCount());
+            assertEquals(10, result.getGameLatency().getCount());
+        }
+    }
+
+    /**
+     * Tests if the random and greedy games are the same on any number of threads, and stop after the most moves.
+     */
+    @Test
+    void reproducible() {
+        for (var strategy : new Strategy[] {Strategy.RANDOM, Strategy.GREEDY}) {
+            Simulation.Result single;
+            Simulation.Result parallel;
+            try (var pool = new ForkJoinPool(1)) {
+                single = new Simulation(Board.DEFAULT, strategy, 50, 7).run(200, pool);
+            }
+            try (var pool = new ForkJoinPool(4)) {
+                parallel = new Simulation(Board.DEFAULT, strategy, 50, 7).run(200, pool);
+            }
+            assertEquals(single.getSolved(), parallel.getSolved());
+            assertEquals(single.getMoves(), parallel.getMoves());
+            assertTrue(single.getMoves() <= 200 * 50);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Tests for the {@code puzzle.simulation} package
+ */
+
+package puzzle.simulation;
\ No newline at end of file
@@ -0,0 +1,54 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.Board;
+import puzzle.model.BoardGenerator;
+import puzzle.model.PackedState;
+import puzzle.model.PuzzleState;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzle.model.Direction.*;
+
+/**
+ * Tester for the BidirectionalBreadthFirstSearch class
+ */
+class BidirectionalBreadthFirstSearchTest {
+
+    BidirectionalBreadthFirstSearch search = new BidirectionalBreadthFirstSearch();
+
+    /**
+     * Tests if the search finds the known shortest solution of the original puzzle
+     */
+    @Test
+    void solve() {
+        assertEquals(List.of(DOWN, DOWN, RIGHT, RIGHT, RIGHT, DOWN), search.solve(Board.DEFAULT).orElseThrow().directions());
+
+        var solved = PackedState.of(Board.DEFAULT, 7, 7, 3);
+        assertEquals(0, search.solve(Board.DEFAULT, solved).orElseThrow().length());
+    }
+
+    /**
+     * Tests if the stitched solutions are legal and as short as those of the one-directional search
+     * on generated boards
+     */
+    @Test
+    void solveGeneratedBoards() {
+        for (var seed = 0; seed < 10; seed++) {
+            var board = BoardGenerator.generate(24, 24, 0.2, 0.1, seed);
+            var expected = new PackedBreadthFirstSearch().solve(board).map(Solution::length);
+            var solution = search.solve(board);
+            assertEquals(expected, solution.map(Solution::length), "seed " + seed);
+            if (solution.isPresent()) {
+                var state = new PuzzleState(board);
+                for (var move : solution.get().moves()) {
+                    assertFalse(state.isSolved());
+                    assertTrue(state.isLegalMove(move));
+                    state.makeMove(move);
+                }
+                assertTrue(state.isSolved());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.Board;
+import puzzle.model.BoardGenerator;
+import puzzle.model.PackedState;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzle.model.Direction.*;
+
+/**
+ * Tester for the AStarSearch and IterativeDeepeningAStarSearch classes
+ */
+class HeuristicSearchTest {
+
+    /**
+     * Tests if both searches find the known shortest solution of the original puzzle
+     */
+    @Test
+    void solveDefaultBoard() {
+        var expected = List.of(DOWN, DOWN, RIGHT, RIGHT, RIGHT, DOWN);
+        assertEquals(expected, new AStarSearch().solve(Board.DEFAULT).orElseThrow().directions());
+        assertEquals(expected, new IterativeDeepeningAStarSearch().solve(Board.DEFAULT).orElseThrow().directions());
+    }
+
+    /**
+     * Tests if the searches find solutions as short as the breadth-first search on generated boards,
+     * while A* does not expand more states.
+     * The iterative deepening search is only run on solvable boards, it does not terminate in time otherwise
+     */
+    @Test
+    void solveGeneratedBoards() {
+        for (var seed = 0; seed < 10; seed++) {
+            var board = BoardGenerator.generate(24, 24, 0.2, 0.1, seed);
+            var breadthFirst = new PackedBreadthFirstSearch();
+            var aStar = new AStarSearch();
+            var expected = breadthFirst.solve(board).map(Solution::length);
+            assertEquals(expected, aStar.solve(board).map(Solution::length));
+            if (expected.isPresent()) {
+                assertTrue(aStar.getExpandedNodes() <= breadthFirst.getExpandedNodes());
+                assertEquals(expected, new IterativeDeepeningAStarSearch().solve(board).map(Solution::length));
+            }
+        }
+    }
+
+    /**
+     * Tests if the heuristic never overestimates the real distance to the finish
+     */
+    @Test
+    void heuristicIsAdmissible() {
+        var board = Board.DEFAULT;
+        var heuristic = new ManhattanHeuristic(board);
+        var search = new PackedBreadthFirstSearch();
+        for (var cell = 0; cell < board.getRows() * board.getCols(); cell++) {
+            for (var stepBit = 0; stepBit <= 1; stepBit++) {
+                var state = cell << 1 | stepBit;
+                if (board.getSquare(cell) == puzzle.model.Square.WALL) {
+                    continue;
+                }
+                var distance = search.solve(board, state).map(Solution::length);
+                if (distance.isPresent()) {
+                    assertTrue(heuristic.estimate(state) <= distance.get(),
+                            "estimate of " + PackedState.position(board, state));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests if the iterative deepening search gives up when it reaches the node limit
+     */
+    @Test
+    void nodeLimit() {
+        var search = new IterativeDeepeningAStarSearch();
+        search.setNodeLimit(2);
+        assertTrue(search.solve(Board.DEFAULT).isEmpty());
+        assertTrue(search.isNodeLimitReached());
+    }
+}
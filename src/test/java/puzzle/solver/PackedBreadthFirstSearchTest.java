@@ -0,0 +1,88 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.Board;
+import puzzle.model.BoardGenerator;
+import puzzle.model.PackedState;
+import puzzle.model.Position;
+import puzzle.model.PuzzleState;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzle.model.Direction.*;
+
+/**
+ * Tester for the PackedBreadthFirstSearch class
+ */
+class PackedBreadthFirstSearchTest {
+
+    PackedBreadthFirstSearch search = new PackedBreadthFirstSearch();
+
+    /**
+     * Tests if the search finds the known shortest solution of the original puzzle
+     */
+    @Test
+    void solve() {
+        var solution = search.solve(Board.DEFAULT).orElseThrow();
+        assertEquals(List.of(DOWN, DOWN, RIGHT, RIGHT, RIGHT, DOWN), solution.directions());
+        assertEquals(new Position(7, 7), solution.moves().get(5));
+        assertTrue(search.getExpandedNodes() > 0);
+
+        var state = new PuzzleState();
+        for (var move : solution.moves()) {
+            assertTrue(state.isLegalMove(move));
+            state.makeMove(move);
+        }
+        assertTrue(state.isSolved());
+    }
+
+    /**
+     * Tests if the search starts from the given state
+     */
+    @Test
+    void solveFromState() {
+        var state = new PuzzleState();
+        state.makeMove(new Position(2, 0));
+        state.makeMove(new Position(4, 0));
+        assertEquals(List.of(RIGHT, RIGHT, RIGHT, DOWN), search.solve(state).orElseThrow().directions());
+
+        var solved = PackedState.of(Board.DEFAULT, 7, 7, 2);
+        assertEquals(0, search.solve(Board.DEFAULT, solved).orElseThrow().length());
+    }
+
+    /**
+     * Tests if the search stops when its thread is interrupted
+     */
+    @Test
+    void interrupt() {
+        var board = BoardGenerator.generate(256, 256, 0.2, 0.1, 42);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> search.solve(board));
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(search.solve(board).isPresent());
+    }
+
+    /**
+     * Tests if the ring buffer keeps the order of its values when it grows
+     */
+    @Test
+    void ringBuffer() {
+        var queue = new IntRingBuffer(2);
+        for (var i = 0; i < 3; i++) {
+            queue.add(i);
+        }
+        assertEquals(0, queue.poll());
+        for (var i = 3; i < 10; i++) {
+            queue.add(i);
+        }
+        for (var i = 1; i < 10; i++) {
+            assertEquals(i, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
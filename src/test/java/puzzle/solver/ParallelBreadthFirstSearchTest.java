@@ -0,0 +1,47 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.Board;
+import puzzle.model.BoardGenerator;
+import puzzle.model.PackedState;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzle.model.Direction.*;
+
+/**
+ * Tester for the ParallelBreadthFirstSearch class
+ */
+class ParallelBreadthFirstSearchTest {
+
+    /**
+     * Tests if the search finds the known shortest solution of the original puzzle
+     */
+    @Test
+    void solve() {
+        var search = new ParallelBreadthFirstSearch();
+        assertEquals(List.of(DOWN, DOWN, RIGHT, RIGHT, RIGHT, DOWN), search.solve(Board.DEFAULT).orElseThrow().directions());
+
+        var solved = PackedState.of(Board.DEFAULT, 7, 7, 2);
+        assertEquals(0, search.solve(Board.DEFAULT, solved).orElseThrow().length());
+    }
+
+    /**
+     * Tests if the search returns the same solution as the sequential search, whatever the number of threads
+     */
+    @Test
+    void sameSolutionAsSequential() {
+        for (var seed = 0; seed < 5; seed++) {
+            var board = BoardGenerator.generate(200, 200, 0.2, 0.1, seed);
+            var expected = new PackedBreadthFirstSearch().solve(board);
+            for (var threads = 1; threads <= 4; threads++) {
+                try (var pool = new ForkJoinPool(threads)) {
+                    assertEquals(expected, new ParallelBreadthFirstSearch(pool).solve(board),
+                            "seed " + seed + ", threads " + threads);
+                }
+            }
+        }
+    }
+}
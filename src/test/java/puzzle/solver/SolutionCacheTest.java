@@ -0,0 +1,125 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzle.model.Board;
+import puzzle.model.BoardGenerator;
+import puzzle.model.Direction;
+import puzzle.model.Position;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzle.model.Direction.*;
+
+/**
+ * Tester for the SolutionCache class
+ */
+class SolutionCacheTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * A solver which counts how many times it is called.
+     */
+    static class CountingSolver extends PackedBreadthFirstSearch {
+
+        int calls;
+
+        @Override
+        public Optional<Solution> solve(Board board, int start) {
+            calls++;
+            return super.solve(board, start);
+        }
+    }
+
+    /**
+     * Tests if the board is only solved the first time
+     */
+    @Test
+    void solveOnce() {
+        var solver = new CountingSolver();
+        var expected = List.of(DOWN, DOWN, RIGHT, RIGHT, RIGHT, DOWN);
+        assertEquals(expected, new SolutionCache(directory).solve(Board.DEFAULT, solver).orElseThrow().directions());
+        assertEquals(expected, new SolutionCache(directory).solve(Board.DEFAULT, solver).orElseThrow().directions());
+        assertEquals(1, solver.calls);
+    }
+
+    /**
+     * Tests if a changed layout gets a different key, so the solution of the old layout is not used
+     */
+    @Test
+    void changedLayout() {
+        var board = BoardGenerator.generate(20, 20, 0.2, 0.1, 0);
+        var changed = BoardGenerator.generate(20, 20, 0.2, 0.1, 1);
+        assertEquals(SolutionCache.key(board), SolutionCache.key(BoardGenerator.generate(20, 20, 0.2, 0.1, 0)));
+        assertNotEquals(SolutionCache.key(board), SolutionCache.key(changed));
+
+        var cache = new SolutionCache(directory);
+        cache.solve(board, new PackedBreadthFirstSearch());
+        var solver = new CountingSolver();
+        cache.solve(changed, solver);
+        assertEquals(1, solver.calls);
+        assertTrue(cache.load(board).isPresent());
+    }
+
+    /**
+     * Tests if a cached solution which does not solve the board is rejected
+     */
+    @Test
+    void invalidSolution() throws IOException {
+        var cache = new SolutionCache(directory);
+        cache.store(Board.DEFAULT, new Solution(Board.DEFAULT.getStart(),
+                List.of(new Position(2, 0), new Position(4, 0))));
+        assertTrue(cache.load(Board.DEFAULT).isEmpty());
+
+        var solver = new CountingSolver();
+        assertTrue(cache.solve(Board.DEFAULT, solver).isPresent());
+        assertEquals(1, solver.calls);
+        assertTrue(cache.load(Board.DEFAULT).isPresent());
+
+        try (var files = Files.list(directory)) {
+            var file = files.findFirst().orElseThrow();
+            var bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        }
+        assertTrue(cache.load(Board.DEFAULT).isEmpty());
+    }
+
+    /**
+     * Tests if a cached solution with a length larger than the number of states is rejected, so the board is solved
+     */
+    @Test
+    void invalidLength() throws IOException {
+        var cache = new SolutionCache(directory);
+        cache.solve(Board.DEFAULT, new PackedBreadthFirstSearch());
+        try (var files = Files.list(directory)) {
+            var file = files.findFirst().orElseThrow();
+            var bytes = Files.readAllBytes(file);
+            ByteBuffer.wrap(bytes).putInt(Integer.BYTES + SolutionCache.key(Board.DEFAULT).length() / 2,
+                    Integer.MAX_VALUE);
+            Files.write(file, bytes);
+        }
+        assertTrue(cache.load(Board.DEFAULT).isEmpty());
+        var solver = new CountingSolver();
+        assertTrue(cache.solve(Board.DEFAULT, solver).isPresent());
+        assertEquals(1, solver.calls);
+    }
+
+    /**
+     * Tests the replay of moves from the start of the board
+     */
+    @Test
+    void replay() {
+        assertTrue(SolutionCache.replay(Board.DEFAULT, new Direction[] {DOWN, DOWN, RIGHT, RIGHT, RIGHT, DOWN}).isPresent());
+        assertTrue(SolutionCache.replay(Board.DEFAULT, new Direction[] {DOWN, DOWN, RIGHT, RIGHT, RIGHT}).isEmpty());
+        assertTrue(SolutionCache.replay(Board.DEFAULT, new Direction[] {UP}).isEmpty());
+    }
+}
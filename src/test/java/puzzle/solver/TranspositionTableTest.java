@@ -0,0 +1,47 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tester for the TranspositionTable class
+ */
+class TranspositionTableTest {
+
+    TranspositionTable table = new TranspositionTable(4);
+
+    /**
+     * Tests storing and looking up entries, including the key which marks empty slots
+     */
+    @Test
+    void putAndGet() {
+        assertTrue(table.putIfAbsent(42L, 1));
+        assertFalse(table.putIfAbsent(42L, 2));
+        assertEquals(1, table.get(42L));
+        assertFalse(table.put(42L, 3));
+        assertEquals(3, table.get(42L));
+        assertTrue(table.put(0L, 7));
+        assertEquals(7, table.get(0L));
+        assertFalse(table.contains(-1L));
+        assertEquals(TranspositionTable.NOT_FOUND, table.get(-1L));
+        assertEquals(2, table.size());
+    }
+
+    /**
+     * Tests if the table keeps its entries when it grows
+     */
+    @Test
+    void resize() {
+        for (var i = 1; i <= 1000; i++) {
+            assertTrue(table.putIfAbsent(i * 0x9E3779B97F4A7C15L, i));
+        }
+        assertEquals(1000, table.size());
+        for (var i = 1; i <= 1000; i++) {
+            assertEquals(i, table.get(i * 0x9E3779B97F4A7C15L));
+        }
+        table.clear();
+        assertEquals(0, table.size());
+        assertFalse(table.contains(0x9E3779B97F4A7C15L));
+    }
+}
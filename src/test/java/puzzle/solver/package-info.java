@@ -0,0 +1,5 @@
+/**
+ * Tests for the {@code puzzle.solver} package
+ */
+
+package puzzle.solver;
\ No newline at end of file